@@ -9,13 +9,55 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations.implementation.get())
+
 dependencies {
     implementation("org.jetbrains:annotations:26.0.2")
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.test {
-    useJUnitPlatform()
-}
\ No newline at end of file
+    useJUnitPlatform {
+        excludeTags("integration")
+    }
+    // see GameServer: the JDK HTTP server needs TCP_NODELAY for keep-alive latency
+    systemProperty("sun.net.httpserver.nodelay", "true")
+}
+
+tasks.register<Test>("integrationTest") {
+    group = "verification"
+    description = "Runs the tests tagged integration, which start child JVMs"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("integration")
+    }
+    shouldRunAfter(tasks.test)
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks, e.g. -PjmhArgs=\"PackedCoords -prof gc\""
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args((findProperty("jmhArgs") as String? ?: "").split(" ").filter { it.isNotBlank() })
+}
+
+tasks.register<JavaExec>("soak") {
+    group = "verification"
+    description = "Runs the soak workload under G1, ZGC and Parallel, e.g. -PsoakArgs=\"--duration 1h --players 1000\""
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("edu.io.soak.SoakComparison")
+    args((findProperty("soakArgs") as String? ?: "").split(" ").filter { it.isNotBlank() })
+}
@@ -0,0 +1,53 @@
+package edu.io.bench;
+
+import edu.io.Board;
+import edu.io.token.AnvilToken;
+import edu.io.token.Token;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BoardBackendBenchmark {
+    @Param({"heap", "offheap"})
+    public String backend;
+
+    @Param({"1024"})
+    public int size;
+
+    private Board board;
+    private final Token anvil = new AnvilToken();
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        board = backend.equals("heap") ? new Board(size) : Board.offHeap(size);
+    }
+
+    @Benchmark
+    public Token peek() {
+        int i = cursor++ & (size * size - 1);
+        return board.peekToken(i % size, i / size);
+    }
+
+    @Benchmark
+    public void place() {
+        int i = cursor++ & (size * size - 1);
+        board.placeToken(i % size, i / size, anvil);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void scan_row(Blackhole bh) {
+        int row = cursor++ & (size - 1);
+        for (int col = 0; col < size; col++) {
+            bh.consume(board.peekToken(col, row));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package edu.io.bench;
+
+import edu.io.Board;
+import edu.io.storage.CellCodec;
+import edu.io.token.AnvilToken;
+import edu.io.token.EmptyToken;
+import edu.io.token.GoldToken;
+import edu.io.token.Token;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Region operations against the per-cell placeToken/peekToken loops they replace. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BoardRegionBenchmark {
+    @Param({"heap", "offheap"})
+    public String backend;
+
+    @Param({"512"})
+    public int size;
+
+    private Board board;
+    private Board source;
+    private Board.Rect all;
+    private final Token anvil = new AnvilToken();
+
+    @Setup
+    public void setUp() {
+        board = backend.equals("heap") ? new Board(size) : Board.offHeap(size);
+        source = backend.equals("heap") ? new Board(size) : Board.offHeap(size);
+        SplittableRandom rng = new SplittableRandom(1);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Token token = switch (rng.nextInt(4)) {
+                    case 0 -> new GoldToken();
+                    case 1 -> anvil;
+                    default -> new EmptyToken();
+                };
+                board.placeToken(col, row, token);
+                source.placeToken(col, row, token);
+            }
+        }
+        all = Board.Rect.of(board);
+    }
+
+    @Benchmark
+    public Board fill_per_cell() {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                board.placeToken(col, row, anvil);
+            }
+        }
+        return board;
+    }
+
+    @Benchmark
+    public Board fill_bulk() {
+        board.fill(all, anvil);
+        return board;
+    }
+
+    @Benchmark
+    public Board copy_per_cell() {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                board.placeToken(col, row, source.peekToken(col, row));
+            }
+        }
+        return board;
+    }
+
+    @Benchmark
+    public Board copy_bulk() {
+        board.copyRegion(source, all, 0, 0);
+        return board;
+    }
+
+    @Benchmark
+    public int[] count_by_type_per_cell() {
+        int[] counts = new int[CellCodec.PLAYER + 1];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                counts[CellCodec.typeOf(source.peekToken(col, row))]++;
+            }
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public int[] count_by_type_bulk() {
+        return source.countByType(all);
+    }
+
+    @Benchmark
+    public int count_gold_per_cell() {
+        int n = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (source.peekToken(col, row) instanceof GoldToken) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    @Benchmark
+    public int count_gold_bulk() {
+        return source.count(all, CellCodec.GOLD);
+    }
+}
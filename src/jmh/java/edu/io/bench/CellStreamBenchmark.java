@@ -0,0 +1,81 @@
+package edu.io.bench;
+
+import edu.io.Board;
+import edu.io.storage.CellCodec;
+import edu.io.token.EmptyToken;
+import edu.io.token.GoldToken;
+import edu.io.token.Token;
+import edu.io.token.WaterToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Whole-board analytics through the cell streams, sequential and parallel, against a peekToken loop. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CellStreamBenchmark {
+    @Param({"heap", "offheap"})
+    public String backend;
+
+    @Param({"2048"})
+    public int size;
+
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        board = backend.equals("heap") ? new Board(size) : Board.offHeap(size);
+        SplittableRandom rng = new SplittableRandom(1);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Token token = switch (rng.nextInt(8)) {
+                    case 0 -> new GoldToken();
+                    case 1 -> new WaterToken();
+                    default -> new EmptyToken();
+                };
+                board.placeToken(col, row, token);
+            }
+        }
+    }
+
+    @Benchmark
+    public double gold_loop() {
+        double total = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board.peekToken(col, row) instanceof GoldToken gold) {
+                    total += gold.amount();
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double gold_filter_sequential() {
+        return board.cells()
+                .filter(c -> c.token() instanceof GoldToken)
+                .mapToDouble(c -> ((GoldToken) c.token()).amount())
+                .sum();
+    }
+
+    @Benchmark
+    public double gold_typed_sequential() {
+        return board.cells(CellCodec.GOLD).mapToDouble(c -> ((GoldToken) c.token()).amount()).sum();
+    }
+
+    @Benchmark
+    public double gold_typed_parallel() {
+        return board.cells(CellCodec.GOLD).parallel().mapToDouble(c -> ((GoldToken) c.token()).amount()).sum();
+    }
+
+    @Benchmark
+    public long water_positions_parallel() {
+        return board.positions(CellCodec.WATER).parallel().filter(p -> (p & 1) == 0).count();
+    }
+}
@@ -0,0 +1,54 @@
+package edu.io.bench;
+
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.token.PlayerToken;
+import edu.io.token.PlayerToken.Move;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExecutePathBenchmark {
+    private static final int STEPS = 64;
+
+    private Board board;
+    private Player player;
+    private final Move[] path = new Move[STEPS];
+
+    @Setup
+    public void setUp() {
+        board = new Board(64);
+        for (int i = 0; i < STEPS; i++) {
+            path[i] = i % 2 == 0 ? Move.RIGHT : Move.LEFT;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetPlayer() {
+        board.clean();
+        player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public PlayerToken single_moves() {
+        PlayerToken token = player.token();
+        for (Move m : path) {
+            token.move(m);
+        }
+        return token;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public PlayerToken.PathResult execute_path() {
+        return player.token().executePath(path);
+    }
+}
@@ -0,0 +1,55 @@
+package edu.io.bench;
+
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.token.PlayerToken;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Run with -prof gc: the packed variants should report gc.alloc.rate.norm = 0 B/op.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PackedCoordsBenchmark {
+    private Board board;
+    private PlayerToken token;
+    private final long[] neighbors = new long[4];
+
+    @Setup
+    public void setUp() {
+        board = new Board(64);
+        token = new PlayerToken(new Player(), board);
+    }
+
+    @Benchmark
+    public Board.Coords pos_record() {
+        return token.pos();
+    }
+
+    @Benchmark
+    public long pos_packed() {
+        return token.packedPos();
+    }
+
+    @Benchmark
+    public void neighbors_record(Blackhole bh) {
+        Board.Coords c = token.pos();
+        bh.consume(new Board.Coords(c.row() - 1, c.col()));
+        bh.consume(new Board.Coords(c.row() + 1, c.col()));
+        bh.consume(new Board.Coords(c.row(), c.col() - 1));
+        bh.consume(new Board.Coords(c.row(), c.col() + 1));
+    }
+
+    @Benchmark
+    public void neighbors_packed(Blackhole bh) {
+        int n = board.neighbors(token.packedPos(), neighbors);
+        for (int i = 0; i < n; i++) {
+            bh.consume(board.peekToken(neighbors[i]));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.io.bench;
+
+import edu.io.Board;
+import edu.io.sync.ChunkTree;
+import edu.io.sync.Resync;
+import edu.io.token.AnvilToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Chunk-diff resync of a large board with sparse changes against sending every chunk. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResyncBenchmark {
+    @Param({"2048"})
+    public int size;
+
+    @Param({"1", "16", "256"})
+    public int changes;
+
+    private Board source;
+    private ChunkTree sourceTree;
+    private ChunkTree replicaTree;
+    private int[] everyChunk;
+    private final AnvilToken anvil = new AnvilToken();
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        source = new Board(size);
+        Board replica = new Board(size);
+        sourceTree = new ChunkTree(source, 16);
+        replicaTree = new ChunkTree(replica, 16);
+        SplittableRandom rng = new SplittableRandom(1);
+        for (int i = 0; i < changes; i++) {
+            source.placeToken(rng.nextInt(size), rng.nextInt(size), anvil);
+        }
+        everyChunk = new int[sourceTree.chunks()];
+        for (int i = 0; i < everyChunk.length; i++) {
+            everyChunk[i] = i;
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer resync_diff() {
+        return Resync.encode(source, sourceTree, Resync.diff(replicaTree, sourceTree).chunks());
+    }
+
+    @Benchmark
+    public ByteBuffer resync_full() {
+        return Resync.encode(source, sourceTree, everyChunk);
+    }
+
+    // the incremental cost the tree adds to every write
+    @Benchmark
+    public Board place_with_tree() {
+        int i = cursor++ & (size * size - 1);
+        source.placeToken(i % size, i / size, anvil);
+        return source;
+    }
+}
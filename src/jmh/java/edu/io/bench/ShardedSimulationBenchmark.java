@@ -0,0 +1,53 @@
+package edu.io.bench;
+
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.shard.ShardedSimulation;
+import edu.io.sim.MovePolicy;
+import edu.io.token.PlayerToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Compare ops/s across shard counts: with players spread out it should grow
+// close to linearly up to the number of cores.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShardedSimulationBenchmark {
+    private static final int PLAYERS = 4096;
+    private static final MovePolicy WANDER = (id, player, board, rng) -> {
+        player.vitals.hydrate(1);
+        return PlayerToken.Move.values()[1 + rng.nextInt(4)];
+    };
+
+    @Param({"1", "2", "4"})
+    public int shardsPerSide;
+
+    private ShardedSimulation sim;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Board board = new Board(1024);
+        sim = new ShardedSimulation(board, shardsPerSide, shardsPerSide, 1);
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = new Player();
+            player.assignToken(new PlayerToken(player, board, (i * 37) % 1024, (i * 101) % 1024));
+            sim.join(player);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        sim.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYERS)
+    public void tick() {
+        sim.tick(WANDER);
+    }
+}
@@ -0,0 +1,60 @@
+package edu.io.bench;
+
+import edu.io.storage.CellCodec;
+import edu.io.storage.HeapBoardStorage;
+import edu.io.token.AnvilToken;
+import edu.io.token.EmptyToken;
+import edu.io.token.GoldToken;
+import edu.io.token.Token;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Heap single-type count: eight type bytes per long read against one byte per cell. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SwarCountBenchmark {
+    @Param({"64", "512", "2048"})
+    public int size;
+
+    private HeapBoardStorage storage;
+
+    @Setup
+    public void setUp() {
+        storage = new HeapBoardStorage(size);
+        SplittableRandom rng = new SplittableRandom(1);
+        Token anvil = new AnvilToken();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                storage.set(col, row, switch (rng.nextInt(4)) {
+                    case 0 -> new GoldToken();
+                    case 1 -> anvil;
+                    default -> new EmptyToken();
+                });
+            }
+        }
+    }
+
+    @Benchmark
+    public int swar() {
+        return storage.count(0, 0, size, size, CellCodec.GOLD);
+    }
+
+    @Benchmark
+    public int scalar() {
+        int n = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (storage.typeAt(col, row) == CellCodec.GOLD) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+}
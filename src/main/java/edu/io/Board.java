@@ -1,69 +1,352 @@
 package edu.io;
 
+import edu.io.storage.BoardStorage;
+import edu.io.storage.CellCodec;
+import edu.io.storage.HeapBoardStorage;
+import edu.io.storage.OffHeapBoardStorage;
+import edu.io.storage.PersistentBoardStorage;
 import edu.io.token.EmptyToken;
 import edu.io.token.Token;
 
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Board {
     public final int size;
-    private final Token[][] grid;
+    private final BoardStorage grid;
+    // striped: shard workers writing disjoint cells must not share one counter cache line
+    private final LongAdder version = new LongAdder();
+    private volatile CellListener[] listeners = new CellListener[0];
 
     public Board(){
         this(10);
-        clean();
     }
 
     public Board(int size) {
-        this.size = size;
-        this.grid = new Token[size][size];
+        this(new HeapBoardStorage(size));
         clean();
     }
 
+    public Board(BoardStorage storage) {
+        this.grid = Objects.requireNonNull(storage, "Storage cannot be null");
+        this.size = storage.size();
+    }
+
+    public static Board offHeap(int size) {
+        Board board = new Board(OffHeapBoardStorage.allocate(size));
+        board.clean();
+        return board;
+    }
+
+    public static PersistentBoard persistent(int size) {
+        PersistentBoard board = new PersistentBoard(new PersistentBoardStorage(size));
+        board.clean();
+        return board;
+    }
+
+    public static Board createMapped(Path path, int size) {
+        Board board = new Board(OffHeapBoardStorage.create(path, size));
+        board.clean();
+        return board;
+    }
+
+    public static Board openMapped(Path path) {
+        return new Board(OffHeapBoardStorage.open(path));
+    }
+
     public record Coords(int row, int col) {}
 
+    public record Rect(int col, int row, int width, int height) {
+        public static Rect of(Board board) {
+            return new Rect(0, 0, board.size, board.size);
+        }
+    }
+
+    /** A cell seen by {@link #cells()}; {@code pos} is packed by {@link PackedCoords}. */
+    public record Cell(long pos, Token token) {}
+
     public int size(){
         return size;
     }
 
     public void clean() {
-        Token t = new EmptyToken();
-        for (int row = 0; row < grid.length; row++) {
-            for (int col = 0; col < grid[row].length; col++) {
-                grid[row][col] = t;
+        grid.fill(new EmptyToken());
+        version.increment();
+        for (CellListener l : listeners) {
+            l.onCleared();
+        }
+    }
+
+    public synchronized void addCellListener(CellListener listener) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        CellListener[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+        copy[listeners.length] = listener;
+        listeners = copy;
+    }
+
+    public synchronized void removeCellListener(CellListener listener) {
+        CellListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                CellListener[] copy = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, i + 1, copy, i, current.length - i - 1);
+                listeners = copy;
+                return;
             }
         }
     }
 
+    public void sync() {
+        grid.sync();
+    }
+
+    /** Whether threads may write disjoint cells at the same time, see {@link BoardStorage#supportsDisjointWrites}. */
+    public boolean supportsDisjointWrites() {
+        return grid.supportsDisjointWrites();
+    }
+
+    /** Tells listeners that every cell may have changed, after the storage was swapped wholesale. */
+    void replaced() {
+        version.increment();
+        for (CellListener l : listeners) {
+            l.onCleared();
+        }
+    }
+
+    public boolean contains(int col, int row) {
+        return col >= 0 && col < size && row >= 0 && row < size;
+    }
+
+    public boolean contains(long pos) {
+        return contains(PackedCoords.col(pos), PackedCoords.row(pos));
+    }
+
     public void placeToken(int col, int row, Token token) {
         Objects.requireNonNull(token, "Token cannot be null");
-        if (col >= 0 && col < size && row >= 0 && row < size) {
-            grid[row][col] = token;
+        if (contains(col, row)) {
+            grid.set(col, row, token);
+            changed(col, row, token);
+        }
+    }
+
+    public void placeToken(long pos, Token token) {
+        placeToken(PackedCoords.col(pos), PackedCoords.row(pos), token);
+    }
+
+    /**
+     * Reports that {@code token}, the token at the cell, changed in place
+     * (mined, drunk): storage that keeps encoded copies writes it back and
+     * listeners see {@code onCellChanged}. Like {@link #removeToken} it only
+     * acts while the cell still holds the token, so a token another player
+     * already removed is not written back; returns whether it did.
+     */
+    public boolean touch(int col, int row, Token token) {
+        Objects.requireNonNull(token, "Token cannot be null");
+        return replace(col, row, token, token);
+    }
+
+    public boolean removeToken(int col, int row, Token expected) {
+        return replace(col, row, expected, new EmptyToken());
+    }
+
+    // storage that takes disjoint writes compares and sets without a lock; the rest is serialized on the board
+    private boolean replace(int col, int row, Token expected, Token token) {
+        if (!contains(col, row)) {
+            return false;
+        }
+        if (grid.supportsDisjointWrites()) {
+            if (!grid.replace(col, row, expected, token)) {
+                return false;
+            }
+            changed(col, row, token);
+            return true;
+        }
+        synchronized (this) {
+            if (!grid.replace(col, row, expected, token)) {
+                return false;
+            }
+            changed(col, row, token);
+            return true;
+        }
+    }
+
+    private void changed(int col, int row, Token token) {
+        version.increment();
+        for (CellListener l : listeners) {
+            l.onCellChanged(col, row, token);
+        }
+    }
+
+    public void fill(Rect rect, Token token) {
+        Objects.requireNonNull(token, "Token cannot be null");
+        Rect r = clip(rect);
+        if (r == null) {
+            return;
+        }
+        grid.fill(r.col, r.row, r.width, r.height, token);
+        regionChanged(r);
+    }
+
+    /**
+     * Copies {@code from} on {@code source} so that its top-left cell lands on
+     * ({@code col}, {@code row}); cells falling outside either board are
+     * skipped. The source may be this board, and the regions may overlap.
+     * Tokens are shared, not cloned.
+     */
+    public void copyRegion(Board source, Rect from, int col, int row) {
+        Objects.requireNonNull(source, "Source board cannot be null");
+        Rect src = source.clip(from);
+        if (src == null) {
+            return;
+        }
+        int dCol = col - from.col;
+        int dRow = row - from.row;
+        Rect dst = clip(new Rect(src.col + dCol, src.row + dRow, src.width, src.height));
+        if (dst == null) {
+            return;
+        }
+        grid.copy(source.grid, dst.col - dCol, dst.row - dRow, dst.col, dst.row, dst.width, dst.height);
+        regionChanged(dst);
+    }
+
+    /** Cell counts in the region, indexed by the {@link CellCodec} type constants. */
+    public int[] countByType(Rect rect) {
+        int[] counts = new int[CellCodec.PLAYER + 1];
+        Rect r = clip(rect);
+        if (r != null) {
+            grid.countByType(r.col, r.row, r.width, r.height, counts);
+        }
+        return counts;
+    }
+
+    public int count(Rect rect, int type) {
+        Rect r = clip(rect);
+        return r == null ? 0 : grid.count(r.col, r.row, r.width, r.height, type);
+    }
+
+    /**
+     * Every cell in row-major order. The stream splits by blocks of rows, so
+     * {@code .parallel()} hands each worker contiguous rows. It reads the live
+     * board, so nothing may write to it until the stream completes. No storage
+     * writes on read (template boards copy a token only when it is taken for
+     * update), so every backend may be streamed in parallel. Off-heap cells
+     * decode to fresh tokens, so compare those by type, not identity.
+     */
+    public Stream<Cell> cells() {
+        return cells(CellSpliterator.ANY);
+    }
+
+    /** The cells of one {@link CellCodec} type; the others are skipped on their stored type without being read. */
+    public Stream<Cell> cells(int type) {
+        return StreamSupport.stream(new CellSpliterator.Cells(grid, checkType(type), 0, size), false);
+    }
+
+    /** Packed positions of the cells of one {@link CellCodec} type, without a {@link Cell} per match. */
+    public LongStream positions(int type) {
+        return StreamSupport.longStream(new CellSpliterator.Positions(grid, checkType(type), 0, size), false);
+    }
+
+    private static int checkType(int type) {
+        if (type != CellSpliterator.ANY && (type < CellCodec.EMPTY || type > CellCodec.PLAYER)) {
+            throw new IllegalArgumentException("Unknown cell type: " + type);
+        }
+        return type;
+    }
+
+    private Rect clip(Rect rect) {
+        Objects.requireNonNull(rect, "Rect cannot be null");
+        int col = Math.max(rect.col, 0);
+        int row = Math.max(rect.row, 0);
+        int endCol = (int) Math.min((long) rect.col + rect.width, size);
+        int endRow = (int) Math.min((long) rect.row + rect.height, size);
+        if (col >= endCol || row >= endRow) {
+            return null;
+        }
+        return new Rect(col, row, endCol - col, endRow - row);
+    }
+
+    private void regionChanged(Rect r) {
+        version.increment();
+        for (CellListener l : listeners) {
+            l.onRegionChanged(r.col, r.row, r.width, r.height);
         }
     }
 
     public Token peekToken(int col, int row) {
-        if (col >= 0 && col < size && row >= 0 && row < size) {
-            return grid[row][col];
+        if (contains(col, row)) {
+            return grid.get(col, row);
         }
         return null;
     }
 
+    public Token peekToken(long pos) {
+        return peekToken(PackedCoords.col(pos), PackedCoords.row(pos));
+    }
+
+    /** The {@link CellCodec} type of the cell, without decoding its token. */
+    public int typeAt(int col, int row) {
+        if (contains(col, row)) {
+            return grid.typeAt(col, row);
+        }
+        throw new IllegalArgumentException("Position is outside the board");
+    }
+
+    /**
+     * The token at the cell, safe to change in place: a persistent board
+     * copies a token still shared with a snapshot or template first. Report
+     * the change with {@link #touch}.
+     */
+    public Token tokenForUpdate(int col, int row) {
+        if (contains(col, row)) {
+            return grid.getForUpdate(col, row);
+        }
+        return null;
+    }
+
+    public int neighbors(long pos, long[] out) {
+        int col = PackedCoords.col(pos);
+        int row = PackedCoords.row(pos);
+        int n = 0;
+        if (contains(col, row - 1)) out[n++] = PackedCoords.pack(col, row - 1);
+        if (contains(col, row + 1)) out[n++] = PackedCoords.pack(col, row + 1);
+        if (contains(col - 1, row)) out[n++] = PackedCoords.pack(col - 1, row);
+        if (contains(col + 1, row)) out[n++] = PackedCoords.pack(col + 1, row);
+        return n;
+    }
+
+    public long version() {
+        return version.sum();
+    }
+
     public void display() {
-        for (int row = 0; row < grid.length; row++) {
-            for (int col = 0; col < grid[row].length; col++) {
-                System.out.print(grid[row][col].label() + " ");
+        StringBuilder sb = new StringBuilder();
+        render(sb);
+        System.out.print(sb);
+    }
+
+    public void render(StringBuilder sb) {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                sb.append(grid.get(col, row).label()).append(' ');
             }
-            System.out.println();
+            sb.append(System.lineSeparator());
         }
     }
 
     public Coords getAvailableSquare(){
-        Token t = new EmptyToken();
-        for (int row = 0; row < grid.length; row++) {
-            for (int col = 0; col < grid[row].length; col++) {
-                if (grid[row][col] instanceof EmptyToken) {
-                    return new Coords(row, col);
+        return PackedCoords.toCoords(getAvailableSquarePacked());
+    }
+
+    public long getAvailableSquarePacked() {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (grid.get(col, row) instanceof EmptyToken) {
+                    return PackedCoords.pack(col, row);
                 }
             }
         }
@@ -0,0 +1,15 @@
+package edu.io;
+
+import edu.io.token.Token;
+
+@FunctionalInterface
+public interface CellListener {
+    void onCellChanged(int col, int row, Token token);
+
+    default void onCleared() {}
+
+    /** Bulk region writes; listeners that track cells individually can narrow this down. */
+    default void onRegionChanged(int col, int row, int width, int height) {
+        onCleared();
+    }
+}
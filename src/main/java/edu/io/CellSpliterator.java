@@ -0,0 +1,116 @@
+package edu.io;
+
+import edu.io.storage.BoardStorage;
+import edu.io.token.Token;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Row-major walk over a block of board rows, split in halves by whole rows
+ * so each part reads contiguous rows. With a type filter, cells are tested
+ * through {@link BoardStorage#typeAt} and only matches are materialized;
+ * the filtered walk is not {@code SIZED}.
+ */
+abstract class CellSpliterator<S extends CellSpliterator<S>> {
+    static final int ANY = -1;
+
+    final BoardStorage grid;
+    final int size;
+    final int type;
+    int row;
+    int col;
+    int endRow;
+
+    CellSpliterator(BoardStorage grid, int type, int row, int endRow) {
+        this.grid = grid;
+        this.size = grid.size();
+        this.type = type;
+        this.row = row;
+        this.endRow = endRow;
+    }
+
+    abstract S split(int fromRow, int toRow);
+
+    /** Advances to the next matching cell and returns its packed position, or {@link PackedCoords#NONE}. */
+    final long next() {
+        while (row < endRow) {
+            int c = col;
+            int r = row;
+            if (++col == size) {
+                col = 0;
+                row++;
+            }
+            if (type == ANY || grid.typeAt(c, r) == type) {
+                return PackedCoords.pack(c, r);
+            }
+        }
+        return PackedCoords.NONE;
+    }
+
+    public final S trySplit() {
+        int first = col == 0 ? row : row + 1;
+        int mid = (first + endRow) >>> 1;
+        if (mid <= first) {
+            return null;
+        }
+        S prefix = split(row, mid);
+        prefix.col = col;
+        row = mid;
+        col = 0;
+        return prefix;
+    }
+
+    public final long estimateSize() {
+        return (long) (endRow - row) * size - col;
+    }
+
+    public final int characteristics() {
+        int c = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT;
+        return type == ANY ? c | Spliterator.SIZED | Spliterator.SUBSIZED : c;
+    }
+
+    static final class Cells extends CellSpliterator<Cells> implements Spliterator<Board.Cell> {
+        Cells(BoardStorage grid, int type, int row, int endRow) {
+            super(grid, type, row, endRow);
+        }
+
+        @Override
+        Cells split(int fromRow, int toRow) {
+            return new Cells(grid, type, fromRow, toRow);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Board.Cell> action) {
+            long pos = next();
+            if (pos == PackedCoords.NONE) {
+                return false;
+            }
+            Token token = grid.get(PackedCoords.col(pos), PackedCoords.row(pos));
+            action.accept(new Board.Cell(pos, token));
+            return true;
+        }
+    }
+
+    static final class Positions extends CellSpliterator<Positions> implements Spliterator.OfLong {
+        Positions(BoardStorage grid, int type, int row, int endRow) {
+            super(grid, type, row, endRow);
+        }
+
+        @Override
+        Positions split(int fromRow, int toRow) {
+            return new Positions(grid, type, fromRow, toRow);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            long pos = next();
+            if (pos == PackedCoords.NONE) {
+                return false;
+            }
+            action.accept(pos);
+            return true;
+        }
+    }
+}
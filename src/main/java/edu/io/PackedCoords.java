@@ -0,0 +1,36 @@
+package edu.io;
+
+/**
+ * Board position packed into a single {@code long}: row in the high 32 bits,
+ * column in the low 32 bits. Lets hot paths pass positions around without
+ * allocating {@link Board.Coords}.
+ */
+public final class PackedCoords {
+    public static final long NONE = -1L;
+
+    private PackedCoords() {}
+
+    public static long pack(int col, int row) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    public static int col(long packed) {
+        return (int) packed;
+    }
+
+    public static int row(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static long offset(long packed, int dCol, int dRow) {
+        return pack(col(packed) + dCol, row(packed) + dRow);
+    }
+
+    public static long of(Board.Coords coords) {
+        return pack(coords.col(), coords.row());
+    }
+
+    public static Board.Coords toCoords(long packed) {
+        return new Board.Coords(row(packed), col(packed));
+    }
+}
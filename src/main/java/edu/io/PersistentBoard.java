@@ -0,0 +1,38 @@
+package edu.io;
+
+import edu.io.storage.BoardSnapshot;
+import edu.io.storage.PersistentBoardStorage;
+
+import java.util.Objects;
+
+/**
+ * Board on {@link PersistentBoardStorage}, the one backend with O(1)
+ * snapshots. Callers that need snapshots take this type, so heap and
+ * off-heap boards are rejected at compile time rather than at run time.
+ */
+public class PersistentBoard extends Board {
+    private final PersistentBoardStorage storage;
+
+    public PersistentBoard(PersistentBoardStorage storage) {
+        super(storage);
+        this.storage = storage;
+    }
+
+    public BoardSnapshot snapshot() {
+        return storage.snapshot();
+    }
+
+    public BoardSnapshot publishSnapshot() {
+        return storage.publish();
+    }
+
+    public BoardSnapshot latestSnapshot() {
+        return storage.published();
+    }
+
+    public void restore(BoardSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "Snapshot cannot be null");
+        storage.restore(snapshot);
+        replaced();
+    }
+}
@@ -0,0 +1,131 @@
+package edu.io.admission;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Submission outcomes and a log-linear histogram of queueing delay, from
+ * submit to apply (eight sub-buckets per power of two, so percentiles are
+ * within about 12%). Producers and the draining thread record concurrently.
+ */
+public class AdmissionStats {
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB);
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder queueFull = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder invalidMoves = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    void record(MoveAdmission.Verdict verdict) {
+        switch (verdict) {
+            case ADMITTED -> admitted.increment();
+            case COALESCED -> coalesced.increment();
+            case RATE_LIMITED -> rateLimited.increment();
+            case QUEUE_FULL -> queueFull.increment();
+            case SHED -> shed.increment();
+        }
+    }
+
+    void apply(long waitNanos) {
+        applied.increment();
+        buckets.incrementAndGet(bucket(waitNanos));
+    }
+
+    void invalid() {
+        invalidMoves.increment();
+    }
+
+    void failure() {
+        failed.increment();
+    }
+
+    public long admitted() {
+        return admitted.sum();
+    }
+
+    /** No-op moves answered without queueing. */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long rateLimited() {
+        return rateLimited.sum();
+    }
+
+    public long queueFull() {
+        return queueFull.sum();
+    }
+
+    /** Moves refused because the global queue was over its shedding depth. */
+    public long shed() {
+        return shed.sum();
+    }
+
+    /** Every refused move, whatever the reason. */
+    public long dropped() {
+        return rateLimited() + queueFull() + shed();
+    }
+
+    public long applied() {
+        return applied.sum();
+    }
+
+    public long invalidMoves() {
+        return invalidMoves.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    /** Upper bound of the bucket holding the given percentile of queueing delay, in microseconds. */
+    public double percentileMicros(double percentile) {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(rank, 1)) {
+                return upperBound(i) / 1000.0;
+            }
+        }
+        return upperBound(buckets.length() - 1) / 1000.0;
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < SUB) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB - 1);
+        return (exp - SUB_BITS + 1) * SUB + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB) {
+            return bucket;
+        }
+        int exp = bucket / SUB + SUB_BITS - 1;
+        int sub = bucket % SUB;
+        return (1L << exp) + ((long) (sub + 1) << (exp - SUB_BITS)) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("admitted=%d applied=%d p50=%.1fus p99=%.1fus coalesced=%d rate-limited=%d queue-full=%d shed=%d invalid=%d failed=%d",
+                admitted(), applied(), percentileMicros(50), percentileMicros(99), coalesced(), rateLimited(),
+                queueFull(), shed(), invalidMoves(), failed());
+    }
+}
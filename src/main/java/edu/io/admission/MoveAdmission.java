@@ -0,0 +1,195 @@
+package edu.io.admission;
+
+import edu.io.player.Player;
+import edu.io.token.PlayerToken;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control in front of {@link PlayerToken#move}. Any thread may
+ * {@link #submit} a move; the thread that owns the board applies queued
+ * moves with {@link #drain}, one per player per pass, so a player with a
+ * deep queue waits behind everyone else instead of in front of them.
+ * <p>
+ * A submission is checked in order:
+ * <ol>
+ * <li>{@code NONE} does nothing when applied, so it is coalesced away;</li>
+ * <li>while the moves queued across all players reach {@code shedDepth},
+ *     players who already have a move waiting are shed, so each keeps at
+ *     most one in flight until the backlog clears;</li>
+ * <li>each player's queue holds at most {@code queueCapacity} moves;</li>
+ * <li>each player's token bucket refills at {@code movesPerSecond} and
+ *     holds up to {@code burst} moves.</li>
+ * </ol>
+ * Opposite moves are never cancelled against each other: every step costs
+ * hydration and picks up what it lands on.
+ */
+public class MoveAdmission {
+    public enum Verdict {
+        ADMITTED,
+        COALESCED,
+        RATE_LIMITED,
+        QUEUE_FULL,
+        SHED
+    }
+
+    private record Pending(PlayerToken.Move move, long submitted) {}
+
+    private final class Lane {
+        final Player player;
+        final TokenBucket bucket;
+        final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(Player player) {
+            this.player = player;
+            this.bucket = new TokenBucket(movesPerSecond, burst, clock.getAsLong());
+        }
+
+        boolean reserve() {
+            int s;
+            do {
+                s = size.get();
+                if (s >= queueCapacity) {
+                    return false;
+                }
+            } while (!size.compareAndSet(s, s + 1));
+            return true;
+        }
+    }
+
+    private final double movesPerSecond;
+    private final int burst;
+    private final int queueCapacity;
+    private final int shedDepth;
+    private final LongSupplier clock;
+    private final Map<Player, Lane> lanes = new ConcurrentHashMap<>();
+    private final Queue<Lane> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AdmissionStats stats = new AdmissionStats();
+
+    public MoveAdmission(double movesPerSecond, int burst, int queueCapacity, int shedDepth) {
+        this(movesPerSecond, burst, queueCapacity, shedDepth, System::nanoTime);
+    }
+
+    public MoveAdmission(double movesPerSecond, int burst, int queueCapacity, int shedDepth, LongSupplier clock) {
+        if (!(movesPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be greater than 0.");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be greater than 0.");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be greater than 0.");
+        }
+        if (shedDepth <= 0) {
+            throw new IllegalArgumentException("Shed depth must be greater than 0.");
+        }
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+        this.movesPerSecond = movesPerSecond;
+        this.burst = burst;
+        this.queueCapacity = queueCapacity;
+        this.shedDepth = shedDepth;
+    }
+
+    public Verdict submit(Player player, PlayerToken.Move move) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        Objects.requireNonNull(move, "Move cannot be null");
+        Verdict verdict = admit(player, move);
+        stats.record(verdict);
+        return verdict;
+    }
+
+    private Verdict admit(Player player, PlayerToken.Move move) {
+        if (move == PlayerToken.Move.NONE) {
+            return Verdict.COALESCED;
+        }
+        Lane lane = lanes.computeIfAbsent(player, Lane::new);
+        if (depth.get() >= shedDepth && lane.size.get() > 0) {
+            return Verdict.SHED;
+        }
+        if (!lane.reserve()) {
+            return Verdict.QUEUE_FULL;
+        }
+        long now = clock.getAsLong();
+        if (!lane.bucket.tryTake(now)) {
+            lane.size.decrementAndGet();
+            return Verdict.RATE_LIMITED;
+        }
+        depth.incrementAndGet();
+        lane.queue.offer(new Pending(move, now));
+        if (lane.scheduled.compareAndSet(false, true)) {
+            ready.offer(lane);
+        }
+        return Verdict.ADMITTED;
+    }
+
+    /**
+     * Applies up to {@code max} queued moves, taking one from each waiting
+     * player in turn, and returns how many were applied. Must run on the
+     * thread that owns the board.
+     */
+    public int drain(int max) {
+        int applied = 0;
+        Lane lane;
+        while (applied < max && (lane = ready.poll()) != null) {
+            Pending pending = lane.queue.poll();
+            if (pending != null) {
+                lane.size.decrementAndGet();
+                depth.decrementAndGet();
+                apply(lane.player, pending);
+                applied++;
+            }
+            lane.scheduled.set(false);
+            // a submit that raced the poll above may have seen the lane still scheduled
+            if (!lane.queue.isEmpty() && lane.scheduled.compareAndSet(false, true)) {
+                ready.offer(lane);
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Player player, Pending pending) {
+        stats.apply(clock.getAsLong() - pending.submitted());
+        try {
+            player.token().move(pending.move());
+        } catch (IllegalArgumentException e) {
+            stats.invalid();
+        } catch (IllegalStateException e) {
+            stats.failure();
+        }
+    }
+
+    /** Drops the player's queued moves and its bucket. */
+    public void forget(Player player) {
+        Lane lane = lanes.remove(player);
+        if (lane != null) {
+            while (lane.queue.poll() != null) {
+                lane.size.decrementAndGet();
+                depth.decrementAndGet();
+            }
+        }
+    }
+
+    /** Moves queued across all players. */
+    public int depth() {
+        return depth.get();
+    }
+
+    public int pending(Player player) {
+        Lane lane = lanes.get(player);
+        return lane == null ? 0 : lane.size.get();
+    }
+
+    public AdmissionStats stats() {
+        return stats;
+    }
+}
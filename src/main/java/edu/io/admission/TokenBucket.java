@@ -0,0 +1,39 @@
+package edu.io.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time (GCRA):
+ * a take advances it by one interval, and is refused when that would put
+ * it more than {@code burst} intervals ahead of now.
+ */
+public final class TokenBucket {
+    private final AtomicLong arrival;
+    private final long interval;
+    private final long tolerance;
+
+    public TokenBucket(double perSecond, int burst, long now) {
+        if (!(perSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be greater than 0.");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be greater than 0.");
+        }
+        this.interval = Math.max((long) (1e9 / perSecond), 1);
+        this.tolerance = interval * burst;
+        this.arrival = new AtomicLong(now);
+    }
+
+    public boolean tryTake(long now) {
+        while (true) {
+            long at = arrival.get();
+            long next = Math.max(at, now) + interval;
+            if (next - now > tolerance) {
+                return false;
+            }
+            if (arrival.compareAndSet(at, next)) {
+                return true;
+            }
+        }
+    }
+}
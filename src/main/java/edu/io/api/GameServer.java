@@ -0,0 +1,280 @@
+package edu.io.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+import edu.io.vision.Visibility;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP/JSON front end for a board:
+ * <pre>
+ * POST /players                      join a new player
+ * GET  /players/{id}                 player state
+ * POST /players/{id}/move?dir=UP     apply one move
+ * GET  /board?col=&row=&width=&height=   labels of a region
+ * </pre>
+ * With fog of war on, {@code /board} also takes {@code player=id} and
+ * answers {@code null} for every cell that player cannot see, so hidden
+ * cells never leave the server.
+ * Without {@code width} and {@code height} it answers the largest region
+ * allowed from {@code col,row}, at most 256 cells a side.
+ * Each request runs on its own virtual thread when the runtime has them.
+ * Board access is serialized; JSON is encoded into pooled buffers.
+ * <p>
+ * The JDK server writes headers and body separately, so run it with
+ * {@code -Dsun.net.httpserver.nodelay=true}: without TCP_NODELAY every
+ * keep-alive response waits on the peer's delayed ACK. The property is
+ * read once per JVM, which is why the server does not set it itself.
+ */
+public class GameServer implements AutoCloseable {
+    private static final int MAX_REGION = 256;
+
+    private final Board board;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Integer, Player> players = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final ConcurrentLinkedQueue<JsonWriter> writers = new ConcurrentLinkedQueue<>();
+    private final Object lock = new Object();
+    private final Visibility visibility;
+    private final int viewRadius;
+
+    private record Response(int status, JsonWriter body) {}
+
+    public GameServer(Board board, InetSocketAddress address) {
+        this(board, address, -1);
+    }
+
+    /** Serves a fogged board where each player sees {@code viewRadius} cells around it; -1 turns fog off. */
+    public GameServer(Board board, InetSocketAddress address, int viewRadius) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        this.viewRadius = viewRadius;
+        this.visibility = viewRadius >= 0 ? new Visibility(board) : null;
+        Objects.requireNonNull(address, "Address cannot be null");
+        try {
+            this.server = HttpServer.create(address, 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.executor = perRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    // virtual threads are final in Java 21; fall back to a thread per request on older runtimes
+    static ExecutorService perRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "game-server");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public GameServer start() {
+        server.start();
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public int players() {
+        return players.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        if (visibility != null) {
+            visibility.close();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        JsonWriter json = writers.poll();
+        if (json == null) {
+            json = new JsonWriter();
+        }
+        json.reset();
+        try {
+            Response response;
+            try {
+                response = route(exchange, json);
+            } catch (NumberFormatException e) {
+                response = error(json.reset(), 400, "Malformed number");
+            } catch (IllegalArgumentException e) {
+                response = error(json.reset(), 400, e.getMessage());
+            } catch (IllegalStateException e) {
+                response = error(json.reset(), 409, e.getMessage());
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), response.body().size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                response.body().writeTo(out);
+            }
+        } finally {
+            exchange.close();
+            writers.offer(json);
+        }
+    }
+
+    private Response route(HttpExchange exchange, JsonWriter json) {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getRawQuery();
+
+        if (path.equals("/players")) {
+            return method.equals("POST") ? join(json) : error(json, 405, "Use POST");
+        }
+        if (path.equals("/board")) {
+            return method.equals("GET") ? region(json, query) : error(json, 405, "Use GET");
+        }
+        if (path.startsWith("/players/")) {
+            String rest = path.substring("/players/".length());
+            int slash = rest.indexOf('/');
+            int id = Integer.parseInt(slash < 0 ? rest : rest.substring(0, slash));
+            Player player = players.get(id);
+            if (player == null) {
+                return error(json, 404, "No such player");
+            }
+            if (slash < 0) {
+                return method.equals("GET") ? state(json, id, player, 200) : error(json, 405, "Use GET");
+            }
+            if (rest.substring(slash).equals("/move")) {
+                return method.equals("POST") ? move(json, id, player, query) : error(json, 405, "Use POST");
+            }
+        }
+        return error(json, 404, "No such resource");
+    }
+
+    private Response join(JsonWriter json) {
+        Player player = new Player();
+        synchronized (lock) {
+            player.assignToken(new PlayerToken(player, board));
+            if (visibility != null) {
+                visibility.track(player, viewRadius);
+            }
+        }
+        int id = nextId.getAndIncrement();
+        players.put(id, player);
+        return state(json, id, player, 201);
+    }
+
+    private Response move(JsonWriter json, int id, Player player, String query) {
+        String dir = param(query, "dir");
+        if (dir == null) {
+            throw new IllegalArgumentException("Missing dir");
+        }
+        PlayerToken.Move move = PlayerToken.Move.valueOf(dir);
+        synchronized (lock) {
+            player.token().move(move);
+        }
+        return state(json, id, player, 200);
+    }
+
+    private Response state(JsonWriter json, int id, Player player, int status) {
+        synchronized (lock) {
+            json.beginObject()
+                    .name("id").value(id)
+                    .name("col").value(player.token().pos().col())
+                    .name("row").value(player.token().pos().row())
+                    .name("gold").value(player.gold.amount())
+                    .name("hydration").value(player.vitals.hydration())
+                    .name("alive").value(player.vitals.isAlive())
+                    .name("tools").value(player.shed.tools().size())
+                    .endObject();
+        }
+        return new Response(status, json);
+    }
+
+    private Response region(JsonWriter json, String query) {
+        int col = intParam(query, "col", 0);
+        int row = intParam(query, "row", 0);
+        int width = intParam(query, "width", Math.min(board.size(), MAX_REGION));
+        int height = intParam(query, "height", Math.min(board.size(), MAX_REGION));
+        if (width <= 0 || height <= 0 || width > MAX_REGION || height > MAX_REGION) {
+            throw new IllegalArgumentException("Region must be between 1 and " + MAX_REGION + " cells wide");
+        }
+        if (!board.contains(col, row)) {
+            throw new IllegalArgumentException("Position is outside the board");
+        }
+        width = Math.min(width, board.size() - col);
+        height = Math.min(height, board.size() - row);
+        Visibility.View view = null;
+        if (visibility != null) {
+            String id = param(query, "player");
+            Player viewer = id == null ? null : players.get(Integer.parseInt(id));
+            if (viewer == null) {
+                throw new IllegalArgumentException("Fog of war is on; pass player=id");
+            }
+            view = visibility.view(viewer);
+        }
+        json.beginObject()
+                .name("col").value(col)
+                .name("row").value(row)
+                .name("width").value(width)
+                .name("height").value(height)
+                .name("cells").beginArray();
+        synchronized (lock) {
+            for (int r = row; r < row + height; r++) {
+                json.beginArray();
+                for (int c = col; c < col + width; c++) {
+                    Token token = view == null ? board.peekToken(c, r) : view.peekToken(c, r);
+                    json.value(token == null ? null : token.label());
+                }
+                json.endArray();
+            }
+        }
+        json.endArray().endObject();
+        return new Response(200, json);
+    }
+
+    private static Response error(JsonWriter json, int status, String message) {
+        json.beginObject().name("error").value(message).endObject();
+        return new Response(status, json);
+    }
+
+    private static int intParam(String query, String name, int fallback) {
+        String value = param(query, name);
+        return value == null ? fallback : Integer.parseInt(value);
+    }
+
+    private static String param(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        int at = 0;
+        while (at <= query.length()) {
+            int end = query.indexOf('&', at);
+            if (end < 0) {
+                end = query.length();
+            }
+            if (query.startsWith(name, at) && at + name.length() < end && query.charAt(at + name.length()) == '=') {
+                return query.substring(at + name.length() + 1, end);
+            }
+            at = end + 1;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,203 @@
+package edu.io.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Minimal streaming JSON encoder that writes ASCII bytes straight into a
+ * growable buffer; anything outside printable ASCII is escaped. Commas are
+ * inserted automatically. Instances are meant to be {@link #reset()} and
+ * reused, not shared between threads.
+ */
+public final class JsonWriter {
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final int MAX_DEPTH = 32;
+
+    private byte[] buf;
+    private int size;
+    private final boolean[] first = new boolean[MAX_DEPTH];
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter() {
+        this(512);
+    }
+
+    public JsonWriter(int capacity) {
+        buf = new byte[capacity];
+    }
+
+    public JsonWriter reset() {
+        size = 0;
+        depth = 0;
+        afterName = false;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, size);
+    }
+
+    public JsonWriter beginObject() {
+        open((byte) '{');
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        close((byte) '}');
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        open((byte) '[');
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        close((byte) ']');
+        return this;
+    }
+
+    public JsonWriter name(String name) {
+        separate();
+        string(name);
+        put((byte) ':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            ascii("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separate();
+        ascii(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separate();
+        digits(value);
+        return this;
+    }
+
+    public JsonWriter value(double value) {
+        separate();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            ascii("null");
+        } else if (value == (long) value && Math.abs(value) < 1e15) {
+            digits((long) value);
+        } else {
+            ascii(Double.toString(value));
+        }
+        return this;
+    }
+
+    private void digits(long value) {
+        if (value == Long.MIN_VALUE) {
+            ascii("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    private void open(byte bracket) {
+        separate();
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON nested too deeply");
+        }
+        put(bracket);
+        first[depth++] = true;
+    }
+
+    private void close(byte bracket) {
+        if (depth == 0) {
+            throw new IllegalStateException("Nothing to close");
+        }
+        depth--;
+        put(bracket);
+    }
+
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (!first[depth - 1]) {
+                put((byte) ',');
+            }
+            first[depth - 1] = false;
+        }
+    }
+
+    private void string(String s) {
+        ensure(s.length() + 2);
+        buf[size++] = '"';
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                put((byte) '\\');
+                put((byte) c);
+            } else if (c < 0x20 || c > 0x7E) {
+                ensure(6);
+                buf[size++] = '\\';
+                buf[size++] = 'u';
+                buf[size++] = HEX[(c >> 12) & 0xF];
+                buf[size++] = HEX[(c >> 8) & 0xF];
+                buf[size++] = HEX[(c >> 4) & 0xF];
+                buf[size++] = HEX[c & 0xF];
+            } else {
+                put((byte) c);
+            }
+        }
+        put((byte) '"');
+    }
+
+    private void ascii(String s) {
+        ensure(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            buf[size++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        buf[size++] = b;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+        }
+    }
+}
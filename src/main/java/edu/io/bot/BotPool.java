@@ -0,0 +1,188 @@
+package edu.io.bot;
+
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.player.Player;
+import edu.io.token.IdlePlayerToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs many bots on a shared work-stealing pool instead of a thread each.
+ * A {@link #tick()} first lets every live bot observe and choose in parallel
+ * (the board is only read), then applies the moves in bot id order on the
+ * calling thread, dropping any move onto another player. Bots are split into ranges that idle workers steal, so a
+ * few slow policies do not hold up the rest. Observing reads only cell types,
+ * and no storage writes on read, so any board backend is safe to share.
+ * <p>
+ * Each decision is timed against the per-bot budget. A decision cannot be
+ * preempted, but one that overruns is discarded and the bot stands still
+ * that tick, so slow policies cannot buy better moves with more time.
+ */
+public class BotPool implements AutoCloseable {
+    private static final int GRAIN = 64;
+
+    private final Board board;
+    private final ForkJoinPool pool;
+    private final int viewRadius;
+    private final long budgetNanos;
+    private final SplittableRandom root;
+    private final BotStats stats = new BotStats();
+    private Player[] players = new Player[16];
+    private Policy[] policies = new Policy[16];
+    private Observation[] views = new Observation[16];
+    private PlayerToken.Move[] moves = new PlayerToken.Move[16];
+    private int count;
+    private int ticks;
+
+    public BotPool(Board board, int parallelism, int viewRadius, long budgetNanos, long seed) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        if (viewRadius <= 0) {
+            throw new IllegalArgumentException("View radius must be positive");
+        }
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Decision budget must be positive");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.viewRadius = viewRadius;
+        this.budgetNanos = budgetNanos;
+        this.root = new SplittableRandom(seed);
+    }
+
+    public synchronized int add(Player player, Policy policy) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        Objects.requireNonNull(policy, "Policy cannot be null");
+        if (player.token() == null) {
+            player.assignToken(new PlayerToken(player, board));
+        }
+        if (count == players.length) {
+            int grown = count * 2;
+            players = Arrays.copyOf(players, grown);
+            policies = Arrays.copyOf(policies, grown);
+            views = Arrays.copyOf(views, grown);
+            moves = Arrays.copyOf(moves, grown);
+        }
+        players[count] = player;
+        policies[count] = policy;
+        views[count] = new Observation(viewRadius, root.split());
+        return count++;
+    }
+
+    public synchronized void tick() {
+        long start = System.nanoTime();
+        pool.invoke(new Decide(0, count));
+        long decided = System.nanoTime();
+        for (int id = 0; id < count; id++) {
+            PlayerToken.Move move = moves[id];
+            moves[id] = null;
+            if (move == null || move == PlayerToken.Move.NONE || !players[id].vitals.isAlive()) {
+                continue;
+            }
+            if (occupied(players[id], move)) {
+                continue;
+            }
+            try {
+                players[id].token().move(move);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                stats.invalid();
+            }
+        }
+        ticks++;
+        stats.tick(decided - start, System.nanoTime() - start);
+    }
+
+    public synchronized int bots() {
+        return count;
+    }
+
+    public synchronized int alive() {
+        int n = 0;
+        for (int id = 0; id < count; id++) {
+            if (players[id].vitals.isAlive()) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    public synchronized Player player(int id) {
+        Objects.checkIndex(id, count);
+        return players[id];
+    }
+
+    public int ticks() {
+        return ticks;
+    }
+
+    public BotStats stats() {
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // a bot never walks onto another player: the move would overwrite its token
+    private boolean occupied(Player player, PlayerToken.Move move) {
+        long pos = player.token().packedPos();
+        int col = PackedCoords.col(pos) + (move == PlayerToken.Move.LEFT ? -1 : move == PlayerToken.Move.RIGHT ? 1 : 0);
+        int row = PackedCoords.row(pos) + (move == PlayerToken.Move.UP ? -1 : move == PlayerToken.Move.DOWN ? 1 : 0);
+        Token target = board.peekToken(col, row);
+        return target instanceof PlayerToken || target instanceof IdlePlayerToken;
+    }
+
+    private void decide(int id) {
+        Player player = players[id];
+        if (!player.vitals.isAlive()) {
+            return;
+        }
+        long start = System.nanoTime();
+        PlayerToken.Move move;
+        try {
+            Observation view = views[id];
+            view.fill(board, player, ticks);
+            move = policies[id].choose(view);
+        } catch (RuntimeException e) {
+            stats.failure();
+            move = null;
+        }
+        long nanos = System.nanoTime() - start;
+        stats.decision(nanos);
+        if (nanos > budgetNanos) {
+            stats.overran();
+            move = null;
+        }
+        moves[id] = move;
+    }
+
+    private final class Decide extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        Decide(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GRAIN) {
+                for (int id = from; id < to; id++) {
+                    decide(id);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Decide(from, mid), new Decide(mid, to));
+        }
+    }
+}
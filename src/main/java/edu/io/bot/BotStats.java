@@ -0,0 +1,117 @@
+package edu.io.bot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decision counters and a log-linear latency histogram (eight sub-buckets
+ * per power of two, so percentiles are within about 12%). Workers record
+ * concurrently.
+ */
+public class BotStats {
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB);
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder overBudget = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder invalidMoves = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder wallNanos = new LongAdder();
+
+    void decision(long nanos) {
+        decisions.increment();
+        buckets.incrementAndGet(bucket(nanos));
+    }
+
+    void overran() {
+        overBudget.increment();
+    }
+
+    void failure() {
+        failed.increment();
+    }
+
+    void invalid() {
+        invalidMoves.increment();
+    }
+
+    void tick(long decideNanos, long wall) {
+        busyNanos.add(decideNanos);
+        wallNanos.add(wall);
+    }
+
+    public long decisions() {
+        return decisions.sum();
+    }
+
+    public long overBudget() {
+        return overBudget.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public long invalidMoves() {
+        return invalidMoves.sum();
+    }
+
+    /** Decisions per second of wall time spent in the decide phase. */
+    public double decisionsPerSecond() {
+        long nanos = busyNanos.sum();
+        return nanos == 0 ? 0 : decisions() * 1e9 / nanos;
+    }
+
+    /** Bots ticked per second including applying the moves. */
+    public double ticksPerSecond() {
+        long nanos = wallNanos.sum();
+        return nanos == 0 ? 0 : decisions() * 1e9 / nanos;
+    }
+
+    /** Upper bound of the bucket holding the given percentile, in microseconds. */
+    public double percentileMicros(double percentile) {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(rank, 1)) {
+                return upperBound(i) / 1000.0;
+            }
+        }
+        return upperBound(buckets.length() - 1) / 1000.0;
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < SUB) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB - 1);
+        return (exp - SUB_BITS + 1) * SUB + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB) {
+            return bucket;
+        }
+        int exp = bucket / SUB + SUB_BITS - 1;
+        int sub = bucket % SUB;
+        return (1L << exp) + ((long) (sub + 1) << (exp - SUB_BITS)) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("decisions=%d rate=%.0f/s p50=%.1fus p99=%.1fus p999=%.1fus over-budget=%d failed=%d invalid=%d",
+                decisions(), decisionsPerSecond(), percentileMicros(50), percentileMicros(99), percentileMicros(99.9),
+                overBudget(), failed(), invalidMoves());
+    }
+}
@@ -0,0 +1,13 @@
+package edu.io.bot;
+
+import edu.io.storage.CellCodec;
+import edu.io.token.PlayerToken;
+
+/** Heads for the nearest visible gold and wanders when none is in view. */
+public class GreedyGoldPolicy implements Policy {
+    @Override
+    public PlayerToken.Move choose(Observation view) {
+        long gold = view.nearest(CellCodec.GOLD);
+        return gold == Observation.NOT_FOUND ? view.wander() : Observation.toward(gold);
+    }
+}
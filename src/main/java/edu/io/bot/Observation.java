@@ -0,0 +1,138 @@
+package edu.io.bot;
+
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.player.Player;
+import edu.io.storage.CellCodec;
+import edu.io.token.PlayerToken;
+
+import java.util.SplittableRandom;
+
+/**
+ * What a bot sees: the {@link CellCodec} types of the square window of
+ * {@code radius} cells around it, plus its own vitals. Each bot owns one
+ * instance that is refilled in place every tick, so observing allocates
+ * nothing. Cells off the board read as {@link #OUTSIDE}.
+ */
+public final class Observation {
+    public static final int OUTSIDE = -1;
+    /** {@link #nearest} found nothing; unlike {@link PackedCoords#NONE} it is no offset within any view. */
+    public static final long NOT_FOUND = Long.MIN_VALUE;
+
+    public final int radius;
+    private final int width;
+    private final int[] cells;
+    private final int[] ring;
+    private final SplittableRandom rng;
+    private int col;
+    private int row;
+    private int hydration;
+    private double gold;
+    private int tick;
+
+    Observation(int radius, SplittableRandom rng) {
+        this.radius = radius;
+        this.width = 2 * radius + 1;
+        this.cells = new int[width * width];
+        this.ring = new int[width * width];
+        this.rng = rng;
+        // visit order by distance from the centre, so nearest() stops early
+        int n = 0;
+        for (int d = 0; d <= 2 * radius; d++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+                int dx = d - Math.abs(dy);
+                if (dx < 0 || dx > radius) {
+                    continue;
+                }
+                ring[n++] = (dy + radius) * width + radius + dx;
+                if (dx != 0) {
+                    ring[n++] = (dy + radius) * width + radius - dx;
+                }
+            }
+        }
+    }
+
+    void fill(Board board, Player player, int tick) {
+        long pos = player.token().packedPos();
+        col = PackedCoords.col(pos);
+        row = PackedCoords.row(pos);
+        hydration = player.vitals.hydration();
+        gold = player.gold.amount();
+        this.tick = tick;
+        int i = 0;
+        for (int r = row - radius; r <= row + radius; r++) {
+            for (int c = col - radius; c <= col + radius; c++) {
+                cells[i++] = board.contains(c, r) ? board.typeAt(c, r) : OUTSIDE;
+            }
+        }
+    }
+
+    public int col() {
+        return col;
+    }
+
+    public int row() {
+        return row;
+    }
+
+    public int hydration() {
+        return hydration;
+    }
+
+    public double gold() {
+        return gold;
+    }
+
+    public int tick() {
+        return tick;
+    }
+
+    public SplittableRandom rng() {
+        return rng;
+    }
+
+    /** Type at an offset from the bot, or {@link #OUTSIDE} beyond the board or the view. */
+    public int type(int dCol, int dRow) {
+        if (Math.abs(dCol) > radius || Math.abs(dRow) > radius) {
+            return OUTSIDE;
+        }
+        return cells[(dRow + radius) * width + dCol + radius];
+    }
+
+    /** Offset of the nearest visible cell of {@code type} by walking distance, or {@link #NOT_FOUND}. */
+    public long nearest(int type) {
+        for (int i = 1; i < ring.length; i++) {
+            int at = ring[i];
+            if (cells[at] == type) {
+                return PackedCoords.pack(at % width - radius, at / width - radius);
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /** First step toward an offset, preferring the longer axis; {@code NONE} for the bot's own cell. */
+    public static PlayerToken.Move toward(long offset) {
+        int dCol = PackedCoords.col(offset);
+        int dRow = PackedCoords.row(offset);
+        if (dCol == 0 && dRow == 0) {
+            return PlayerToken.Move.NONE;
+        }
+        if (Math.abs(dCol) >= Math.abs(dRow)) {
+            return dCol > 0 ? PlayerToken.Move.RIGHT : PlayerToken.Move.LEFT;
+        }
+        return dRow > 0 ? PlayerToken.Move.DOWN : PlayerToken.Move.UP;
+    }
+
+    /** A random step that stays on the board. */
+    public PlayerToken.Move wander() {
+        for (int tries = 0; tries < 8; tries++) {
+            PlayerToken.Move move = PlayerToken.Move.values()[1 + rng.nextInt(4)];
+            int dCol = move == PlayerToken.Move.LEFT ? -1 : move == PlayerToken.Move.RIGHT ? 1 : 0;
+            int dRow = move == PlayerToken.Move.UP ? -1 : move == PlayerToken.Move.DOWN ? 1 : 0;
+            if (type(dCol, dRow) != OUTSIDE) {
+                return move;
+            }
+        }
+        return PlayerToken.Move.NONE;
+    }
+}
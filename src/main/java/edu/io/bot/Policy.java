@@ -0,0 +1,13 @@
+package edu.io.bot;
+
+import edu.io.token.PlayerToken;
+
+/**
+ * Decides one bot's next move from what it observed this tick. Called from
+ * pool workers, possibly for many bots at once, so implementations must keep
+ * per-bot state in the {@link Observation} or be stateless.
+ */
+@FunctionalInterface
+public interface Policy {
+    PlayerToken.Move choose(Observation view);
+}
@@ -0,0 +1,39 @@
+package edu.io.bot;
+
+import edu.io.storage.CellCodec;
+import edu.io.token.PlayerToken;
+
+import java.util.Objects;
+
+/**
+ * Goes for the nearest visible water once hydration drops below a
+ * threshold; otherwise, or when no water is in view, defers to another
+ * policy.
+ */
+public class SurviveByWaterPolicy implements Policy {
+    private final int threshold;
+    private final Policy otherwise;
+
+    public SurviveByWaterPolicy(int threshold, Policy otherwise) {
+        if (threshold < 0 || threshold > 100) {
+            throw new IllegalArgumentException("Threshold must be between 0 and 100");
+        }
+        this.threshold = threshold;
+        this.otherwise = Objects.requireNonNull(otherwise, "Policy cannot be null");
+    }
+
+    public SurviveByWaterPolicy() {
+        this(50, new GreedyGoldPolicy());
+    }
+
+    @Override
+    public PlayerToken.Move choose(Observation view) {
+        if (view.hydration() < threshold) {
+            long water = view.nearest(CellCodec.WATER);
+            if (water != Observation.NOT_FOUND) {
+                return Observation.toward(water);
+            }
+        }
+        return otherwise.choose(view);
+    }
+}
@@ -0,0 +1,38 @@
+package edu.io.client;
+
+import java.io.PrintStream;
+
+/**
+ * Front and back frame buffers. A frame is composed into the back buffer and
+ * only written out, in one call, when it differs from the front buffer.
+ */
+public class FrameBuffer {
+    private static final String HOME = "\u001B[H";
+    private static final String CLEAR_TO_END = "\u001B[J";
+
+    private StringBuilder front = new StringBuilder();
+    private StringBuilder back = new StringBuilder();
+
+    public StringBuilder back() {
+        back.setLength(0);
+        return back;
+    }
+
+    public boolean present(PrintStream out) {
+        if (back.length() == front.length() && back.compareTo(front) == 0) {
+            return false;
+        }
+        StringBuilder t = front;
+        front = back;
+        back = t;
+        out.print(HOME);
+        out.print(front);
+        out.print(CLEAR_TO_END);
+        out.flush();
+        return true;
+    }
+
+    public String frame() {
+        return front.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.io.client;
+
+public class FrameStats {
+    private long frames;
+    private long skipped;
+    private long renderNanos;
+    private long maxRenderNanos;
+    private long inputs;
+    private long latencyNanos;
+    private long maxLatencyNanos;
+
+    void frame(long nanos) {
+        frames++;
+        renderNanos += nanos;
+        maxRenderNanos = Math.max(maxRenderNanos, nanos);
+    }
+
+    void skip() {
+        skipped++;
+    }
+
+    void inputShown(long nanos) {
+        inputs++;
+        latencyNanos += nanos;
+        maxLatencyNanos = Math.max(maxLatencyNanos, nanos);
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    public long skipped() {
+        return skipped;
+    }
+
+    public long inputs() {
+        return inputs;
+    }
+
+    public double avgRenderMicros() {
+        return frames == 0 ? 0 : renderNanos / 1000.0 / frames;
+    }
+
+    public double maxRenderMicros() {
+        return maxRenderNanos / 1000.0;
+    }
+
+    public double avgLatencyMicros() {
+        return inputs == 0 ? 0 : latencyNanos / 1000.0 / inputs;
+    }
+
+    public double maxLatencyMicros() {
+        return maxLatencyNanos / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frames=%d skipped=%d render avg=%.1fus max=%.1fus input-to-screen avg=%.1fus max=%.1fus",
+                frames, skipped, avgRenderMicros(), maxRenderMicros(), avgLatencyMicros(), maxLatencyMicros());
+    }
+}
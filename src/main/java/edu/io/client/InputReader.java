@@ -0,0 +1,41 @@
+package edu.io.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.Queue;
+
+/**
+ * Reads keystrokes on its own thread and hands them to the render loop
+ * through a lock-free queue, so the loop never blocks on stdin.
+ */
+public class InputReader implements Runnable {
+    private final InputStream in;
+    private final Queue<KeyPress> queue;
+    private volatile boolean closed;
+
+    public InputReader(InputStream in, Queue<KeyPress> queue) {
+        this.in = Objects.requireNonNull(in, "Input cannot be null");
+        this.queue = Objects.requireNonNull(queue, "Queue cannot be null");
+    }
+
+    @Override
+    public void run() {
+        try {
+            int c;
+            while ((c = in.read()) != -1) {
+                if (!Character.isWhitespace(c)) {
+                    queue.offer(new KeyPress(Character.toUpperCase((char) c), System.nanoTime()));
+                }
+            }
+        } catch (IOException e) {
+            // treat a broken stdin like end of input
+        } finally {
+            closed = true;
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,3 @@
+package edu.io.client;
+
+public record KeyPress(char key, long nanos) {}
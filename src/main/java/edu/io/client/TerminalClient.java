@@ -0,0 +1,182 @@
+package edu.io.client;
+
+import edu.io.Board;
+import edu.io.PersistentBoard;
+import edu.io.history.UndoHistory;
+import edu.io.log.EventType;
+import edu.io.log.GameEventLog;
+import edu.io.player.Player;
+import edu.io.token.PlayerToken;
+import edu.io.vision.Visibility;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Two-thread terminal client: an {@link InputReader} thread queues keystrokes
+ * while this loop applies them and redraws the board at a capped frame rate.
+ */
+public class TerminalClient implements Runnable {
+    private static final String HELP = "Moves: W (UP), S (DOWN), A (LEFT), D (RIGHT), E (NONE), Q (QUIT)";
+    private static final String UNDO_HELP = "U (UNDO), R (REDO)";
+    private static final int UNDO_LIMIT = 256;
+
+    private final Board board;
+    private final Player player;
+    private final GameEventLog log;
+    private final PrintStream out;
+    private final Queue<KeyPress> input = new ConcurrentLinkedQueue<>();
+    private final InputReader reader;
+    private final FrameBuffer frames = new FrameBuffer();
+    private final FrameStats stats = new FrameStats();
+    private final long frameNanos;
+    private final UndoHistory history;
+    private final Visibility.View view;
+
+    private long renderedVersion = -1;
+    private int renderedHydration = -1;
+    private double renderedGold = -1;
+    private long oldestUnshownInput;
+    private boolean quit;
+
+    public TerminalClient(Board board, Player player, GameEventLog log, InputStream in, PrintStream out, int fps) {
+        this(board, player, log, in, out, fps, null);
+    }
+
+    /** Draws only what {@code view} shows when it is not {@code null}. */
+    public TerminalClient(Board board, Player player, GameEventLog log, InputStream in, PrintStream out, int fps,
+                          Visibility.View view) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        this.player = Objects.requireNonNull(player, "Player cannot be null");
+        this.log = Objects.requireNonNull(log, "Log cannot be null");
+        this.out = Objects.requireNonNull(out, "Output cannot be null");
+        if (fps <= 0) {
+            throw new IllegalArgumentException("Frame rate must be greater than 0.");
+        }
+        this.frameNanos = 1_000_000_000L / fps;
+        this.reader = new InputReader(in, input);
+        this.history = board instanceof PersistentBoard persistent
+                ? new UndoHistory(persistent, player, UNDO_LIMIT) : null;
+        this.view = view;
+    }
+
+    @Override
+    public void run() {
+        Thread inputThread = new Thread(reader, "terminal-input");
+        inputThread.setDaemon(true);
+        inputThread.start();
+
+        long next = System.nanoTime();
+        while (!isFinished()) {
+            tick();
+            next += frameNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                next = System.nanoTime();
+            }
+        }
+        tick();
+        out.println();
+        out.println(stats);
+    }
+
+    public boolean isFinished() {
+        return quit || !player.vitals.isAlive() || (reader.isClosed() && input.isEmpty());
+    }
+
+    public void tick() {
+        KeyPress key;
+        while ((key = input.poll()) != null) {
+            if (oldestUnshownInput == 0) {
+                oldestUnshownInput = key.nanos();
+            }
+            apply(key.key());
+        }
+        render();
+    }
+
+    public void press(char key) {
+        input.offer(new KeyPress(Character.toUpperCase(key), System.nanoTime()));
+    }
+
+    public FrameStats stats() {
+        return stats;
+    }
+
+    public String frame() {
+        return frames.frame();
+    }
+
+    private void apply(char key) {
+        if (history != null) {
+            switch (key) {
+                case 'U': history.undo(); return;
+                case 'R': history.redo(); return;
+                case 'W', 'S', 'A', 'D': history.checkpoint(); break;
+                default: break;
+            }
+        }
+        try {
+            switch (key) {
+                case 'W': player.token().move(PlayerToken.Move.UP); break;
+                case 'S': player.token().move(PlayerToken.Move.DOWN); break;
+                case 'A': player.token().move(PlayerToken.Move.LEFT); break;
+                case 'D': player.token().move(PlayerToken.Move.RIGHT); break;
+                case 'E': player.token().move(PlayerToken.Move.NONE); break;
+                case 'Q': quit = true; break;
+                default: log.record(EventType.INVALID_INPUT); break;
+            }
+        } catch (IllegalArgumentException e) {
+            log.record(EventType.OUT_OF_BOUNDS, player.token().packedPos(), 0);
+        } catch (IllegalStateException e) {
+            quit = true;
+        }
+    }
+
+    private void render() {
+        long start = System.nanoTime();
+        int hydration = player.vitals.hydration();
+        double gold = player.gold.amount();
+        if (board.version() == renderedVersion && hydration == renderedHydration && gold == renderedGold) {
+            stats.skip();
+            shown(start);
+            return;
+        }
+
+        StringBuilder sb = frames.back();
+        if (view != null) {
+            view.render(sb);
+        } else {
+            board.render(sb);
+        }
+        sb.append("Hydration: ").append(hydration)
+          .append("  Gold: ").append(gold).append(System.lineSeparator())
+          .append(HELP);
+        if (history != null) {
+            sb.append(", ").append(UNDO_HELP);
+        }
+        sb.append(System.lineSeparator());
+        if (frames.present(out)) {
+            stats.frame(System.nanoTime() - start);
+        } else {
+            stats.skip();
+        }
+        renderedVersion = board.version();
+        renderedHydration = hydration;
+        renderedGold = gold;
+        shown(System.nanoTime());
+    }
+
+    private void shown(long now) {
+        if (oldestUnshownInput != 0) {
+            stats.inputShown(now - oldestUnshownInput);
+            oldestUnshownInput = 0;
+        }
+    }
+}
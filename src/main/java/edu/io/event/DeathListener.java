@@ -0,0 +1,6 @@
+package edu.io.event;
+
+@FunctionalInterface
+public interface DeathListener {
+    void onDeath();
+}
@@ -0,0 +1,122 @@
+package edu.io.event;
+
+import edu.io.interfaces.Tool;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Typed game events. Each event type has its own copy-on-write listener
+ * array: subscribing copies, publishing only reads a volatile field and loops,
+ * so dispatch takes no lock and allocates nothing. Every registration returns
+ * a {@link Subscription}, which is the only way to remove an async wrapper.
+ */
+public class GameEventBus {
+    private volatile DeathListener[] death = new DeathListener[0];
+    private volatile HydrationListener[] hydration = new HydrationListener[0];
+    private volatile GoldListener[] gold = new GoldListener[0];
+    private volatile ToolBrokenListener[] toolBroken = new ToolBrokenListener[0];
+
+    public Subscription onDeath(DeathListener listener) {
+        synchronized (this) {
+            death = append(death, Objects.requireNonNull(listener, "Listener cannot be null"));
+        }
+        return () -> unsubscribe(listener);
+    }
+
+    public Subscription onHydrationChanged(HydrationListener listener) {
+        synchronized (this) {
+            hydration = append(hydration, Objects.requireNonNull(listener, "Listener cannot be null"));
+        }
+        return () -> unsubscribe(listener);
+    }
+
+    public Subscription onGoldChanged(GoldListener listener) {
+        synchronized (this) {
+            gold = append(gold, Objects.requireNonNull(listener, "Listener cannot be null"));
+        }
+        return () -> unsubscribe(listener);
+    }
+
+    public Subscription onToolBroken(ToolBrokenListener listener) {
+        synchronized (this) {
+            toolBroken = append(toolBroken, Objects.requireNonNull(listener, "Listener cannot be null"));
+        }
+        return () -> unsubscribe(listener);
+    }
+
+    public Subscription onDeathAsync(DeathListener listener, Executor executor) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+        return onDeath(() -> executor.execute(listener::onDeath));
+    }
+
+    public Subscription onHydrationChangedAsync(HydrationListener listener, Executor executor) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+        return onHydrationChanged((o, n) -> executor.execute(() -> listener.onHydrationChanged(o, n)));
+    }
+
+    public Subscription onGoldChangedAsync(GoldListener listener, Executor executor) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+        return onGoldChanged((c, t) -> executor.execute(() -> listener.onGoldChanged(c, t)));
+    }
+
+    public Subscription onToolBrokenAsync(ToolBrokenListener listener, Executor executor) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+        return onToolBroken(tool -> executor.execute(() -> listener.onToolBroken(tool)));
+    }
+
+    public synchronized boolean unsubscribe(Object listener) {
+        int before = death.length + hydration.length + gold.length + toolBroken.length;
+        death = remove(death, listener);
+        hydration = remove(hydration, listener);
+        gold = remove(gold, listener);
+        toolBroken = remove(toolBroken, listener);
+        return death.length + hydration.length + gold.length + toolBroken.length < before;
+    }
+
+    public void publishDeath() {
+        for (DeathListener l : death) {
+            l.onDeath();
+        }
+    }
+
+    public void publishHydrationChanged(int oldHydration, int newHydration) {
+        for (HydrationListener l : hydration) {
+            l.onHydrationChanged(oldHydration, newHydration);
+        }
+    }
+
+    public void publishGoldChanged(double change, double total) {
+        for (GoldListener l : gold) {
+            l.onGoldChanged(change, total);
+        }
+    }
+
+    public void publishToolBroken(Tool tool) {
+        for (ToolBrokenListener l : toolBroken) {
+            l.onToolBroken(tool);
+        }
+    }
+
+    private static <T> T[] append(T[] array, T item) {
+        T[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = item;
+        return copy;
+    }
+
+    private static <T> T[] remove(T[] array, Object item) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == item) {
+                T[] copy = Arrays.copyOf(array, array.length - 1);
+                System.arraycopy(array, i + 1, copy, i, array.length - i - 1);
+                return copy;
+            }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,7 @@
+package edu.io.event;
+
+@FunctionalInterface
+public interface GoldListener {
+    /** {@code change} is negative when gold is lost. */
+    void onGoldChanged(double change, double total);
+}
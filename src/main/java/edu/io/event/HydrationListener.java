@@ -0,0 +1,6 @@
+package edu.io.event;
+
+@FunctionalInterface
+public interface HydrationListener {
+    void onHydrationChanged(int oldHydration, int newHydration);
+}
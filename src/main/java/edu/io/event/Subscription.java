@@ -0,0 +1,8 @@
+package edu.io.event;
+
+/** Handle returned when a listener is registered; cancelling it stops delivery. */
+@FunctionalInterface
+public interface Subscription {
+    /** Returns {@code false} if the listener was already removed. */
+    boolean cancel();
+}
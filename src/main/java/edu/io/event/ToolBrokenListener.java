@@ -0,0 +1,8 @@
+package edu.io.event;
+
+import edu.io.interfaces.Tool;
+
+@FunctionalInterface
+public interface ToolBrokenListener {
+    void onToolBroken(Tool tool);
+}
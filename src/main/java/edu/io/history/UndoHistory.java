@@ -0,0 +1,112 @@
+package edu.io.history;
+
+import edu.io.PersistentBoard;
+import edu.io.interfaces.Tool;
+import edu.io.player.Player;
+import edu.io.storage.BoardSnapshot;
+import edu.io.token.PickaxeToken;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * Undo and redo for a single player on a persistent board. Each checkpoint
+ * is an O(1) board snapshot plus the player's own state. Resource levels
+ * inside tokens are versioned with the board, since a token shared with a
+ * snapshot is copied before it is mined or drunk.
+ */
+public class UndoHistory {
+    private record Entry(BoardSnapshot board, int col, int row, double gold, int hydration,
+                         Tool[] tools, int[] durabilities) {}
+
+    private final PersistentBoard board;
+    private final Player player;
+    private final int limit;
+    private final Deque<Entry> undo = new ArrayDeque<>();
+    private final Deque<Entry> redo = new ArrayDeque<>();
+
+    public UndoHistory(PersistentBoard board, Player player, int limit) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        this.player = Objects.requireNonNull(player, "Player cannot be null");
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0.");
+        }
+        this.limit = limit;
+    }
+
+    public void checkpoint() {
+        undo.push(capture());
+        if (undo.size() > limit) {
+            undo.removeLast();
+        }
+        redo.clear();
+    }
+
+    public boolean undo() {
+        if (undo.isEmpty()) {
+            return false;
+        }
+        redo.push(capture());
+        apply(undo.pop());
+        return true;
+    }
+
+    public boolean redo() {
+        if (redo.isEmpty()) {
+            return false;
+        }
+        undo.push(capture());
+        apply(redo.pop());
+        return true;
+    }
+
+    public boolean canUndo() {
+        return !undo.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redo.isEmpty();
+    }
+
+    private Entry capture() {
+        Tool[] tools = player.shed.tools().toArray(new Tool[0]);
+        int[] durabilities = new int[tools.length];
+        for (int i = 0; i < tools.length; i++) {
+            if (tools[i] instanceof PickaxeToken pickaxe) {
+                durabilities[i] = pickaxe.durability();
+            }
+        }
+        return new Entry(board.snapshot(), player.token().pos().col(), player.token().pos().row(),
+                player.gold.amount(), player.vitals.hydration(), tools, durabilities);
+    }
+
+    private void apply(Entry e) {
+        board.restore(e.board());
+        player.token().relocate(e.col(), e.row());
+
+        double gold = player.gold.amount();
+        if (e.gold() > gold) {
+            player.gold.gain(e.gold() - gold);
+        } else if (e.gold() < gold) {
+            player.gold.lose(gold - e.gold());
+        }
+
+        int hydration = player.vitals.hydration();
+        if (e.hydration() > hydration) {
+            player.vitals.hydrate(e.hydration() - hydration);
+        } else if (e.hydration() < hydration) {
+            player.vitals.dehydrate(hydration - e.hydration());
+        }
+
+        while (!player.shed.isEmpty()) {
+            player.shed.dropTool();
+        }
+        for (int i = 0; i < e.tools().length; i++) {
+            if (e.tools()[i] instanceof PickaxeToken pickaxe) {
+                pickaxe.setDurability(e.durabilities()[i]);
+            }
+            player.shed.add(e.tools()[i]);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package edu.io.interfaces;
+
+public interface Consumable {
+    public boolean isExhausted();
+}
@@ -0,0 +1,7 @@
+package edu.io.log;
+
+public enum Backpressure {
+    DROP,
+    BLOCK,
+    SAMPLE
+}
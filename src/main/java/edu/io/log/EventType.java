@@ -0,0 +1,18 @@
+package edu.io.log;
+
+public enum EventType {
+    MOVE("Moved"),
+    INVALID_INPUT("Invalid direction."),
+    INVALID_MOVE("Invalid move direction"),
+    OUT_OF_BOUNDS("Cannot move outside the board");
+
+    private final String message;
+
+    EventType(String message) {
+        this.message = message;
+    }
+
+    public String message() {
+        return message;
+    }
+}
@@ -0,0 +1,35 @@
+package edu.io.log;
+
+/**
+ * Reusable ring buffer slot. Overwritten in place by the producer, so never
+ * hold on to one outside of {@link GameEventLog}.
+ */
+public final class GameEvent {
+    EventType type;
+    long nanos;
+    long pos;
+    long value;
+
+    void set(EventType type, long nanos, long pos, long value) {
+        this.type = type;
+        this.nanos = nanos;
+        this.pos = pos;
+        this.value = value;
+    }
+
+    public EventType type() {
+        return type;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public long pos() {
+        return pos;
+    }
+
+    public long value() {
+        return value;
+    }
+}
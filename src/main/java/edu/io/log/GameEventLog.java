@@ -0,0 +1,205 @@
+package edu.io.log;
+
+import edu.io.PackedCoords;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-writer ring buffer of preallocated {@link GameEvent} slots, drained
+ * in batches by a background thread. Only one thread may call {@code record}.
+ * If writing fails, the log stops: later events are dropped and the error
+ * is rethrown from {@link #flush()}.
+ */
+public class GameEventLog implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private final GameEvent[] slots;
+    private final int mask;
+    private final Backpressure policy;
+    private final int sampleRate;
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(64);
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long sampleCounter;
+
+    private volatile boolean running;
+    private volatile IOException failure;
+    private Thread consumer;
+
+    public GameEventLog(OutputStream out) {
+        this(out, 1024, Backpressure.DROP, 1);
+    }
+
+    /** A log that accepts events and writes them nowhere. */
+    public static GameEventLog discarding() {
+        return new GameEventLog(Writer.nullWriter(), 1024, Backpressure.DROP, 1);
+    }
+
+    public GameEventLog(OutputStream out, int capacity, Backpressure policy, int sampleRate) {
+        this(new BufferedWriter(new OutputStreamWriter(
+                Objects.requireNonNull(out, "Output cannot be null"), StandardCharsets.UTF_8)),
+                capacity, policy, sampleRate);
+    }
+
+    public GameEventLog(Writer out, int capacity, Backpressure policy, int sampleRate) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("Sample rate must be greater than 0.");
+        }
+        this.out = Objects.requireNonNull(out, "Output cannot be null");
+        this.policy = Objects.requireNonNull(policy, "Policy cannot be null");
+        this.sampleRate = sampleRate;
+        this.mask = capacity - 1;
+        this.slots = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new GameEvent();
+        }
+    }
+
+    public synchronized GameEventLog start() {
+        if (consumer == null) {
+            running = true;
+            consumer = new Thread(this::drainLoop, "game-event-log");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+        return this;
+    }
+
+    public boolean record(EventType type) {
+        return record(type, PackedCoords.NONE, 0);
+    }
+
+    public boolean record(EventType type, long pos, long value) {
+        if (failure != null) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        long h = head.get();
+        int capacity = slots.length;
+
+        if (policy == Backpressure.SAMPLE && h - tail.get() >= capacity / 2
+                && sampleCounter++ % sampleRate != 0) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        while (h - tail.get() >= capacity) {
+            if (policy != Backpressure.BLOCK || !running || failure != null) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            LockSupport.parkNanos(1_000L);
+        }
+
+        slots[(int) (h & mask)].set(type, System.nanoTime(), pos, value);
+        head.lazySet(h + 1);
+        return true;
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public int pending() {
+        return (int) (head.get() - tail.get());
+    }
+
+    /** The write error that stopped the log, or {@code null}. */
+    public IOException failure() {
+        return failure;
+    }
+
+    public void flush() {
+        if (running) {
+            while (tail.get() < head.get() && running) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+            }
+        } else if (failure == null) {
+            drain();
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    @Override
+    public void close() {
+        Thread t;
+        synchronized (this) {
+            running = false;
+            t = consumer;
+        }
+        if (t != null) {
+            LockSupport.unpark(t);
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure == null) {
+            drain();
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            while (running) {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // recorded in failure; flush() rethrows it to the producer
+        }
+    }
+
+    private synchronized int drain() {
+        long t = tail.get();
+        long h = head.get();
+        if (t == h) {
+            return 0;
+        }
+        try {
+            for (long seq = t; seq < h; seq++) {
+                write(slots[(int) (seq & mask)]);
+            }
+            out.flush();
+        } catch (IOException e) {
+            failure = e;
+            running = false;
+            throw new UncheckedIOException(e);
+        } finally {
+            tail.lazySet(h);
+        }
+        return (int) (h - t);
+    }
+
+    private void write(GameEvent event) throws IOException {
+        line.setLength(0);
+        line.append(event.nanos).append(' ').append(event.type.name());
+        if (event.pos != PackedCoords.NONE) {
+            line.append(" col=").append(PackedCoords.col(event.pos))
+                .append(" row=").append(PackedCoords.row(event.pos));
+        }
+        if (event.value != 0) {
+            line.append(" value=").append(event.value);
+        }
+        line.append(' ').append(event.type.message()).append('\n');
+        out.append(line);
+    }
+}
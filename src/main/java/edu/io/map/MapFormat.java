@@ -0,0 +1,31 @@
+package edu.io.map;
+
+/**
+ * Text map format shared by {@link MapReader} and {@link MapWriter}.
+ * <pre>
+ * # comment
+ * size 3
+ * .  G:2.5  W:20
+ * P:1.5/3  A  Y
+ * .  .  G:9/1.5
+ * </pre>
+ * Cells are separated by whitespace. Each cell is an ASCII code or the token's
+ * {@link edu.io.token.Label} glyph, optionally followed by {@code :} and
+ * {@code /}-separated parameters: gold {@code amount[/perHit]}, water
+ * {@code amount}, pickaxe {@code gainFactor[/durability[/maxDurability]]}.
+ */
+public final class MapFormat {
+    public static final String SIZE = "size";
+    public static final char COMMENT = '#';
+    public static final char PARAMS = ':';
+    public static final char SEPARATOR = '/';
+
+    public static final String EMPTY = ".";
+    public static final String GOLD = "G";
+    public static final String PYRITE = "Y";
+    public static final String PICKAXE = "P";
+    public static final String ANVIL = "A";
+    public static final String WATER = "W";
+
+    private MapFormat() {}
+}
@@ -0,0 +1,172 @@
+package edu.io.map;
+
+import edu.io.Board;
+import edu.io.token.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Streams a {@link MapFormat} file into a board one line at a time, so only
+ * the current line is held in memory.
+ */
+public final class MapReader {
+    private MapReader() {}
+
+    public static Board read(Path path) {
+        return read(path, Board::new);
+    }
+
+    public static Board read(Path path, IntFunction<Board> boardFactory) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8))) {
+            return read(reader, boardFactory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Board read(BufferedReader reader, IntFunction<Board> boardFactory) throws IOException {
+        Objects.requireNonNull(reader, "Reader cannot be null");
+        Objects.requireNonNull(boardFactory, "Board factory cannot be null");
+        Board board = null;
+        int lineNo = 0;
+        int row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            int start = skipSpace(line, 0);
+            if (start == line.length() || line.charAt(start) == MapFormat.COMMENT) {
+                continue;
+            }
+            if (board == null) {
+                board = boardFactory.apply(parseSize(line, start, lineNo));
+                continue;
+            }
+            if (row >= board.size()) {
+                throw new MapParseException(lineNo, start + 1, "more than " + board.size() + " rows");
+            }
+            parseRow(line, start, lineNo, row++, board);
+        }
+        if (board == null) {
+            throw new MapParseException(lineNo + 1, 1, "missing size header");
+        }
+        if (row < board.size()) {
+            throw new MapParseException(lineNo + 1, 1, "expected " + board.size() + " rows, found " + row);
+        }
+        return board;
+    }
+
+    private static int parseSize(String line, int start, int lineNo) {
+        if (!line.startsWith(MapFormat.SIZE, start)) {
+            throw new MapParseException(lineNo, start + 1, "expected '" + MapFormat.SIZE + " <n>'");
+        }
+        int at = skipSpace(line, start + MapFormat.SIZE.length());
+        int end = skipToken(line, at);
+        try {
+            int size = Integer.parseInt(line.substring(at, end));
+            if (size > 0) {
+                return size;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new MapParseException(lineNo, at + 1, "invalid board size");
+    }
+
+    private static void parseRow(String line, int at, int lineNo, int row, Board board) {
+        int col = 0;
+        while (at < line.length()) {
+            int end = skipToken(line, at);
+            if (col >= board.size()) {
+                throw new MapParseException(lineNo, at + 1, "more than " + board.size() + " cells in row");
+            }
+            board.placeToken(col++, row, parseCell(line, at, end, lineNo));
+            at = skipSpace(line, end);
+        }
+        if (col < board.size()) {
+            throw new MapParseException(lineNo, line.length() + 1,
+                    "expected " + board.size() + " cells, found " + col);
+        }
+    }
+
+    private static Token parseCell(String line, int start, int end, int lineNo) {
+        int colon = line.indexOf(MapFormat.PARAMS, start);
+        if (colon < 0 || colon > end) {
+            colon = end;
+        }
+        String code = line.substring(start, colon);
+        String[] params = colon < end
+                ? line.substring(colon + 1, end).split(String.valueOf(MapFormat.SEPARATOR), -1)
+                : new String[0];
+        int paramsAt = colon + 2;
+        try {
+            switch (code) {
+                case MapFormat.EMPTY, Label.EMPTY_TOKEN_LABEL -> {
+                    expectParams(params, 0, lineNo, paramsAt);
+                    return new EmptyToken();
+                }
+                case MapFormat.ANVIL, Label.ANVIL_TOKEN_LABEL -> {
+                    expectParams(params, 0, lineNo, paramsAt);
+                    return new AnvilToken();
+                }
+                case MapFormat.PYRITE -> {
+                    expectParams(params, 0, lineNo, paramsAt);
+                    return new PyriteToken();
+                }
+                case MapFormat.GOLD, Label.GOLD_TOKEN_LABEL -> {
+                    expectParams(params, 2, lineNo, paramsAt);
+                    if (params.length == 0) return new GoldToken();
+                    if (params.length == 1) return new GoldToken(Double.parseDouble(params[0]));
+                    return new GoldToken(Double.parseDouble(params[0]), Double.parseDouble(params[1]));
+                }
+                case MapFormat.WATER, Label.WATER_TOKEN_LABEL -> {
+                    expectParams(params, 1, lineNo, paramsAt);
+                    return params.length == 0 ? new WaterToken() : new WaterToken(Integer.parseInt(params[0]));
+                }
+                case MapFormat.PICKAXE, Label.PICKAXE_TOKEN_LABEL, "⛏" -> {
+                    expectParams(params, 3, lineNo, paramsAt);
+                    if (params.length == 0) return new PickaxeToken();
+                    double gainFactor = Double.parseDouble(params[0]);
+                    if (params.length == 1) return new PickaxeToken(gainFactor);
+                    int durability = Integer.parseInt(params[1]);
+                    if (params.length == 2) return new PickaxeToken(gainFactor, durability);
+                    return new PickaxeToken(gainFactor, durability, Integer.parseInt(params[2]));
+                }
+                default -> throw new MapParseException(lineNo, start + 1, "unknown cell '" + code + "'");
+            }
+        } catch (MapParseException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new MapParseException(lineNo, paramsAt, "invalid parameters for '" + code + "': " + e.getMessage());
+        }
+    }
+
+    private static void expectParams(String[] params, int max, int lineNo, int column) {
+        if (params.length > max) {
+            throw new MapParseException(lineNo, column, "at most " + max + " parameters allowed");
+        }
+    }
+
+    private static int skipSpace(String line, int at) {
+        while (at < line.length() && Character.isWhitespace(line.charAt(at))) {
+            at++;
+        }
+        return at;
+    }
+
+    private static int skipToken(String line, int at) {
+        while (at < line.length() && !Character.isWhitespace(line.charAt(at))) {
+            at++;
+        }
+        return at;
+    }
+}
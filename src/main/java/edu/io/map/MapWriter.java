@@ -0,0 +1,69 @@
+package edu.io.map;
+
+import edu.io.Board;
+import edu.io.token.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Writes a board in {@link MapFormat} through a single buffered stream.
+ * Player tokens are not part of the format and are written as empty cells.
+ */
+public final class MapWriter {
+    private MapWriter() {}
+
+    public static void write(Board board, Path path) {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            write(board, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void write(Board board, Writer out) throws IOException {
+        Objects.requireNonNull(board, "Board cannot be null");
+        Objects.requireNonNull(out, "Writer cannot be null");
+        StringBuilder sb = new StringBuilder();
+        out.write(MapFormat.SIZE + " " + board.size() + "\n");
+        for (int row = 0; row < board.size(); row++) {
+            sb.setLength(0);
+            for (int col = 0; col < board.size(); col++) {
+                if (col > 0) {
+                    sb.append(' ');
+                }
+                appendCell(sb, board.peekToken(col, row));
+            }
+            sb.append('\n');
+            out.append(sb);
+        }
+        out.flush();
+    }
+
+    private static void appendCell(StringBuilder sb, Token token) {
+        if (token instanceof PyriteToken) {
+            sb.append(MapFormat.PYRITE);
+        } else if (token instanceof GoldToken gold) {
+            sb.append(MapFormat.GOLD).append(MapFormat.PARAMS).append(gold.amount());
+            if (gold.perHit() != Double.POSITIVE_INFINITY) {
+                sb.append(MapFormat.SEPARATOR).append(gold.perHit());
+            }
+        } else if (token instanceof WaterToken water) {
+            sb.append(MapFormat.WATER).append(MapFormat.PARAMS).append(water.amount());
+        } else if (token instanceof PickaxeToken pickaxe) {
+            sb.append(MapFormat.PICKAXE).append(MapFormat.PARAMS).append(pickaxe.gainFactor())
+              .append(MapFormat.SEPARATOR).append(pickaxe.durability())
+              .append(MapFormat.SEPARATOR).append(pickaxe.maxDurability());
+        } else if (token instanceof AnvilToken) {
+            sb.append(MapFormat.ANVIL);
+        } else {
+            sb.append(MapFormat.EMPTY);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package edu.io.partition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hands out row strips to partition processes and keeps them in lockstep:
+ * tick {@code t + 1} is only announced once every partition has reported
+ * tick {@code t} done. The world hash after each tick is the XOR of the
+ * partition hashes.
+ */
+public class Coordinator implements AutoCloseable {
+    private final WorldSpec spec;
+    private final int partitions;
+    private final long timeoutMillis;
+    private final ServerSocket server;
+    private final List<Link> links = new ArrayList<>();
+
+    public Coordinator(WorldSpec spec, int partitions, long timeoutMillis) {
+        this.spec = Objects.requireNonNull(spec, "Spec cannot be null");
+        if (partitions <= 0 || partitions > spec.size()) {
+            throw new IllegalArgumentException("Partition count must be between 1 and the board size");
+        }
+        this.partitions = partitions;
+        this.timeoutMillis = timeoutMillis;
+        try {
+            this.server = new ServerSocket(0, partitions, InetAddress.getLoopbackAddress());
+            server.setSoTimeout((int) timeoutMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    public long[] run(int ticks) {
+        try {
+            int[] ports = new int[partitions];
+            for (int i = 0; i < partitions; i++) {
+                Link link = new Link(server.accept(), timeoutMillis);
+                links.add(link);
+                ports[i] = link.expect(Wire.REGISTER).buffer().getInt();
+            }
+            for (int i = 0; i < partitions; i++) {
+                links.get(i).send(Wire.ASSIGN, Wire.assign(i, partitions, spec, ports));
+                links.get(i).flush();
+            }
+            long[] hashes = new long[ticks];
+            for (int t = 0; t < ticks; t++) {
+                for (Link link : links) {
+                    link.send(Wire.TICK, Wire.ints(t));
+                    link.flush();
+                }
+                for (Link link : links) {
+                    ByteBuffer done = link.expect(Wire.TICK_DONE).buffer();
+                    if (done.getInt() != t) {
+                        throw new IOException("Partition reported the wrong tick");
+                    }
+                    hashes[t] ^= done.getLong();
+                }
+            }
+            for (Link link : links) {
+                link.send(Wire.STOP, new byte[0]);
+                link.flush();
+            }
+            return hashes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (Link link : links) {
+                link.close();
+            }
+            server.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package edu.io.partition;
+
+/**
+ * A player's request to step onto {@code (col, row)}. {@code state} carries
+ * the encoded player when the target belongs to another partition.
+ */
+public record Intent(int id, int col, int row, int srcCol, int srcRow, byte[] state) {}
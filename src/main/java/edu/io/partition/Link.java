@@ -0,0 +1,90 @@
+package edu.io.partition;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One framed connection. Incoming frames are drained by a reader thread into
+ * a queue, so two peers that both send a large batch before reading cannot
+ * block each other on full socket buffers.
+ */
+final class Link implements Closeable {
+    private static final Wire.Frame CLOSED = new Wire.Frame((byte) 0, new byte[0]);
+
+    private final Socket socket;
+    private final DataOutputStream out;
+    private final BlockingQueue<Wire.Frame> inbox = new LinkedBlockingQueue<>();
+    private final long timeoutMillis;
+
+    Link(Socket socket, long timeoutMillis) throws IOException {
+        this.socket = socket;
+        this.timeoutMillis = timeoutMillis;
+        socket.setTcpNoDelay(true);
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        Thread reader = new Thread(() -> {
+            try {
+                while (true) {
+                    byte type = in.readByte();
+                    byte[] payload = new byte[in.readInt()];
+                    in.readFully(payload);
+                    inbox.add(new Wire.Frame(type, payload));
+                }
+            } catch (IOException e) {
+                inbox.add(CLOSED);
+            }
+        }, "partition-link");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    void send(byte type, byte[] payload) throws IOException {
+        out.writeByte(type);
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    Wire.Frame receive() throws IOException {
+        Wire.Frame frame;
+        try {
+            frame = inbox.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for peer", e);
+        }
+        if (frame == null) {
+            throw new IOException("Timed out waiting for peer");
+        }
+        if (frame == CLOSED) {
+            inbox.add(CLOSED);
+            throw new EOFException("Peer closed the connection");
+        }
+        return frame;
+    }
+
+    Wire.Frame expect(byte type) throws IOException {
+        Wire.Frame frame = receive();
+        if (frame.type() != type) {
+            throw new IOException("Expected message " + type + " but got " + frame.type());
+        }
+        return frame;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,187 @@
+package edu.io.partition;
+
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.interfaces.Consumable;
+import edu.io.player.Player;
+import edu.io.session.PlayerCodec;
+import edu.io.sim.StateHash;
+import edu.io.storage.StripBoardStorage;
+import edu.io.token.EmptyToken;
+import edu.io.token.IdlePlayerToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The rows {@code [rowFrom, rowTo)} of a {@link WorldSpec} world and the
+ * players standing on them.
+ * <p>
+ * A tick is order independent, which is what lets any partitioning reproduce
+ * the single-process result: every intent is planned from the state at the
+ * start of the tick, the owner of the target cell resolves it, a cell occupied
+ * by a player at the start of the tick cannot be entered, and when several
+ * players aim at one cell the lowest id wins.
+ */
+public class Partition {
+    private final WorldSpec spec;
+    private final int rowFrom;
+    private final int rowTo;
+    private final Board board;
+    private final TreeMap<Integer, Player> residents = new TreeMap<>();
+    private final Token empty = new EmptyToken();
+
+    public Partition(WorldSpec spec, int rowFrom, int rowTo) {
+        this.spec = Objects.requireNonNull(spec, "Spec cannot be null");
+        if (rowFrom < 0 || rowTo > spec.size() || rowFrom >= rowTo) {
+            throw new IllegalArgumentException("Invalid row range");
+        }
+        this.rowFrom = rowFrom;
+        this.rowTo = rowTo;
+        // only the owned rows: every cell a partition reads or writes is its own
+        this.board = new Board(new StripBoardStorage(spec.size(), rowFrom, rowTo));
+        board.clean();
+        spec.populate(board, rowFrom, rowTo);
+        for (int id = 0; id < spec.players(); id++) {
+            long pos = spec.spawn(id);
+            if (owns(PackedCoords.row(pos))) {
+                Player player = new Player();
+                player.assignToken(new PlayerToken(player, board, PackedCoords.col(pos), PackedCoords.row(pos)));
+                residents.put(id, player);
+            }
+        }
+    }
+
+    /** Single-process reference run; returns the world hash after every tick. */
+    public static long[] runLocal(WorldSpec spec, int ticks) {
+        Partition all = new Partition(spec, 0, spec.size());
+        long[] hashes = new long[ticks];
+        for (int t = 0; t < ticks; t++) {
+            all.resolve(all.plan(t));
+            hashes[t] = all.hash();
+        }
+        return hashes;
+    }
+
+    public boolean owns(int row) {
+        return row >= rowFrom && row < rowTo;
+    }
+
+    public int rowFrom() {
+        return rowFrom;
+    }
+
+    public int rowTo() {
+        return rowTo;
+    }
+
+    public int residents() {
+        return residents.size();
+    }
+
+    public List<Intent> plan(int tick) {
+        List<Intent> intents = new ArrayList<>();
+        for (Map.Entry<Integer, Player> e : residents.entrySet()) {
+            Player player = e.getValue();
+            if (!player.vitals.isAlive()) {
+                continue;
+            }
+            PlayerToken.Move move = spec.choose(e.getKey(), tick);
+            long pos = player.token().packedPos();
+            int col = PackedCoords.col(pos);
+            int row = PackedCoords.row(pos);
+            int targetCol = col + (move == PlayerToken.Move.LEFT ? -1 : move == PlayerToken.Move.RIGHT ? 1 : 0);
+            int targetRow = row + (move == PlayerToken.Move.UP ? -1 : move == PlayerToken.Move.DOWN ? 1 : 0);
+            if (move == PlayerToken.Move.NONE || !board.contains(targetCol, targetRow)) {
+                continue;
+            }
+            byte[] state = owns(targetRow) ? null : PlayerCodec.encodeState(player);
+            intents.add(new Intent(e.getKey(), targetCol, targetRow, col, row, state));
+        }
+        return intents;
+    }
+
+    /** Applies intents that target this partition and returns results for the ones from elsewhere. */
+    public List<Result> resolve(List<Intent> intents) {
+        Map<Long, Intent> winners = new HashMap<>();
+        for (Intent intent : intents) {
+            long target = PackedCoords.pack(intent.col(), intent.row());
+            Token occupant = board.peekToken(intent.col(), intent.row());
+            if (occupant instanceof PlayerToken || occupant instanceof IdlePlayerToken) {
+                continue;
+            }
+            winners.merge(target, intent, (a, b) -> a.id() <= b.id() ? a : b);
+        }
+        List<Intent> ordered = new ArrayList<>(winners.values());
+        ordered.sort(Comparator.comparingInt(Intent::id));
+
+        List<Result> results = new ArrayList<>();
+        for (Intent intent : intents) {
+            if (intent.state() != null && winners.get(PackedCoords.pack(intent.col(), intent.row())) != intent) {
+                results.add(new Result(intent.id(), intent.srcCol(), intent.srcRow(), false, null));
+            }
+        }
+        for (Intent intent : ordered) {
+            boolean remote = intent.state() != null;
+            Player player = remote ? PlayerCodec.decodeState(intent.state()) : residents.get(intent.id());
+            Token target = board.tokenForUpdate(intent.col(), intent.row());
+            player.interactWithToken(target);
+            boolean moved = true;
+            if (target instanceof Consumable) {
+                moved = !player.canTake(target);
+                if (moved) {
+                    board.removeToken(intent.col(), intent.row(), target);
+                } else {
+                    board.touch(intent.col(), intent.row(), target);
+                }
+            }
+            if (remote) {
+                if (moved) {
+                    player.assignToken(new PlayerToken(player, board, intent.col(), intent.row()));
+                    residents.put(intent.id(), player);
+                }
+                results.add(new Result(intent.id(), intent.srcCol(), intent.srcRow(), moved,
+                        moved ? null : PlayerCodec.encodeState(player)));
+            } else if (moved) {
+                board.placeToken(intent.srcCol(), intent.srcRow(), empty);
+                player.token().relocate(intent.col(), intent.row());
+                board.placeToken(intent.col(), intent.row(), player.token());
+            }
+        }
+        return results;
+    }
+
+    public void accept(Result result) {
+        if (result.moved()) {
+            residents.remove(result.id());
+            board.placeToken(result.srcCol(), result.srcRow(), empty);
+        } else if (result.state() != null) {
+            Player player = PlayerCodec.decodeState(result.state());
+            player.assignToken(new PlayerToken(player, board, result.srcCol(), result.srcRow()));
+            residents.put(result.id(), player);
+        }
+    }
+
+    public long hash() {
+        long h = 0;
+        for (int row = rowFrom; row < rowTo; row++) {
+            for (int col = 0; col < spec.size(); col++) {
+                Token token = board.peekToken(col, row);
+                if (!(token instanceof PlayerToken)) {
+                    h ^= StateHash.cell((long) row * spec.size() + col, token);
+                }
+            }
+        }
+        for (Map.Entry<Integer, Player> e : residents.entrySet()) {
+            h ^= StateHash.player(e.getKey(), e.getValue());
+        }
+        return h;
+    }
+}
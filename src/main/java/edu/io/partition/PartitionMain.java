@@ -0,0 +1,18 @@
+package edu.io.partition;
+
+/**
+ * Entry point of a partition process: {@code PartitionMain <coordinator-port>}.
+ */
+public final class PartitionMain {
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    private PartitionMain() {}
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("usage: PartitionMain <coordinator-port>");
+            System.exit(2);
+        }
+        new PartitionNode(Integer.parseInt(args[0]), TIMEOUT_MILLIS).run();
+    }
+}
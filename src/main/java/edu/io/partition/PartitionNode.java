@@ -0,0 +1,132 @@
+package edu.io.partition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One partition process. Registers with the coordinator, receives its row
+ * strip, and talks only to the strips directly above and below it, since a
+ * move never crosses more than one row.
+ */
+public class PartitionNode implements Runnable {
+    private final int coordinatorPort;
+    private final long timeoutMillis;
+    private Link coordinator;
+    private Link up;
+    private Link down;
+    private Partition partition;
+
+    public PartitionNode(int coordinatorPort, long timeoutMillis) {
+        this.coordinatorPort = coordinatorPort;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void run() {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (ServerSocket peers = new ServerSocket(0, 1, loopback)) {
+            peers.setSoTimeout((int) timeoutMillis);
+            coordinator = new Link(new Socket(loopback, coordinatorPort), timeoutMillis);
+            coordinator.send(Wire.REGISTER, Wire.ints(peers.getLocalPort()));
+            coordinator.flush();
+
+            ByteBuffer assign = coordinator.expect(Wire.ASSIGN).buffer();
+            int index = assign.getInt();
+            int count = assign.getInt();
+            WorldSpec spec = new WorldSpec(assign.getInt(), assign.getInt(), assign.getLong());
+            int[] ports = new int[count];
+            for (int i = 0; i < count; i++) {
+                ports[i] = assign.getInt();
+            }
+            // connect downwards, accept from above, so no two nodes wait on each other
+            if (index + 1 < count) {
+                down = new Link(new Socket(loopback, ports[index + 1]), timeoutMillis);
+            }
+            if (index > 0) {
+                up = new Link(peers.accept(), timeoutMillis);
+            }
+            partition = new Partition(spec,
+                    (int) ((long) index * spec.size() / count),
+                    (int) ((long) (index + 1) * spec.size() / count));
+
+            while (true) {
+                Wire.Frame frame = coordinator.receive();
+                if (frame.type() == Wire.STOP) {
+                    return;
+                }
+                if (frame.type() != Wire.TICK) {
+                    throw new IOException("Unexpected message " + frame.type());
+                }
+                int tick = frame.buffer().getInt();
+                step(tick);
+                coordinator.send(Wire.TICK_DONE, Wire.tickDone(tick, partition.hash()));
+                coordinator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeQuietly(coordinator);
+            closeQuietly(up);
+            closeQuietly(down);
+        }
+    }
+
+    private void step(int tick) throws IOException {
+        List<Intent> own = new ArrayList<>();
+        for (Intent intent : partition.plan(tick)) {
+            if (intent.row() < partition.rowFrom()) {
+                up.send(Wire.INTENT, Wire.intent(intent));
+            } else if (intent.row() >= partition.rowTo()) {
+                down.send(Wire.INTENT, Wire.intent(intent));
+            } else {
+                own.add(intent);
+            }
+        }
+        endBatch(Wire.INTENTS_END);
+        for (Link link : neighbours()) {
+            for (Wire.Frame f = link.receive(); f.type() != Wire.INTENTS_END; f = link.receive()) {
+                own.add(Wire.intent(f.buffer()));
+            }
+        }
+
+        for (Result result : partition.resolve(own)) {
+            Link back = result.srcRow() < partition.rowFrom() ? up : down;
+            back.send(Wire.RESULT, Wire.result(result));
+        }
+        endBatch(Wire.RESULTS_END);
+        for (Link link : neighbours()) {
+            for (Wire.Frame f = link.receive(); f.type() != Wire.RESULTS_END; f = link.receive()) {
+                partition.accept(Wire.result(f.buffer()));
+            }
+        }
+    }
+
+    private void endBatch(byte type) throws IOException {
+        for (Link link : neighbours()) {
+            link.send(type, new byte[0]);
+            link.flush();
+        }
+    }
+
+    private List<Link> neighbours() {
+        List<Link> links = new ArrayList<>(2);
+        if (up != null) links.add(up);
+        if (down != null) links.add(down);
+        return links;
+    }
+
+    private static void closeQuietly(Link link) {
+        if (link != null) {
+            try {
+                link.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package edu.io.partition;
+
+/**
+ * Outcome of a cross-partition intent. A player that did not move comes back
+ * with its updated state, since the interaction still happened.
+ */
+public record Result(int id, int srcCol, int srcRow, boolean moved, byte[] state) {}
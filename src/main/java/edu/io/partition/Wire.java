@@ -0,0 +1,90 @@
+package edu.io.partition;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Message types and payload layouts of the partition protocol. Every frame is
+ * {@code [type:byte][length:int][payload]}, big-endian.
+ */
+final class Wire {
+    static final byte REGISTER = 1;
+    static final byte ASSIGN = 2;
+    static final byte TICK = 3;
+    static final byte INTENT = 4;
+    static final byte INTENTS_END = 5;
+    static final byte RESULT = 6;
+    static final byte RESULTS_END = 7;
+    static final byte TICK_DONE = 8;
+    static final byte STOP = 9;
+
+    record Frame(byte type, byte[] payload) {
+        ByteBuffer buffer() {
+            return ByteBuffer.wrap(payload);
+        }
+    }
+
+    private Wire() {}
+
+    static byte[] ints(int... values) {
+        ByteBuffer buf = ByteBuffer.allocate(values.length * Integer.BYTES);
+        for (int v : values) {
+            buf.putInt(v);
+        }
+        return buf.array();
+    }
+
+    static byte[] assign(int index, int count, WorldSpec spec, int[] ports) {
+        ByteBuffer buf = ByteBuffer.allocate(4 * Integer.BYTES + Long.BYTES + ports.length * Integer.BYTES);
+        buf.putInt(index).putInt(count).putInt(spec.size()).putInt(spec.players()).putLong(spec.seed());
+        for (int port : ports) {
+            buf.putInt(port);
+        }
+        return buf.array();
+    }
+
+    static byte[] tickDone(int tick, long hash) {
+        return ByteBuffer.allocate(Integer.BYTES + Long.BYTES).putInt(tick).putLong(hash).array();
+    }
+
+    static byte[] intent(Intent intent) {
+        ByteBuffer buf = ByteBuffer.allocate(6 * Integer.BYTES + intent.state().length);
+        buf.putInt(intent.id()).putInt(intent.col()).putInt(intent.row())
+                .putInt(intent.srcCol()).putInt(intent.srcRow())
+                .putInt(intent.state().length).put(intent.state());
+        return buf.array();
+    }
+
+    static Intent intent(ByteBuffer buf) {
+        int id = buf.getInt();
+        int col = buf.getInt();
+        int row = buf.getInt();
+        int srcCol = buf.getInt();
+        int srcRow = buf.getInt();
+        byte[] state = new byte[buf.getInt()];
+        buf.get(state);
+        return new Intent(id, col, row, srcCol, srcRow, state);
+    }
+
+    static byte[] result(Result result) {
+        byte[] state = result.state() == null ? new byte[0] : result.state();
+        ByteBuffer buf = ByteBuffer.allocate(4 * Integer.BYTES + 1 + state.length);
+        buf.putInt(result.id()).putInt(result.srcCol()).putInt(result.srcRow())
+                .put((byte) (result.moved() ? 1 : 0))
+                .putInt(state.length).put(state);
+        return buf.array();
+    }
+
+    static Result result(ByteBuffer buf) {
+        int id = buf.getInt();
+        int srcCol = buf.getInt();
+        int srcRow = buf.getInt();
+        boolean moved = buf.get() != 0;
+        int length = buf.getInt();
+        byte[] state = null;
+        if (length > 0) {
+            state = new byte[length];
+            buf.get(state);
+        }
+        return new Result(id, srcCol, srcRow, moved, state);
+    }
+}
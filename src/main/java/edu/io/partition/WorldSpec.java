@@ -0,0 +1,67 @@
+package edu.io.partition;
+
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.sim.StateHash;
+import edu.io.token.GoldToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.WaterToken;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic world description. Every process derives the same tokens,
+ * spawn points and move choices from it, so no initial state has to be
+ * shipped between partitions.
+ */
+public record WorldSpec(int size, int players, long seed) {
+    public WorldSpec {
+        if (size <= 0 || players < 0 || players > size * size / 2) {
+            throw new IllegalArgumentException("Invalid world size or player count");
+        }
+    }
+
+    public void populate(Board board, int rowFrom, int rowTo) {
+        for (int row = rowFrom; row < rowTo; row++) {
+            for (int col = 0; col < size; col++) {
+                long r = StateHash.mix(seed ^ PackedCoords.pack(col, row)) & 0xFF;
+                if (r < 6) {
+                    board.placeToken(col, row, new GoldToken(2.0 + r, 1.0));
+                } else if (r < 12) {
+                    board.placeToken(col, row, new WaterToken((int) (10 + r)));
+                }
+            }
+        }
+    }
+
+    public long spawn(int id) {
+        // distinct cells: stride through the board with a step coprime to its area
+        long cells = (long) size * size;
+        long step = cells == 1 ? 1 : largestCoprimeBelow(cells);
+        long index = (id * step + (seed & Long.MAX_VALUE) % cells) % cells;
+        return PackedCoords.pack((int) (index % size), (int) (index / size));
+    }
+
+    public PlayerToken.Move choose(int id, int tick) {
+        SplittableRandom rng = new SplittableRandom(StateHash.mix(seed ^ StateHash.mix(((long) id << 32) | tick)));
+        return PlayerToken.Move.values()[rng.nextInt(PlayerToken.Move.values().length)];
+    }
+
+    private static long largestCoprimeBelow(long n) {
+        for (long k = n / 2 + 1; k > 1; k--) {
+            if (gcd(k, n) == 1) {
+                return k;
+            }
+        }
+        return 1;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,477 @@
+package edu.io.path;
+
+import edu.io.Board;
+import edu.io.CellListener;
+import edu.io.PackedCoords;
+import edu.io.token.IdlePlayerToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * HPA*-style pathfinder. The board is cut into square chunks; cells where two
+ * chunks touch and both sides are passable form entrances, and the abstract
+ * graph links entrances of the same chunk by their walking distance inside
+ * it. A query searches the abstract graph and only expands the coarse route
+ * into moves section by section as the {@link Path} is consumed.
+ * <p>
+ * Cell changes only mark chunks and borders dirty; they are rebuilt on the
+ * next query. Not thread-safe: use from the thread that mutates the board.
+ */
+public class HierarchicalPathfinder implements CellListener, AutoCloseable {
+    public static final Predicate<Token> NOT_PLAYER =
+            token -> !(token instanceof PlayerToken || token instanceof IdlePlayerToken);
+
+    private static final int SEGMENT_CACHE = 64;
+    private static final int[] DCOL = {0, 0, -1, 1};
+    private static final int[] DROW = {-1, 1, 0, 0};
+    private static final PlayerToken.Move[] MOVES = {
+            PlayerToken.Move.UP, PlayerToken.Move.DOWN, PlayerToken.Move.LEFT, PlayerToken.Move.RIGHT};
+
+    private final Board board;
+    private final int size;
+    private final int chunkSize;
+    private final int chunks;
+    private final Predicate<Token> passable;
+    private final BitSet open;
+    private final int[][] east;
+    private final int[][] south;
+    private final ChunkGraph[] graphs;
+    private final BitSet dirtyBorders;
+    private final BitSet dirtyChunks;
+    private long rebuilds;
+    private long cacheHits;
+    private long cacheMisses;
+
+    private static final class ChunkGraph {
+        final int[] nodes;
+        final int[][] partners;
+        final int[] dist;
+        final Map<Long, PlayerToken.Move[]> segments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, PlayerToken.Move[]> eldest) {
+                return size() > SEGMENT_CACHE;
+            }
+        };
+
+        ChunkGraph(int[] nodes, int[][] partners, int[] dist) {
+            this.nodes = nodes;
+            this.partners = partners;
+            this.dist = dist;
+        }
+
+        int indexOf(int cell) {
+            return Arrays.binarySearch(nodes, cell);
+        }
+    }
+
+    public HierarchicalPathfinder(Board board, int chunkSize) {
+        this(board, chunkSize, NOT_PLAYER);
+    }
+
+    public HierarchicalPathfinder(Board board, int chunkSize, Predicate<Token> passable) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        this.passable = Objects.requireNonNull(passable, "Passability cannot be null");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.size = board.size();
+        this.chunkSize = chunkSize;
+        this.chunks = (size + chunkSize - 1) / chunkSize;
+        this.open = new BitSet(size * size);
+        this.east = new int[chunks * chunks][];
+        this.south = new int[chunks * chunks][];
+        this.graphs = new ChunkGraph[chunks * chunks];
+        this.dirtyBorders = new BitSet(2 * chunks * chunks);
+        this.dirtyChunks = new BitSet(chunks * chunks);
+        onCleared();
+        board.addCellListener(this);
+    }
+
+    @Override
+    public void onCellChanged(int col, int row, Token token) {
+        int cell = row * size + col;
+        boolean now = passable.test(token);
+        if (open.get(cell) == now) {
+            return;
+        }
+        open.set(cell, now);
+        int cx = col / chunkSize;
+        int cy = row / chunkSize;
+        int chunk = cy * chunks + cx;
+        dirtyChunks.set(chunk);
+        if (col % chunkSize == chunkSize - 1 && cx + 1 < chunks) dirtyBorders.set(2 * chunk);
+        if (col % chunkSize == 0 && cx > 0) dirtyBorders.set(2 * (chunk - 1));
+        if (row % chunkSize == chunkSize - 1 && cy + 1 < chunks) dirtyBorders.set(2 * chunk + 1);
+        if (row % chunkSize == 0 && cy > 0) dirtyBorders.set(2 * (chunk - chunks) + 1);
+    }
+
+    @Override
+    public void onCleared() {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                open.set(row * size + col, passable.test(board.peekToken(col, row)));
+            }
+        }
+        for (int chunk = 0; chunk < chunks * chunks; chunk++) {
+            if (chunk % chunks + 1 < chunks) dirtyBorders.set(2 * chunk);
+            if (chunk / chunks + 1 < chunks) dirtyBorders.set(2 * chunk + 1);
+        }
+        dirtyChunks.set(0, chunks * chunks);
+    }
+
+    @Override
+    public void close() {
+        board.removeCellListener(this);
+    }
+
+    public int chunkOf(int col, int row) {
+        return (row / chunkSize) * chunks + col / chunkSize;
+    }
+
+    public long rebuiltChunks() {
+        return rebuilds;
+    }
+
+    public long cacheHits() {
+        return cacheHits;
+    }
+
+    public long cacheMisses() {
+        return cacheMisses;
+    }
+
+    /** Returns a lazily refined path, or {@code null} when {@code to} cannot be reached. */
+    public Path findPath(long from, long to) {
+        if (!board.contains(from) || !board.contains(to)) {
+            throw new IllegalArgumentException("Position is outside the board");
+        }
+        rebuild();
+        int start = cellOf(from);
+        int goal = cellOf(to);
+        if (start == goal) {
+            return new Path(this, new int[] {start}, 0);
+        }
+        int sc = chunkOfCell(start);
+        int gc = chunkOfCell(goal);
+        if (sc == gc) {
+            int[] local = distances(sc, start, goal);
+            int d = local[localIndex(sc, goal)];
+            if (d >= 0) {
+                return new Path(this, new int[] {start, goal}, d);
+            }
+        }
+        return search(start, goal, sc, gc);
+    }
+
+    private Path search(int start, int goal, int sc, int gc) {
+        int[] fromStart = distances(sc, start, goal);
+        int[] toGoal = distances(gc, goal, start);
+        int goalKey = size * size;
+        Map<Integer, Integer> g = new HashMap<>();
+        Map<Integer, Integer> parent = new HashMap<>();
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+
+        ChunkGraph first = graphs[sc];
+        for (int node : first.nodes) {
+            int d = fromStart[localIndex(sc, node)];
+            if (d >= 0 && d < g.getOrDefault(node, Integer.MAX_VALUE)) {
+                g.put(node, d);
+                parent.put(node, -1);
+                queue.add(key(d + heuristic(node, goal), node));
+            }
+        }
+        while (!queue.isEmpty()) {
+            long entry = queue.poll();
+            int node = (int) entry;
+            if (node == goalKey) {
+                break;
+            }
+            int cost = g.get(node);
+            if ((int) (entry >>> 32) > cost + heuristic(node, goal)) {
+                continue;
+            }
+            int chunk = chunkOfCell(node);
+            ChunkGraph graph = graphs[chunk];
+            int i = graph.indexOf(node);
+            int n = graph.nodes.length;
+            for (int j = 0; j < n; j++) {
+                int d = graph.dist[i * n + j];
+                if (j != i && d >= 0) {
+                    relax(g, parent, queue, node, graph.nodes[j], cost + d, goal);
+                }
+            }
+            for (int partner : graph.partners[i]) {
+                relax(g, parent, queue, node, partner, cost + 1, goal);
+            }
+            if (chunk == gc) {
+                int d = toGoal[localIndex(gc, node)];
+                if (d >= 0 && cost + d < g.getOrDefault(goalKey, Integer.MAX_VALUE)) {
+                    g.put(goalKey, cost + d);
+                    parent.put(goalKey, node);
+                    queue.add(key(cost + d, goalKey));
+                }
+            }
+        }
+        Integer total = g.get(goalKey);
+        if (total == null) {
+            return null;
+        }
+        int length = 2;
+        for (int c = parent.get(goalKey); c != -1; c = parent.get(c)) {
+            length++;
+        }
+        int[] waypoints = new int[length];
+        waypoints[0] = start;
+        waypoints[length - 1] = goal;
+        int k = length - 2;
+        for (int c = parent.get(goalKey); c != -1; c = parent.get(c)) {
+            waypoints[k--] = c;
+        }
+        return new Path(this, waypoints, total);
+    }
+
+    private void relax(Map<Integer, Integer> g, Map<Integer, Integer> parent, PriorityQueue<Long> queue,
+                       int from, int to, int cost, int goal) {
+        if (cost < g.getOrDefault(to, Integer.MAX_VALUE)) {
+            g.put(to, cost);
+            parent.put(to, from);
+            queue.add(key(cost + heuristic(to, goal), to));
+        }
+    }
+
+    private static long key(int priority, int node) {
+        return ((long) priority << 32) | node;
+    }
+
+    private int heuristic(int cell, int goal) {
+        return Math.abs(cell % size - goal % size) + Math.abs(cell / size - goal / size);
+    }
+
+    /**
+     * Moves from {@code from} to {@code to}, which share a chunk or face each
+     * other across a border, or {@code null} if the section is now blocked.
+     */
+    PlayerToken.Move[] refine(int from, int to, boolean last) {
+        rebuild();
+        int chunk = chunkOfCell(from);
+        if (chunk != chunkOfCell(to)) {
+            for (int d = 0; d < 4; d++) {
+                if (from % size + DCOL[d] == to % size && from / size + DROW[d] == to / size) {
+                    return open.get(to) || last ? new PlayerToken.Move[] {MOVES[d]} : null;
+                }
+            }
+            throw new IllegalArgumentException("Waypoints are not adjacent");
+        }
+        ChunkGraph graph = graphs[chunk];
+        boolean cacheable = !last && graph.indexOf(from) >= 0 && graph.indexOf(to) >= 0;
+        long segmentKey = ((long) from << 32) | to;
+        if (cacheable) {
+            PlayerToken.Move[] cached = graph.segments.get(segmentKey);
+            if (cached != null) {
+                cacheHits++;
+                return cached;
+            }
+            cacheMisses++;
+        }
+        PlayerToken.Move[] moves = walk(chunk, from, to, last);
+        if (cacheable && moves != null) {
+            graph.segments.put(segmentKey, moves);
+        }
+        return moves;
+    }
+
+    private PlayerToken.Move[] walk(int chunk, int from, int to, boolean last) {
+        int x0 = (chunk % chunks) * chunkSize;
+        int y0 = (chunk / chunks) * chunkSize;
+        int w = Math.min(chunkSize, size - x0);
+        int h = Math.min(chunkSize, size - y0);
+        int[] via = new int[w * h];
+        Arrays.fill(via, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        via[localIndex(chunk, from)] = 4;
+        queue.add(from);
+        while (!queue.isEmpty() && via[localIndex(chunk, to)] < 0) {
+            int cell = queue.poll();
+            int col = cell % size;
+            int row = cell / size;
+            for (int d = 0; d < 4; d++) {
+                int c = col + DCOL[d];
+                int r = row + DROW[d];
+                if (c < x0 || c >= x0 + w || r < y0 || r >= y0 + h) continue;
+                int next = r * size + c;
+                int li = (r - y0) * w + (c - x0);
+                if (via[li] < 0 && (open.get(next) || last && next == to)) {
+                    via[li] = d;
+                    queue.add(next);
+                }
+            }
+        }
+        if (via[localIndex(chunk, to)] < 0) {
+            return null;
+        }
+        int steps = 0;
+        for (int cell = to; cell != from; steps++) {
+            int d = via[localIndex(chunk, cell)];
+            cell = (cell / size - DROW[d]) * size + cell % size - DCOL[d];
+        }
+        PlayerToken.Move[] moves = new PlayerToken.Move[steps];
+        for (int cell = to; cell != from; ) {
+            int d = via[localIndex(chunk, cell)];
+            moves[--steps] = MOVES[d];
+            cell = (cell / size - DROW[d]) * size + cell % size - DCOL[d];
+        }
+        return moves;
+    }
+
+    /** Walking distances inside {@code chunk} from {@code source}; {@code target} counts as passable. */
+    private int[] distances(int chunk, int source, int target) {
+        int x0 = (chunk % chunks) * chunkSize;
+        int y0 = (chunk / chunks) * chunkSize;
+        int w = Math.min(chunkSize, size - x0);
+        int h = Math.min(chunkSize, size - y0);
+        int[] dist = new int[w * h];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[w * h];
+        int head = 0;
+        int tail = 0;
+        dist[localIndex(chunk, source)] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int cell = queue[head++];
+            int col = cell % size;
+            int row = cell / size;
+            int d0 = dist[(row - y0) * w + (col - x0)];
+            for (int d = 0; d < 4; d++) {
+                int c = col + DCOL[d];
+                int r = row + DROW[d];
+                if (c < x0 || c >= x0 + w || r < y0 || r >= y0 + h) continue;
+                int next = r * size + c;
+                int li = (r - y0) * w + (c - x0);
+                if (dist[li] < 0 && (open.get(next) || next == target)) {
+                    dist[li] = d0 + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return dist;
+    }
+
+    private void rebuild() {
+        for (int b = dirtyBorders.nextSetBit(0); b >= 0; b = dirtyBorders.nextSetBit(b + 1)) {
+            int chunk = b / 2;
+            if (b % 2 == 0) {
+                east[chunk] = entrances(chunk, true);
+                dirtyChunks.set(chunk + 1);
+            } else {
+                south[chunk] = entrances(chunk, false);
+                dirtyChunks.set(chunk + chunks);
+            }
+            dirtyChunks.set(chunk);
+        }
+        dirtyBorders.clear();
+        for (int c = dirtyChunks.nextSetBit(0); c >= 0; c = dirtyChunks.nextSetBit(c + 1)) {
+            graphs[c] = buildGraph(c);
+            rebuilds++;
+        }
+        dirtyChunks.clear();
+    }
+
+    /** Entrance pairs (inside cell, outside cell) on the east or south border of a chunk. */
+    private int[] entrances(int chunk, boolean eastBorder) {
+        int x0 = (chunk % chunks) * chunkSize;
+        int y0 = (chunk / chunks) * chunkSize;
+        int length = Math.min(chunkSize, size - (eastBorder ? y0 : x0));
+        int[] pairs = new int[4 * length];
+        int n = 0;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean both = false;
+            if (i < length) {
+                int inside = eastBorder ? (y0 + i) * size + x0 + chunkSize - 1 : (y0 + chunkSize - 1) * size + x0 + i;
+                int outside = eastBorder ? inside + 1 : inside + size;
+                both = open.get(inside) && open.get(outside);
+            }
+            if (both && runStart < 0) {
+                runStart = i;
+            } else if (!both && runStart >= 0) {
+                int end = i - 1;
+                // long openings get an entrance at each end, short ones one in the middle
+                int[] picks = end - runStart + 1 >= 6 ? new int[] {runStart, end} : new int[] {(runStart + end) / 2};
+                for (int p : picks) {
+                    int inside = eastBorder ? (y0 + p) * size + x0 + chunkSize - 1 : (y0 + chunkSize - 1) * size + x0 + p;
+                    pairs[n++] = inside;
+                    pairs[n++] = eastBorder ? inside + 1 : inside + size;
+                }
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(pairs, n);
+    }
+
+    private ChunkGraph buildGraph(int chunk) {
+        Map<Integer, int[]> links = new HashMap<>();
+        int cx = chunk % chunks;
+        int cy = chunk / chunks;
+        collect(links, east[chunk], 0);
+        collect(links, south[chunk], 0);
+        if (cx > 0) collect(links, east[chunk - 1], 1);
+        if (cy > 0) collect(links, south[chunk - chunks], 1);
+
+        int[] nodes = links.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int n = nodes.length;
+        int[][] partners = new int[n][];
+        int[] dist = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            partners[i] = links.get(nodes[i]);
+            int[] local = distances(chunk, nodes[i], nodes[i]);
+            for (int j = 0; j < n; j++) {
+                dist[i * n + j] = local[localIndex(chunk, nodes[j])];
+            }
+        }
+        return new ChunkGraph(nodes, partners, dist);
+    }
+
+    private static void collect(Map<Integer, int[]> links, int[] pairs, int side) {
+        if (pairs == null) {
+            return;
+        }
+        for (int i = 0; i < pairs.length; i += 2) {
+            int node = pairs[i + side];
+            int partner = pairs[i + 1 - side];
+            links.merge(node, new int[] {partner}, (a, b) -> {
+                int[] merged = Arrays.copyOf(a, a.length + 1);
+                merged[a.length] = b[0];
+                return merged;
+            });
+        }
+    }
+
+    private int localIndex(int chunk, int cell) {
+        int x0 = (chunk % chunks) * chunkSize;
+        int y0 = (chunk / chunks) * chunkSize;
+        int w = Math.min(chunkSize, size - x0);
+        return (cell / size - y0) * w + (cell % size - x0);
+    }
+
+    private int chunkOfCell(int cell) {
+        return chunkOf(cell % size, cell / size);
+    }
+
+    private int cellOf(long pos) {
+        return PackedCoords.row(pos) * size + PackedCoords.col(pos);
+    }
+
+    long packed(int cell) {
+        return PackedCoords.pack(cell % size, cell / size);
+    }
+}
@@ -0,0 +1,78 @@
+package edu.io.path;
+
+import edu.io.token.PlayerToken;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coarse route from a {@link HierarchicalPathfinder} query. Sections between
+ * waypoints are only turned into moves when asked for, so a bot that
+ * re-plans after a few steps never pays for the rest of the route.
+ */
+public final class Path {
+    private final HierarchicalPathfinder finder;
+    private final int[] waypoints;
+    private final int estimate;
+    private int next = 1;
+
+    Path(HierarchicalPathfinder finder, int[] waypoints, int estimate) {
+        this.finder = finder;
+        this.waypoints = waypoints;
+        this.estimate = estimate;
+    }
+
+    public long from() {
+        return finder.packed(waypoints[0]);
+    }
+
+    public long to() {
+        return finder.packed(waypoints[waypoints.length - 1]);
+    }
+
+    /** Length in moves as planned on the abstract graph. */
+    public int estimate() {
+        return estimate;
+    }
+
+    public int waypoints() {
+        return waypoints.length;
+    }
+
+    public boolean hasNext() {
+        return next < waypoints.length;
+    }
+
+    /** Moves of the next section, or {@code null} if the board changed and it is now blocked. */
+    public PlayerToken.Move[] nextSection() {
+        if (!hasNext()) {
+            return new PlayerToken.Move[0];
+        }
+        PlayerToken.Move[] moves = finder.refine(waypoints[next - 1], waypoints[next], next == waypoints.length - 1);
+        if (moves != null) {
+            next++;
+        }
+        return moves;
+    }
+
+    /** Refines the remaining sections; {@code null} if one of them is blocked. */
+    public PlayerToken.Move[] remaining() {
+        List<PlayerToken.Move[]> sections = new ArrayList<>();
+        int total = 0;
+        while (hasNext()) {
+            PlayerToken.Move[] section = nextSection();
+            if (section == null) {
+                return null;
+            }
+            sections.add(section);
+            total += section.length;
+        }
+        PlayerToken.Move[] moves = new PlayerToken.Move[total];
+        int at = 0;
+        for (PlayerToken.Move[] section : sections) {
+            System.arraycopy(section, 0, moves, at, section.length);
+            at += section.length;
+        }
+        return moves;
+    }
+}
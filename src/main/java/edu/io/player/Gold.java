@@ -1,10 +1,19 @@
 package edu.io.player;
 
+import edu.io.event.GameEventBus;
+
+import java.util.Objects;
+
 public class Gold {
     private double amount;
+    private GameEventBus events;
 
     public Gold() {}
 
+    public Gold(GameEventBus events) {
+        this.events = Objects.requireNonNull(events, "Event bus cannot be null");
+    }
+
     public Gold(double amount) {
         if (amount >= 0) {
             this.amount = amount;
@@ -20,6 +29,9 @@ public class Gold {
     public void gain(double amount) {
         if (amount >= 0) {
             this.amount += amount;
+            if (events != null) {
+                events.publishGoldChanged(amount, this.amount);
+            }
         } else {
             throw new IllegalArgumentException("Gold amount must be greater than 0.");
         }
@@ -29,6 +41,9 @@ public class Gold {
         if (amount >= 0) {
             if (this.amount - amount >= 0) {
                 this.amount -= amount;
+                if (events != null) {
+                    events.publishGoldChanged(-amount, this.amount);
+                }
             } else {
                 throw new IllegalArgumentException("Gold amount must be greater than 0.");
             }
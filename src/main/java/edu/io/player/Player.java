@@ -1,5 +1,7 @@
 package edu.io.player;
 
+import edu.io.event.GameEventBus;
+import edu.io.interfaces.Consumable;
 import edu.io.interfaces.Repairable;
 import edu.io.interfaces.Tool;
 import edu.io.token.*;
@@ -8,9 +10,10 @@ import java.util.Objects;
 
 public class Player {
     private PlayerToken token;
-    public final Gold gold = new Gold();
+    public final GameEventBus events = new GameEventBus();
+    public final Gold gold = new Gold(events);
     public final Shed shed = new Shed();
-    public final Vitals vitals = new Vitals();
+    public final Vitals vitals = new Vitals(events);
 
     public PlayerToken token() {
         return token;
@@ -30,21 +33,23 @@ public class Player {
         if (token instanceof GoldToken goldToken) {
             Tool tool = shed.getTool();
             vitals.dehydrate(VitalsValues.DEHYDRATION_GOLD);
+            double mined = goldToken.mine();
 
             if (tool instanceof PickaxeToken pickaxeToken) {
                 pickaxeToken.useWith(goldToken)
                         .ifWorking(() -> {
-                            gold.gain(goldToken.amount() * pickaxeToken.gainFactor());
+                            gold.gain(mined * pickaxeToken.gainFactor());
                         })
                         .ifBroken(() -> {
-                            gold.gain(goldToken.amount());
+                            gold.gain(mined);
                             shed.dropTool();
+                            events.publishToolBroken(pickaxeToken);
                         })
                         .ifIdle(() -> {
-                            gold.gain(goldToken.amount());
+                            gold.gain(mined);
                         });
             } else {
-                gold.gain(goldToken.amount());
+                gold.gain(mined);
             }
         }
         else if (token instanceof PickaxeToken pickaxeToken) {
@@ -60,7 +65,15 @@ public class Player {
             vitals.dehydrate(VitalsValues.DEHYDRATION_MOVE);
         }
         else if (token instanceof WaterToken waterToken) {
-            vitals.hydrate(waterToken.amount());
+            vitals.hydrate(waterToken.drink(100 - vitals.hydration()));
         }
     }
+
+    /** Whether interacting with the resource again would still take something from it. */
+    public boolean canTake(Token token) {
+        if (token instanceof WaterToken waterToken) {
+            return !waterToken.isExhausted() && vitals.hydration() < 100;
+        }
+        return token instanceof Consumable resource && !resource.isExhausted();
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package edu.io.player;
 
 import edu.io.interfaces.Tool;
+import java.util.Collections;
+import java.util.List;
 import java.util.Stack;
 
 
@@ -31,6 +33,10 @@ public class Shed {
         }
     }
 
+    public List<Tool> tools() {
+        return Collections.unmodifiableList(tools);
+    }
+
     public void dropTool() {
         tools.pop();
     }
@@ -1,5 +1,6 @@
 package edu.io.player;
 
+import edu.io.event.GameEventBus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
@@ -7,10 +8,21 @@ import java.util.Objects;
 public class Vitals {
     private int hydration;
     private Runnable onDeathCallback;
+    private final GameEventBus events;
 
     public Vitals() {
+        this(new GameEventBus());
+    }
+
+    public Vitals(GameEventBus events) {
         hydration = 100;
         onDeathCallback = () -> {};
+        this.events = Objects.requireNonNull(events, "Event bus cannot be null");
+        events.onDeath(() -> onDeathCallback.run());
+    }
+
+    public GameEventBus events() {
+        return events;
     }
 
     public int hydration() {
@@ -19,10 +31,14 @@ public class Vitals {
 
     public void hydrate(int amount) {
         if (amount >= 0) {
+            int old = hydration;
             hydration += amount;
             if (hydration > 100) {
                 hydration = 100;
             }
+            if (hydration != old) {
+                events.publishHydrationChanged(old, hydration);
+            }
         } else  {
             throw new IllegalArgumentException("Hydration cannot be negative");
         }
@@ -30,10 +46,16 @@ public class Vitals {
 
     public void dehydrate(int amount) {
         if (amount >= 0) {
+            int old = hydration;
             hydration -= amount;
             if (hydration <= 0) {
                 hydration = 0;
-                onDeathCallback.run();
+            }
+            if (hydration != old) {
+                events.publishHydrationChanged(old, hydration);
+            }
+            if (hydration == 0) {
+                events.publishDeath();
             }
         } else {
             throw new IllegalArgumentException("Dehydration cannot be negative");
@@ -0,0 +1,106 @@
+package edu.io.rank;
+
+import edu.io.event.Subscription;
+import edu.io.player.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Gold ranking kept up to date from gold events, gains and losses alike.
+ * Standings sit in a skip list ordered by gold (highest first) then player
+ * id, so each change is an O(log n) remove and insert and top-K reads only
+ * the first K entries. A {@link RankIndex} over the same order answers
+ * {@link #rank} in O(log n).
+ */
+public class Leaderboard {
+    private static final Comparator<Standing> ORDER = Comparator
+            .comparingDouble(Standing::gold).reversed()
+            .thenComparingLong(Standing::playerId);
+
+    private final ConcurrentSkipListSet<Standing> index = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<Long, Standing> current = new ConcurrentHashMap<>();
+    private final RankIndex ranks = new RankIndex(ORDER);
+    private final ConcurrentHashMap<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    /** Follows the player's gold events until {@link #remove}; tracking an id again replaces the old player. */
+    public void track(long playerId, Player player) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        update(playerId, player.gold.amount());
+        // an event racing with remove() finds no standing and is dropped
+        Subscription subscription = player.events.onGoldChanged(
+                (change, total) -> current.computeIfPresent(playerId, (id, old) -> replace(id, old, total)));
+        Subscription previous = subscriptions.put(playerId, subscription);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public void update(long playerId, double gold) {
+        // compute() serializes updates per player, so the index never holds two
+        // standings for one id
+        current.compute(playerId, (id, old) -> replace(id, old, gold));
+    }
+
+    public void remove(long playerId) {
+        Subscription subscription = subscriptions.remove(playerId);
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        current.computeIfPresent(playerId, (id, old) -> {
+            index.remove(old);
+            ranks.remove(old);
+            return null;
+        });
+    }
+
+    private Standing replace(long id, Standing old, double gold) {
+        if (old != null) {
+            if (old.gold() == gold) {
+                return old;
+            }
+            index.remove(old);
+            ranks.remove(old);
+        }
+        Standing standing = new Standing(id, gold);
+        index.add(standing);
+        ranks.add(standing);
+        return standing;
+    }
+
+    public List<Standing> top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K cannot be negative");
+        }
+        List<Standing> result = new ArrayList<>(Math.min(k, 64));
+        for (Standing s : index) {
+            if (result.size() == k) {
+                break;
+            }
+            result.add(s);
+        }
+        return result;
+    }
+
+    /** 1-based rank, or -1 when the player is not tracked. */
+    public int rank(long playerId) {
+        Standing standing = current.get(playerId);
+        if (standing == null) {
+            return -1;
+        }
+        return ranks.countBefore(standing) + 1;
+    }
+
+    public double gold(long playerId) {
+        Standing standing = current.get(playerId);
+        return standing == null ? 0 : standing.gold();
+    }
+
+    public int size() {
+        return current.size();
+    }
+}
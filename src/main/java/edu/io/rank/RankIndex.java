@@ -0,0 +1,130 @@
+package edu.io.rank;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+/**
+ * Treap whose nodes count their subtree, so the number of standings ahead of
+ * any key is found on one root-to-leaf walk: O(log n) expected for insert,
+ * remove and rank. Guarded by its own monitor.
+ */
+final class RankIndex {
+    private static final class Node {
+        final Standing key;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(Standing key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<Standing> order;
+    private final SplittableRandom priorities = new SplittableRandom(0x5eed);
+    private Node root;
+
+    RankIndex(Comparator<Standing> order) {
+        this.order = order;
+    }
+
+    synchronized void add(Standing key) {
+        root = insert(root, new Node(key, priorities.nextInt()));
+    }
+
+    synchronized void remove(Standing key) {
+        root = delete(root, key);
+    }
+
+    /** Standings ordered strictly before {@code key}. */
+    synchronized int countBefore(Standing key) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (order.compare(key, node.key) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    private Node insert(Node node, Node item) {
+        if (node == null) {
+            return item;
+        }
+        if (item.priority > node.priority) {
+            Node[] parts = split(node, item.key);
+            item.left = parts[0];
+            item.right = parts[1];
+            return update(item);
+        }
+        if (order.compare(item.key, node.key) < 0) {
+            node.left = insert(node.left, item);
+        } else {
+            node.right = insert(node.right, item);
+        }
+        return update(node);
+    }
+
+    private Node delete(Node node, Standing key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = order.compare(key, node.key);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, key);
+        } else {
+            node.right = delete(node.right, key);
+        }
+        return update(node);
+    }
+
+    /** Keys before {@code key} and the rest. */
+    private Node[] split(Node node, Standing key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (order.compare(node.key, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,3 @@
+package edu.io.rank;
+
+public record Standing(long playerId, double gold) {}
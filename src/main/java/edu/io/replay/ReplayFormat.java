@@ -0,0 +1,131 @@
+package edu.io.replay;
+
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.session.PlayerCodec;
+import edu.io.storage.CellCodec;
+import edu.io.token.AnvilToken;
+import edu.io.token.EmptyToken;
+import edu.io.token.GoldToken;
+import edu.io.token.PickaxeToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.PyriteToken;
+import edu.io.token.Token;
+import edu.io.token.WaterToken;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Replay file layout:
+ * <pre>
+ * header  int magic, int version, int board size, int keyframe interval
+ * frame   byte kind, varint length, payload      (one per tick)
+ * index   long offset of every keyframe, int count, long index start, int magic
+ * </pre>
+ * A payload is {@code varint tick, varint players, (varint id, varint col,
+ * varint row, bytes state)*, varint cells, (varint index gap, cell)*}. A
+ * keyframe lists every player and every non-empty cell and starts from an
+ * empty board; a delta lists only what changed since the previous tick.
+ * Cell indexes are row-major and ascending, so gaps stay small. A player
+ * cell stores the id of the player whose token it shows, or 0 for an
+ * untracked one, since players can stand on stale squares of each other.
+ */
+final class ReplayFormat {
+    static final int MAGIC = 0x47524C50;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 * Integer.BYTES;
+    static final int FOOTER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    static final byte KEYFRAME = 1;
+    static final byte DELTA = 2;
+
+    private ReplayFormat() {}
+
+    static void putCell(VarintBuffer out, Token token, int playerId) {
+        int type = CellCodec.typeOf(token);
+        out.putVarint(type);
+        if (token instanceof PyriteToken) {
+            return;
+        }
+        if (token instanceof PlayerToken) {
+            out.putVarint(playerId + 1L);
+        } else if (token instanceof GoldToken gold) {
+            out.putLong(Double.doubleToLongBits(gold.amount()));
+            out.putLong(Double.doubleToLongBits(gold.perHit()));
+        } else if (token instanceof WaterToken water) {
+            out.putVarint(water.amount());
+        } else if (token instanceof PickaxeToken pickaxe) {
+            out.putLong(Double.doubleToLongBits(pickaxe.gainFactor()));
+            out.putVarint(pickaxe.durability());
+            out.putVarint(pickaxe.maxDurability());
+        }
+    }
+
+    static Token getCell(ByteBuffer in, Map<Integer, Player> players) {
+        switch ((int) getVarint(in)) {
+            case CellCodec.GOLD:
+                return new GoldToken(Double.longBitsToDouble(in.getLong()), Double.longBitsToDouble(in.getLong()));
+            case CellCodec.PYRITE:
+                return new PyriteToken();
+            case CellCodec.WATER:
+                return new WaterToken((int) getVarint(in));
+            case CellCodec.PICKAXE:
+                return new PickaxeToken(Double.longBitsToDouble(in.getLong()), (int) getVarint(in), (int) getVarint(in));
+            case CellCodec.ANVIL:
+                return new AnvilToken();
+            case CellCodec.PLAYER:
+                Player player = players.get((int) getVarint(in) - 1);
+                return player != null ? player.token() : new EmptyToken();
+            default:
+                return new EmptyToken();
+        }
+    }
+
+    static long getVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /** Applies one frame payload to {@code board} and {@code players}; returns its tick. */
+    static int apply(byte kind, ByteBuffer in, Board board, Map<Integer, Player> players) {
+        if (kind == KEYFRAME) {
+            board.clean();
+            players.clear();
+        }
+        int tick = (int) getVarint(in);
+        long count = getVarint(in);
+        for (long i = 0; i < count; i++) {
+            int id = (int) getVarint(in);
+            int col = (int) getVarint(in);
+            int row = (int) getVarint(in);
+            byte[] state = new byte[(int) getVarint(in)];
+            in.get(state);
+            Player player = PlayerCodec.decodeState(state);
+            // the token constructor places itself; the cell records decide what the square shows
+            Token under = board.peekToken(col, row);
+            player.assignToken(new PlayerToken(player, board, col, row));
+            board.placeToken(col, row, under);
+            Player previous = players.put(id, player);
+            if (previous != null) {
+                long pos = previous.token().packedPos();
+                if (board.peekToken(pos) == previous.token()) {
+                    board.placeToken(pos, player.token());
+                }
+            }
+        }
+        int size = board.size();
+        long cells = getVarint(in);
+        int index = -1;
+        for (long i = 0; i < cells; i++) {
+            index += (int) getVarint(in) + 1;
+            board.placeToken(index % size, index / size, getCell(in, players));
+        }
+        return tick;
+    }
+}
@@ -0,0 +1,158 @@
+package edu.io.replay;
+
+import edu.io.Board;
+import edu.io.player.Player;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Random access over a recording. {@link #seek(int)} restores the nearest
+ * keyframe at or before the tick and replays at most
+ * {@code keyframeInterval - 1} deltas; seeking forward inside the current
+ * keyframe span only replays the frames in between.
+ *
+ * <p>Frames are read through the channel at {@code long} offsets into a
+ * small window rather than mapping the file, so recordings past 2 GB open.
+ */
+public class ReplayReader implements AutoCloseable {
+    private static final int WINDOW_BYTES = 1 << 16;
+    /** Kind byte plus the longest varint a frame length can take. */
+    private static final int FRAME_HEAD_BYTES = 1 + 10;
+
+    private final FileChannel file;
+    private ByteBuffer window = ByteBuffer.allocate(WINDOW_BYTES).limit(0);
+    private long windowStart;
+    private final int keyframeInterval;
+    private final long[] keyframes;
+    private final int ticks;
+    private final Board board;
+    private final Map<Integer, Player> players = new HashMap<>();
+    private int tick = -1;
+    private long next;
+
+    public ReplayReader(Path path) {
+        Objects.requireNonNull(path, "Path cannot be null");
+        long size;
+        try {
+            file = FileChannel.open(path, StandardOpenOption.READ);
+            size = file.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (size < ReplayFormat.HEADER_BYTES + ReplayFormat.FOOTER_BYTES
+                || at(0, ReplayFormat.HEADER_BYTES).getInt() != ReplayFormat.MAGIC
+                || at(size - Integer.BYTES, Integer.BYTES).getInt() != ReplayFormat.MAGIC) {
+            close();
+            throw new IllegalArgumentException("Not a complete replay file");
+        }
+        ByteBuffer header = at(4, ReplayFormat.HEADER_BYTES - 4);
+        int version = header.getInt();
+        if (version != ReplayFormat.VERSION) {
+            close();
+            throw new IllegalArgumentException("Unsupported replay version " + version);
+        }
+        board = new Board(header.getInt());
+        keyframeInterval = header.getInt();
+        ByteBuffer footer = at(size - ReplayFormat.FOOTER_BYTES, ReplayFormat.FOOTER_BYTES);
+        int count = footer.getInt();
+        long indexStart = footer.getLong();
+        keyframes = new long[count];
+        ByteBuffer index = at(indexStart, count * Long.BYTES);
+        for (int i = 0; i < count; i++) {
+            keyframes[i] = index.getLong();
+        }
+        // frames run from the header to the index
+        int frames = 0;
+        for (long position = ReplayFormat.HEADER_BYTES; position < indexStart; frames++) {
+            ByteBuffer in = at(position, FRAME_HEAD_BYTES);
+            in.get();
+            long length = ReplayFormat.getVarint(in);
+            position = windowStart + in.position() + length;
+        }
+        ticks = frames;
+    }
+
+    /** Applies a frame received as a {@link Spectator}. */
+    public static int apply(ByteBuffer frame, Board board, Map<Integer, Player> players) {
+        ByteBuffer in = frame.duplicate();
+        return ReplayFormat.apply(in.get(), in, board, players);
+    }
+
+    public int ticks() {
+        return ticks;
+    }
+
+    public int tick() {
+        return tick;
+    }
+
+    public Board board() {
+        return board;
+    }
+
+    public Player player(int id) {
+        return players.get(id);
+    }
+
+    public int players() {
+        return players.size();
+    }
+
+    public void seek(int target) {
+        Objects.checkIndex(target, ticks);
+        if (target < tick || target / keyframeInterval != tick / keyframeInterval || tick < 0) {
+            next = keyframes[target / keyframeInterval];
+            tick = -1;
+        }
+        while (tick < target) {
+            ByteBuffer in = at(next, FRAME_HEAD_BYTES);
+            byte kind = in.get();
+            int length = (int) ReplayFormat.getVarint(in);
+            long body = windowStart + in.position();
+            ByteBuffer frame = at(body, length).slice().limit(length);
+            tick = ReplayFormat.apply(kind, frame, board, players);
+            next = body + length;
+        }
+    }
+
+    /**
+     * Returns the window positioned at {@code position}, refilling it from
+     * the channel unless it already holds {@code bytes} from there on. Near
+     * the end of the file fewer bytes may remain.
+     */
+    private ByteBuffer at(long position, int bytes) {
+        if (position < windowStart || position + bytes > windowStart + window.limit()) {
+            if (bytes > window.capacity()) {
+                window = ByteBuffer.allocate(bytes);
+            }
+            window.clear();
+            try {
+                while (window.hasRemaining() && file.read(window, position + window.position()) >= 0) {
+                    // keep filling until the window is full or the file ends
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            window.flip();
+            windowStart = position;
+        }
+        return window.position((int) (position - windowStart));
+    }
+
+    @Override
+    public void close() {
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package edu.io.replay;
+
+import edu.io.Board;
+import edu.io.CellListener;
+import edu.io.PackedCoords;
+import edu.io.player.Player;
+import edu.io.session.PlayerCodec;
+import edu.io.sim.StateHash;
+import edu.io.token.EmptyToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Records a board and its tracked players one frame per {@link #endTick()}.
+ * The first frame and every {@code keyframeInterval}-th after it is a
+ * keyframe; the rest are deltas. Each frame is encoded once, appended to the
+ * file and shared with every {@link Spectator}.
+ */
+public class ReplayRecorder implements CellListener, AutoCloseable {
+    private final Board board;
+    private final int size;
+    private final int keyframeInterval;
+    private final FileChannel file;
+    private final List<Player> players = new ArrayList<>();
+    private final Map<Player, Integer> ids = new IdentityHashMap<>();
+    private long[] playerHashes = new long[0];
+    private final long[] cellHashes;
+    private final BitSet dirty;
+    private final VarintBuffer out = new VarintBuffer();
+    private volatile Spectator[] spectators = new Spectator[0];
+    private final List<byte[]> sinceKeyframe = new ArrayList<>();
+    private long[] keyframes = new long[16];
+    private int keyframeCount;
+    private long position;
+    private int ticks;
+
+    public ReplayRecorder(Board board, Path path, int keyframeInterval) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        Objects.requireNonNull(path, "Path cannot be null");
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Keyframe interval must be positive");
+        }
+        this.size = board.size();
+        this.keyframeInterval = keyframeInterval;
+        this.cellHashes = new long[size * size];
+        this.dirty = new BitSet(size * size);
+        try {
+            file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer header = ByteBuffer.allocate(ReplayFormat.HEADER_BYTES)
+                    .putInt(ReplayFormat.MAGIC).putInt(ReplayFormat.VERSION).putInt(size).putInt(keyframeInterval)
+                    .flip();
+            write(header);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        board.addCellListener(this);
+    }
+
+    public int track(Player player) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        if (player.token() == null) {
+            throw new IllegalArgumentException("Player is not on the board");
+        }
+        ids.put(player, players.size());
+        players.add(player);
+        playerHashes = Arrays.copyOf(playerHashes, players.size());
+        // make sure the next frame carries the new player
+        playerHashes[players.size() - 1] = ~StateHash.player(players.size() - 1, player);
+        return players.size() - 1;
+    }
+
+    public synchronized void addSpectator(Spectator spectator) {
+        Objects.requireNonNull(spectator, "Spectator cannot be null");
+        // catch up from the last keyframe with the same shared frames
+        for (byte[] frame : sinceKeyframe) {
+            spectator.onFrame(ByteBuffer.wrap(frame).asReadOnlyBuffer());
+        }
+        Spectator[] copy = Arrays.copyOf(spectators, spectators.length + 1);
+        copy[spectators.length] = spectator;
+        spectators = copy;
+    }
+
+    public synchronized void removeSpectator(Spectator spectator) {
+        Spectator[] current = spectators;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == spectator) {
+                Spectator[] copy = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, i + 1, copy, i, current.length - i - 1);
+                spectators = copy;
+                return;
+            }
+        }
+    }
+
+    public int ticks() {
+        return ticks;
+    }
+
+    @Override
+    public void onCellChanged(int col, int row, Token token) {
+        dirty.set(row * size + col);
+    }
+
+    @Override
+    public void onCleared() {
+        dirty.set(0, size * size);
+    }
+
+    @Override
+    public void onRegionChanged(int col, int row, int width, int height) {
+        for (int r = row; r < row + height; r++) {
+            dirty.set(r * size + col, r * size + col + width);
+        }
+    }
+
+    /** Encodes the current state as the next frame and returns the shared bytes. */
+    public synchronized ByteBuffer endTick() {
+        boolean key = ticks % keyframeInterval == 0;
+        out.reset();
+        out.put(key ? ReplayFormat.KEYFRAME : ReplayFormat.DELTA);
+        out.putVarint(ticks);
+        writePlayers(key);
+        if (key) {
+            writeKeyCells();
+        } else {
+            writeDeltaCells();
+        }
+        dirty.clear();
+
+        byte[] frame = out.toByteArray();
+        if (key) {
+            if (keyframeCount == keyframes.length) {
+                keyframes = Arrays.copyOf(keyframes, keyframeCount * 2);
+            }
+            keyframes[keyframeCount++] = position;
+            sinceKeyframe.clear();
+        }
+        sinceKeyframe.add(frame);
+        ByteBuffer record = ByteBuffer.allocate(1 + 5 + frame.length - 1);
+        record.put(frame[0]);
+        putVarint(record, frame.length - 1);
+        record.put(frame, 1, frame.length - 1).flip();
+        write(record);
+        ticks++;
+
+        for (Spectator spectator : spectators) {
+            spectator.onFrame(ByteBuffer.wrap(frame).asReadOnlyBuffer());
+        }
+        return ByteBuffer.wrap(frame).asReadOnlyBuffer();
+    }
+
+    private void writeKeyCells() {
+        int count = 0;
+        for (int i = 0; i < size * size; i++) {
+            Token token = board.peekToken(i % size, i / size);
+            cellHashes[i] = hash(i, token);
+            if (!(token instanceof EmptyToken)) {
+                count++;
+            }
+        }
+        out.putVarint(count);
+        int last = -1;
+        for (int i = 0; i < size * size; i++) {
+            Token token = board.peekToken(i % size, i / size);
+            if (!(token instanceof EmptyToken)) {
+                out.putVarint(i - last - 1);
+                ReplayFormat.putCell(out, token, idOf(token));
+                last = i;
+            }
+        }
+    }
+
+    private void writeDeltaCells() {
+        int count = 0;
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            long h = hash(i, board.peekToken(i % size, i / size));
+            if (h == cellHashes[i]) {
+                dirty.clear(i);
+            } else {
+                cellHashes[i] = h;
+                count++;
+            }
+        }
+        out.putVarint(count);
+        int last = -1;
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            out.putVarint(i - last - 1);
+            Token token = board.peekToken(i % size, i / size);
+            ReplayFormat.putCell(out, token, idOf(token));
+            last = i;
+        }
+    }
+
+    private int idOf(Token token) {
+        if (token instanceof PlayerToken playerToken) {
+            Integer id = ids.get(playerToken.player());
+            // untracked players are written as id -1
+            return id != null ? id : -1;
+        }
+        return -1;
+    }
+
+    private long hash(int index, Token token) {
+        long h = StateHash.cell(index, token);
+        return token instanceof PlayerToken ? StateHash.mix(h ^ idOf(token)) : h;
+    }
+
+    private void writePlayers(boolean all) {
+        int count = 0;
+        long[] hashes = new long[players.size()];
+        for (int id = 0; id < players.size(); id++) {
+            hashes[id] = StateHash.player(id, players.get(id));
+            if (all || hashes[id] != playerHashes[id]) {
+                count++;
+            }
+        }
+        out.putVarint(count);
+        for (int id = 0; id < players.size(); id++) {
+            if (all || hashes[id] != playerHashes[id]) {
+                Player player = players.get(id);
+                out.putVarint(id);
+                out.putVarint(PackedCoords.col(player.token().packedPos()));
+                out.putVarint(PackedCoords.row(player.token().packedPos()));
+                out.putBytes(PlayerCodec.encodeState(player));
+            }
+        }
+        playerHashes = hashes;
+    }
+
+    private static void putVarint(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    private void write(ByteBuffer buf) {
+        try {
+            while (buf.hasRemaining()) {
+                position += file.write(buf);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        board.removeCellListener(this);
+        ByteBuffer index = ByteBuffer.allocate(keyframeCount * Long.BYTES + ReplayFormat.FOOTER_BYTES);
+        long indexStart = position;
+        for (int i = 0; i < keyframeCount; i++) {
+            index.putLong(keyframes[i]);
+        }
+        index.putInt(keyframeCount).putLong(indexStart).putInt(ReplayFormat.MAGIC).flip();
+        write(index);
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package edu.io.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives every encoded frame of a live recording. All spectators get
+ * read-only views of the same bytes, so a frame is encoded once however many
+ * are watching; decode it with {@link ReplayReader#apply}. Called on the
+ * recording thread, so slow consumers should hand the buffer off.
+ */
+@FunctionalInterface
+public interface Spectator {
+    void onFrame(ByteBuffer frame);
+}
@@ -0,0 +1,55 @@
+package edu.io.replay;
+
+import java.util.Arrays;
+
+/** Growable byte buffer with LEB128 varint writes. */
+final class VarintBuffer {
+    private byte[] buf = new byte[256];
+    private int size;
+
+    void reset() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, size);
+    }
+
+    void put(byte b) {
+        ensure(1);
+        buf[size++] = b;
+    }
+
+    void putVarint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buf[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[size++] = (byte) value;
+    }
+
+    void putLong(long value) {
+        ensure(Long.BYTES);
+        for (int i = 7; i >= 0; i--) {
+            buf[size++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    void putBytes(byte[] bytes) {
+        putVarint(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+        }
+    }
+}
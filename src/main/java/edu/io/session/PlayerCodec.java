@@ -0,0 +1,100 @@
+package edu.io.session;
+
+import edu.io.Board;
+import edu.io.interfaces.Tool;
+import edu.io.player.Player;
+import edu.io.token.PickaxeToken;
+import edu.io.token.PlayerToken;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Compact binary form of a {@link Player}: gold, hydration, position and the
+ * pickaxes in the shed, bottom of the stack first. The state form leaves out
+ * the position, for players that are not on a board yet.
+ */
+public final class PlayerCodec {
+    private static final int HEADER_BYTES = Double.BYTES + 4 * Integer.BYTES;
+    private static final int TOOL_BYTES = Double.BYTES + 2 * Integer.BYTES;
+
+    private PlayerCodec() {}
+
+    public static int size(Player player) {
+        int tools = 0;
+        for (Tool tool : player.shed.tools()) {
+            if (tool instanceof PickaxeToken) {
+                tools++;
+            }
+        }
+        return HEADER_BYTES + tools * TOOL_BYTES;
+    }
+
+    public static void encode(Player player, ByteBuffer buf) {
+        PlayerToken token = player.token();
+        buf.putDouble(player.gold.amount());
+        buf.putInt(player.vitals.hydration());
+        buf.putInt(token.pos().col());
+        buf.putInt(token.pos().row());
+        encodeTools(player, buf);
+    }
+
+    public static byte[] encodeState(Player player) {
+        ByteBuffer buf = ByteBuffer.allocate(size(player) - 2 * Integer.BYTES);
+        buf.putDouble(player.gold.amount());
+        buf.putInt(player.vitals.hydration());
+        encodeTools(player, buf);
+        return buf.array();
+    }
+
+    public static Player decodeState(byte[] state) {
+        ByteBuffer buf = ByteBuffer.wrap(state);
+        Player player = new Player();
+        player.gold.gain(buf.getDouble());
+        player.vitals.dehydrate(player.vitals.hydration() - buf.getInt());
+        decodeTools(player, buf);
+        return player;
+    }
+
+    private static void encodeTools(Player player, ByteBuffer buf) {
+        List<Tool> tools = player.shed.tools();
+        int countAt = buf.position();
+        buf.putInt(0);
+        int count = 0;
+        for (Tool tool : tools) {
+            if (tool instanceof PickaxeToken pickaxe) {
+                buf.putDouble(pickaxe.gainFactor());
+                buf.putInt(pickaxe.durability());
+                buf.putInt(pickaxe.maxDurability());
+                count++;
+            }
+        }
+        buf.putInt(countAt, count);
+    }
+
+    public static Player decode(ByteBuffer buf, Board board, int col, int row) {
+        Player player = new Player();
+        player.gold.gain(buf.getDouble());
+        player.vitals.dehydrate(player.vitals.hydration() - buf.getInt());
+        buf.getInt();
+        buf.getInt();
+        decodeTools(player, buf);
+        player.assignToken(new PlayerToken(player, board, col, row));
+        return player;
+    }
+
+    private static void decodeTools(Player player, ByteBuffer buf) {
+        int count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            player.shed.add(new PickaxeToken(buf.getDouble(), buf.getInt(), buf.getInt()));
+        }
+    }
+
+    public static int col(ByteBuffer buf) {
+        return buf.getInt(buf.position() + Double.BYTES + Integer.BYTES);
+    }
+
+    public static int row(ByteBuffer buf) {
+        return buf.getInt(buf.position() + Double.BYTES + 2 * Integer.BYTES);
+    }
+}
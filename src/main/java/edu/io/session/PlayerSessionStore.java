@@ -0,0 +1,182 @@
+package edu.io.session;
+
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.player.Player;
+import edu.io.token.IdlePlayerToken;
+import edu.io.token.PlayerToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Keeps at most {@code capacity} players in memory, least recently used first
+ * out. Evicted players are written to an append-only file and their square is
+ * held by an {@link IdlePlayerToken} until they are restored on next access.
+ * A restored player is a new instance with a fresh event bus, so callers
+ * should look players up by id rather than keep {@link Player} references,
+ * and re-attach anything bound to the old instance from a
+ * {@link RestoreListener}.
+ */
+public class PlayerSessionStore implements AutoCloseable {
+    private static final IdlePlayerToken IDLE = new IdlePlayerToken();
+
+    private final Board board;
+    private final int capacity;
+    private final FileChannel file;
+    private final LinkedHashMap<Long, Player> active;
+    private final Map<Long, long[]> spilled = new HashMap<>();
+    private final SessionStats stats = new SessionStats();
+    private final List<RestoreListener> restoreListeners = new ArrayList<>();
+    private ByteBuffer buf = ByteBuffer.allocate(256);
+    private long nextId;
+
+    public PlayerSessionStore(Board board, int capacity, Path file) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0.");
+        }
+        this.capacity = capacity;
+        this.active = new LinkedHashMap<>(16, 0.75f, true);
+        try {
+            this.file = FileChannel.open(Objects.requireNonNull(file, "File cannot be null"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized long join(Player player) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        if (player.token() == null) {
+            player.assignToken(new PlayerToken(player, board));
+        }
+        long id = nextId++;
+        active.put(id, player);
+        spillOverflow();
+        return id;
+    }
+
+    /** Called under the store's lock after each restore, before {@link #get} returns. */
+    public synchronized void addRestoreListener(RestoreListener listener) {
+        restoreListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    /** The player with this id; a spilled player is restored as a new instance. */
+    public synchronized Player get(long id) {
+        Player player = active.get(id);
+        if (player != null) {
+            stats.hit();
+            return player;
+        }
+        long[] location = spilled.remove(id);
+        if (location == null) {
+            throw new NoSuchElementException("No player with id " + id);
+        }
+        long start = System.nanoTime();
+        player = restore(location[0], (int) location[1]);
+        active.put(id, player);
+        spillOverflow();
+        stats.miss(System.nanoTime() - start);
+        for (RestoreListener l : restoreListeners) {
+            l.onRestored(id, player);
+        }
+        return player;
+    }
+
+    public synchronized void move(long id, PlayerToken.Move dir) {
+        get(id).token().move(dir);
+    }
+
+    public synchronized boolean isActive(long id) {
+        return active.containsKey(id);
+    }
+
+    public synchronized int activeCount() {
+        return active.size();
+    }
+
+    public synchronized int spilledCount() {
+        return spilled.size();
+    }
+
+    public SessionStats stats() {
+        return stats;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void spillOverflow() {
+        while (active.size() > capacity) {
+            Map.Entry<Long, Player> eldest = active.entrySet().iterator().next();
+            active.remove(eldest.getKey());
+            spill(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void spill(long id, Player player) {
+        int size = PlayerCodec.size(player);
+        if (buf.capacity() < size) {
+            buf = ByteBuffer.allocate(Math.max(size, buf.capacity() * 2));
+        }
+        buf.clear();
+        PlayerCodec.encode(player, buf);
+        buf.flip();
+        try {
+            long offset = file.size();
+            while (buf.hasRemaining()) {
+                file.write(buf, offset + buf.position());
+            }
+            spilled.put(id, new long[] {offset, size});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        PlayerToken token = player.token();
+        board.placeToken(token.pos().col(), token.pos().row(), IDLE);
+        stats.spill();
+    }
+
+    private Player restore(long offset, int size) {
+        if (buf.capacity() < size) {
+            buf = ByteBuffer.allocate(size);
+        }
+        buf.clear().limit(size);
+        try {
+            while (buf.hasRemaining()) {
+                if (file.read(buf, offset + buf.position()) < 0) {
+                    throw new IOException("Truncated session file");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buf.flip();
+        int col = PlayerCodec.col(buf);
+        int row = PlayerCodec.row(buf);
+        if (board.peekToken(col, row) != IDLE) {
+            long square = board.getAvailableSquarePacked();
+            col = PackedCoords.col(square);
+            row = PackedCoords.row(square);
+        }
+        return PlayerCodec.decode(buf, board, col, row);
+    }
+}
@@ -0,0 +1,13 @@
+package edu.io.session;
+
+import edu.io.player.Player;
+
+/**
+ * Told when a spilled session comes back as a new {@link Player}, so
+ * anything keyed by the old instance (leaderboard tracking, visibility
+ * views, event subscriptions) can re-attach to the new one.
+ */
+@FunctionalInterface
+public interface RestoreListener {
+    void onRestored(long id, Player player);
+}
@@ -0,0 +1,59 @@
+package edu.io.session;
+
+public class SessionStats {
+    private long hits;
+    private long misses;
+    private long spills;
+    private long restoreNanos;
+    private long maxRestoreNanos;
+
+    void hit() {
+        hits++;
+    }
+
+    void miss(long restoreNanos) {
+        misses++;
+        this.restoreNanos += restoreNanos;
+        maxRestoreNanos = Math.max(maxRestoreNanos, restoreNanos);
+    }
+
+    void spill() {
+        spills++;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public long spills() {
+        return spills;
+    }
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public double missRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) misses / total;
+    }
+
+    public double avgRestoreMicros() {
+        return misses == 0 ? 0 : restoreNanos / 1000.0 / misses;
+    }
+
+    public double maxRestoreMicros() {
+        return maxRestoreNanos / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d spills=%d hit-rate=%.3f restore avg=%.1fus max=%.1fus",
+                hits, misses, spills, hitRate(), avgRestoreMicros(), maxRestoreMicros());
+    }
+}
@@ -0,0 +1,258 @@
+package edu.io.shard;
+
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.player.Player;
+import edu.io.sim.MovePolicy;
+import edu.io.token.IdlePlayerToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits one board into a grid of rectangular regions, each simulated by its
+ * own worker. A tick has three phases: every worker chooses its residents'
+ * moves while the board is unchanged, so policies may read across borders;
+ * then every worker applies the moves that stay inside its region, reading
+ * and writing only its own cells; moves that cross a border are posted to the
+ * destination region's lock-free mailbox and applied last, in player id
+ * order, by a short single-threaded border phase. No move enters a cell
+ * holding a player.
+ * <p>
+ * The board's storage must {@linkplain Board#supportsDisjointWrites support
+ * disjoint writes}, and it must not have cell listeners or an event log that
+ * are unsafe to call from several threads.
+ */
+public class ShardedSimulation implements AutoCloseable {
+    private static final class Resident {
+        final int id;
+        final Player player;
+        final SplittableRandom rng;
+        PlayerToken.Move next;
+        int region;
+        int slot;
+
+        Resident(int id, Player player, SplittableRandom rng) {
+            this.id = id;
+            this.player = player;
+            this.rng = rng;
+        }
+    }
+
+    private record Handoff(Resident resident, PlayerToken.Move move) {}
+
+    private final Board board;
+    private final int shardCols;
+    private final int shardRows;
+    private final SplittableRandom root;
+    private final List<List<Resident>> regions = new ArrayList<>();
+    private final List<ConcurrentLinkedQueue<Handoff>> mailboxes = new ArrayList<>();
+    private final ExecutorService workers;
+    private final List<Handoff> border = new ArrayList<>();
+    private final List<Resident> players = new ArrayList<>();
+    private long handoffs;
+    private long ticks;
+
+    public ShardedSimulation(Board board, int shardCols, int shardRows, long seed) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        if (!board.supportsDisjointWrites()) {
+            throw new IllegalArgumentException("Board storage does not support concurrent writes to disjoint cells");
+        }
+        if (shardCols <= 0 || shardRows <= 0 || shardCols > board.size() || shardRows > board.size()) {
+            throw new IllegalArgumentException("Shard grid must be between 1 and the board size");
+        }
+        this.shardCols = shardCols;
+        this.shardRows = shardRows;
+        this.root = new SplittableRandom(seed);
+        for (int i = 0; i < shardCols * shardRows; i++) {
+            regions.add(new ArrayList<>());
+            mailboxes.add(new ConcurrentLinkedQueue<>());
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(regions.size(), r -> {
+            Thread t = new Thread(r, "shard-worker-" + threads.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public int join(Player player) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        if (player.token() == null) {
+            player.assignToken(new PlayerToken(player, board));
+        }
+        Resident resident = new Resident(players.size(), player, root.split());
+        players.add(resident);
+        long pos = player.token().packedPos();
+        add(resident, regionOf(PackedCoords.col(pos), PackedCoords.row(pos)));
+        return resident.id;
+    }
+
+    public int regionOf(int col, int row) {
+        int size = board.size();
+        return (int) ((long) row * shardRows / size) * shardCols + (int) ((long) col * shardCols / size);
+    }
+
+    public int regions() {
+        return regions.size();
+    }
+
+    public int residents(int region) {
+        return regions.get(region).size();
+    }
+
+    public int regionOfPlayer(int id) {
+        return players.get(id).region;
+    }
+
+    public long handoffs() {
+        return handoffs;
+    }
+
+    public long ticks() {
+        return ticks;
+    }
+
+    public void tick(MovePolicy policy) {
+        Objects.requireNonNull(policy, "Policy cannot be null");
+        List<Callable<Void>> decide = new ArrayList<>(regions.size());
+        List<Callable<Void>> move = new ArrayList<>(regions.size());
+        for (int r = 0; r < regions.size(); r++) {
+            int region = r;
+            decide.add(() -> {
+                decideRegion(region, policy);
+                return null;
+            });
+            move.add(() -> {
+                moveRegion(region);
+                return null;
+            });
+        }
+        runAll(decide);
+        runAll(move);
+        resolveBorders();
+        ticks++;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private void runAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> f : workers.invokeAll(tasks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tick interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Shard worker failed", e.getCause());
+        }
+    }
+
+    private void decideRegion(int region, MovePolicy policy) {
+        for (Resident resident : regions.get(region)) {
+            Player player = resident.player;
+            resident.next = player.vitals.isAlive()
+                    ? policy.choose(resident.id, player, board, resident.rng)
+                    : null;
+        }
+    }
+
+    private void moveRegion(int region) {
+        List<Resident> residents = regions.get(region);
+        for (int i = 0; i < residents.size(); i++) {
+            Resident resident = residents.get(i);
+            PlayerToken.Move move = resident.next;
+            if (move == null || move == PlayerToken.Move.NONE) {
+                continue;
+            }
+            Player player = resident.player;
+            long pos = player.token().packedPos();
+            int col = PackedCoords.col(pos) + dx(move);
+            int row = PackedCoords.row(pos) + dy(move);
+            if (!board.contains(col, row)) {
+                continue;
+            }
+            int target = regionOf(col, row);
+            if (target == region) {
+                apply(player, move);
+            } else {
+                mailboxes.get(target).offer(new Handoff(resident, move));
+            }
+        }
+    }
+
+    private void resolveBorders() {
+        border.clear();
+        for (ConcurrentLinkedQueue<Handoff> mailbox : mailboxes) {
+            Handoff h;
+            while ((h = mailbox.poll()) != null) {
+                border.add(h);
+            }
+        }
+        border.sort(Comparator.comparingInt(h -> h.resident().id));
+        for (Handoff h : border) {
+            Resident resident = h.resident();
+            apply(resident.player, h.move());
+            long pos = resident.player.token().packedPos();
+            int region = regionOf(PackedCoords.col(pos), PackedCoords.row(pos));
+            if (region != resident.region) {
+                remove(resident);
+                add(resident, region);
+                handoffs++;
+            }
+        }
+    }
+
+    private void apply(Player player, PlayerToken.Move move) {
+        long pos = player.token().packedPos();
+        Token target = board.peekToken(PackedCoords.col(pos) + dx(move), PackedCoords.row(pos) + dy(move));
+        if (target instanceof PlayerToken || target instanceof IdlePlayerToken) {
+            return;
+        }
+        try {
+            player.token().move(move);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // dead players and illegal moves stay where they are
+        }
+    }
+
+    private void add(Resident resident, int region) {
+        List<Resident> list = regions.get(region);
+        resident.region = region;
+        resident.slot = list.size();
+        list.add(resident);
+    }
+
+    private void remove(Resident resident) {
+        List<Resident> list = regions.get(resident.region);
+        Resident last = list.remove(list.size() - 1);
+        if (last != resident) {
+            list.set(resident.slot, last);
+            last.slot = resident.slot;
+        }
+    }
+
+    private static int dx(PlayerToken.Move move) {
+        return move == PlayerToken.Move.LEFT ? -1 : move == PlayerToken.Move.RIGHT ? 1 : 0;
+    }
+
+    private static int dy(PlayerToken.Move move) {
+        return move == PlayerToken.Move.UP ? -1 : move == PlayerToken.Move.DOWN ? 1 : 0;
+    }
+}
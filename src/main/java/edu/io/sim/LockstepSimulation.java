@@ -0,0 +1,148 @@
+package edu.io.sim;
+
+import edu.io.Board;
+import edu.io.CellListener;
+import edu.io.player.Player;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Reproducible simulation. Moves for a tick may be decided in parallel, but
+ * are applied in player id order, and every random draw comes from one seeded
+ * {@link SplittableRandom} split per player at join time. After each tick
+ * the state hash covers every board cell (kept incrementally) and every
+ * player's gold, vitals, shed and position.
+ */
+public class LockstepSimulation implements CellListener {
+    private final Board board;
+    private final SplittableRandom root;
+    private final List<Player> players = new ArrayList<>();
+    private final List<SplittableRandom> rngs = new ArrayList<>();
+    private PlayerToken.Move[] pending = new PlayerToken.Move[0];
+    private final long[] cellHashes;
+    private long boardHash;
+    private long[] history = new long[64];
+    private int ticks;
+
+    public LockstepSimulation(Board board, long seed) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        this.root = new SplittableRandom(seed);
+        this.cellHashes = new long[board.size() * board.size()];
+        onCleared();
+        board.addCellListener(this);
+    }
+
+    public synchronized int join(Player player) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        if (player.token() == null) {
+            player.assignToken(new PlayerToken(player, board));
+        }
+        players.add(player);
+        rngs.add(root.split());
+        pending = Arrays.copyOf(pending, players.size());
+        return players.size() - 1;
+    }
+
+    public synchronized void submit(int playerId, PlayerToken.Move move) {
+        pending[playerId] = Objects.requireNonNull(move, "Move cannot be null");
+    }
+
+    public long tick(MovePolicy policy) {
+        Objects.requireNonNull(policy, "Policy cannot be null");
+        PlayerToken.Move[] chosen = new PlayerToken.Move[players.size()];
+        IntStream.range(0, chosen.length).parallel().forEach(id -> {
+            Player player = players.get(id);
+            if (player.vitals.isAlive()) {
+                chosen[id] = policy.choose(id, player, board, rngs.get(id));
+            }
+        });
+        synchronized (this) {
+            for (int id = 0; id < chosen.length; id++) {
+                if (chosen[id] != null) {
+                    pending[id] = chosen[id];
+                }
+            }
+        }
+        return tick();
+    }
+
+    public synchronized long tick() {
+        for (int id = 0; id < players.size(); id++) {
+            PlayerToken.Move move = pending[id];
+            pending[id] = null;
+            Player player = players.get(id);
+            if (move == null || !player.vitals.isAlive()) {
+                continue;
+            }
+            try {
+                player.token().move(move);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // illegal moves are no-ops, in every run alike
+            }
+        }
+        long h = StateHash.mix(boardHash ^ ticks);
+        for (int id = 0; id < players.size(); id++) {
+            h = StateHash.mix(h ^ StateHash.player(id, players.get(id)));
+        }
+        if (ticks == history.length) {
+            history = Arrays.copyOf(history, ticks * 2);
+        }
+        history[ticks++] = h;
+        return h;
+    }
+
+    public int ticks() {
+        return ticks;
+    }
+
+    public long[] hashes() {
+        return Arrays.copyOf(history, ticks);
+    }
+
+    public long boardHash() {
+        return boardHash;
+    }
+
+    public Player player(int id) {
+        return players.get(id);
+    }
+
+    /** Index of the first tick whose hashes differ, or -1 if the common prefix matches. */
+    public static int firstDivergence(long[] a, long[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            if (a[i] != b[i]) {
+                return i;
+            }
+        }
+        return a.length == b.length ? -1 : n;
+    }
+
+    @Override
+    public void onCellChanged(int col, int row, Token token) {
+        int index = row * board.size() + col;
+        boardHash ^= cellHashes[index];
+        cellHashes[index] = StateHash.cell(index, token);
+        boardHash ^= cellHashes[index];
+    }
+
+    @Override
+    public void onCleared() {
+        boardHash = 0;
+        for (int row = 0; row < board.size(); row++) {
+            for (int col = 0; col < board.size(); col++) {
+                int index = row * board.size() + col;
+                cellHashes[index] = StateHash.cell(index, board.peekToken(col, row));
+                boardHash ^= cellHashes[index];
+            }
+        }
+    }
+
+}
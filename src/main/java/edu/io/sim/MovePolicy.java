@@ -0,0 +1,16 @@
+package edu.io.sim;
+
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.token.PlayerToken;
+
+import java.util.SplittableRandom;
+
+/**
+ * Chooses a player's move for the next tick. Called concurrently for
+ * different players, and must only read the board and draw from {@code rng}.
+ */
+@FunctionalInterface
+public interface MovePolicy {
+    PlayerToken.Move choose(int playerId, Player player, Board board, SplittableRandom rng);
+}
@@ -0,0 +1,43 @@
+package edu.io.sim;
+
+import edu.io.interfaces.Tool;
+import edu.io.player.Player;
+import edu.io.storage.CellCodec;
+import edu.io.token.*;
+
+/**
+ * 64-bit hashes of cells and players for desync detection. Cell hashes are
+ * combined with XOR so a single cell can be swapped in and out in O(1).
+ */
+public final class StateHash {
+    private StateHash() {}
+
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static long cell(long index, Token token) {
+        long h = CellCodec.typeOf(token);
+        if (token instanceof GoldToken gold) {
+            h = h * 31 + Double.doubleToLongBits(gold.amount());
+        } else if (token instanceof WaterToken water) {
+            h = h * 31 + water.amount();
+        } else if (token instanceof PickaxeToken pickaxe) {
+            h = h * 31 + pickaxe.durability();
+        }
+        return mix(mix(index) ^ h);
+    }
+
+    public static long player(int id, Player player) {
+        long h = mix(id + 1L);
+        h = mix(h ^ Double.doubleToLongBits(player.gold.amount()));
+        h = mix(h ^ player.vitals.hydration());
+        h = mix(h ^ player.token().packedPos());
+        for (Tool tool : player.shed.tools()) {
+            h = mix(h ^ (tool instanceof PickaxeToken pickaxe ? pickaxe.durability() + 1L : 0L));
+        }
+        return h;
+    }
+}
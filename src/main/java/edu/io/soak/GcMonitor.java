@@ -0,0 +1,96 @@
+package edu.io.soak;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects GC pauses from the collector MXBean notifications and reads the
+ * live set from the heap pools' after-collection usage. Concurrent cycles
+ * (ZGC and Shenandoah "Cycles", G1 "Concurrent GC") are counted apart from
+ * stop-the-world pauses.
+ */
+final class GcMonitor implements NotificationListener, AutoCloseable {
+    record Event(String name, boolean pause, double millis) {}
+
+    private final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<>();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+    GcMonitor() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    static String collectors() {
+        StringBuilder sb = new StringBuilder();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(gc.getName());
+        }
+        return sb.toString();
+    }
+
+    /** Heap in use after the most recent collection of each pool, or -1 before any. */
+    static long liveBytes() {
+        long live = 0;
+        boolean seen = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (usage != null && usage.getUsed() > 0) {
+                live += usage.getUsed();
+                seen = true;
+            }
+        }
+        return seen ? live : -1;
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        String name = info.getGcName();
+        boolean concurrent = name.contains("Cycles") || name.contains("Concurrent");
+        events.add(new Event(name + " (" + info.getGcCause() + ")", !concurrent, info.getGcInfo().getDuration()));
+    }
+
+    /** Removes and returns the events seen since the last drain. */
+    List<Event> drain() {
+        List<Event> out = new ArrayList<>();
+        for (Event e = events.poll(); e != null; e = events.poll()) {
+            out.add(e);
+        }
+        return out;
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // already gone
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.io.soak;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of nanosecond latencies: eight sub-buckets per power
+ * of two, so percentiles are within about 12%. Not thread-safe; each
+ * recording thread keeps its own.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+
+    private final long[] buckets = new long[64 * SUB];
+    private long count;
+    private long max;
+
+    void record(long nanos) {
+        buckets[bucket(nanos)]++;
+        count++;
+        max = Math.max(max, nanos);
+    }
+
+    void reset() {
+        Arrays.fill(buckets, 0);
+        count = 0;
+        max = 0;
+    }
+
+    long count() {
+        return count;
+    }
+
+    double maxMicros() {
+        return max / 1000.0;
+    }
+
+    double percentileMicros(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(count * percentile / 100.0), 1);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max) / 1000.0;
+            }
+        }
+        return max / 1000.0;
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < SUB) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB - 1);
+        return (exp - SUB_BITS + 1) * SUB + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB) {
+            return bucket;
+        }
+        int exp = bucket / SUB + SUB_BITS - 1;
+        int sub = bucket % SUB;
+        return (1L << exp) + ((long) (sub + 1) << (exp - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,108 @@
+package edu.io.soak;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs the same soak workload in one child JVM per collector and prints a
+ * side-by-side report: {@code SoakComparison [--collectors G1,Z,Parallel]
+ * [--heap 512m] <SoakRunner options>}. Children share this JVM's class path
+ * and get identical heap limits, so only the collector differs.
+ */
+public final class SoakComparison {
+    public record Result(String flag, SoakReport report) {}
+
+    private SoakComparison() {}
+
+    public static void main(String[] args) {
+        List<String> collectors = List.of("G1", "Z", "Parallel");
+        String heap = "512m";
+        List<String> rest = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--collectors") && i + 1 < args.length) {
+                collectors = Arrays.asList(args[++i].split(","));
+            } else if (args[i].equals("--heap") && i + 1 < args.length) {
+                heap = args[++i];
+            } else {
+                rest.add(args[i]);
+            }
+        }
+        // validate in the parent before starting any child
+        SoakConfig.parse(rest.toArray(new String[0]));
+        List<Result> results = new ArrayList<>();
+        for (String collector : collectors) {
+            System.err.println("soak: running -XX:+Use" + collector + "GC");
+            results.add(new Result(collector, runChild(collector, heap, rest)));
+        }
+        print(results, System.out);
+    }
+
+    public static SoakReport runChild(String collector, String heap, List<String> args) {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = new ArrayList<>(List.of(java, "-XX:+Use" + collector + "GC",
+                "-Xms" + heap, "-Xmx" + heap, "-cp", System.getProperty("java.class.path"),
+                SoakRunner.class.getName()));
+        List<String> childArgs = new ArrayList<>(args);
+        int jfr = childArgs.indexOf("--jfr");
+        if (jfr >= 0 && jfr + 1 < childArgs.size()) {
+            // one recording per collector
+            childArgs.set(jfr + 1, collector + "-" + childArgs.get(jfr + 1));
+        }
+        command.addAll(childArgs);
+        try {
+            Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            try (BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                SoakReport report = SoakReport.read(out);
+                if (process.waitFor() != 0) {
+                    throw new IllegalStateException("Soak child for " + collector + " exited with " + process.exitValue());
+                }
+                return report;
+            } catch (IOException e) {
+                process.destroyForcibly();
+                throw new IllegalStateException("Soak child for " + collector + " failed", e);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for soak child", e);
+        }
+    }
+
+    public static void print(List<Result> results, PrintStream out) {
+        out.println(String.format(Locale.ROOT, "%-10s %10s %9s %9s %10s %12s %9s %12s %12s %7s %10s %9s %7s",
+                "collector", "moves/s", "p50 us", "p99 us", "p99.9 us", "worst p99 us", "max us",
+                "alloc MB/s", "live MB", "pauses", "pause ms", "max ms", "cycles"));
+        for (Result r : results) {
+            SoakReport s = r.report();
+            out.println(String.format(Locale.ROOT, "%-10s %10.0f %9.1f %9.1f %10.1f %12.1f %9.0f %12.1f %12s %7d %10.1f %9.2f %7d",
+                    r.flag(), s.movesPerSecond(), s.p50Micros(), s.p99Micros(), s.p999Micros(),
+                    s.worstWindowP99Micros(), s.maxMicros(), s.allocationMBPerSecond(),
+                    mb(s.firstLiveBytes()) + "->" + mb(s.lastLiveBytes()), s.pauses(), s.pauseMillis(),
+                    s.maxPauseMillis(), s.concurrentCycles()));
+        }
+        out.println();
+        for (Result r : results) {
+            out.println(r.flag() + " (" + r.report().collectors() + ") p99 per window, us:");
+            StringBuilder sb = new StringBuilder("  ");
+            for (SoakWindow w : r.report().windows()) {
+                sb.append(String.format(Locale.ROOT, "%.0f ", w.p99Micros()));
+            }
+            out.println(sb.toString().stripTrailing());
+        }
+    }
+
+    private static String mb(long bytes) {
+        return bytes < 0 ? "?" : String.format(Locale.ROOT, "%.1f", bytes / 1e6);
+    }
+}
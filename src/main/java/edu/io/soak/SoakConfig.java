@@ -0,0 +1,71 @@
+package edu.io.soak;
+
+import java.time.Duration;
+
+/**
+ * Soak workload parameters, parsed from {@code --name value} pairs:
+ * {@code --duration 10m --players 500 --size 256 --window 5s --seed 1
+ * --storage heap|persistent --jfr soak.jfr}.
+ */
+public record SoakConfig(Duration duration, int players, int size, Duration window, long seed,
+                         boolean persistent, String jfr) {
+    public SoakConfig {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        if (players <= 0 || size <= 0 || players > size * size / 2) {
+            throw new IllegalArgumentException("Need a positive board with room for every player");
+        }
+    }
+
+    public static SoakConfig parse(String... args) {
+        Duration duration = Duration.ofMinutes(10);
+        Duration window = Duration.ofSeconds(5);
+        int players = 500;
+        int size = 256;
+        long seed = 1;
+        boolean persistent = false;
+        String jfr = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--duration" -> duration = duration(value);
+                case "--window" -> window = duration(value);
+                case "--players" -> players = Integer.parseInt(value);
+                case "--size" -> size = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--storage" -> persistent = switch (value) {
+                    case "heap" -> false;
+                    case "persistent" -> true;
+                    default -> throw new IllegalArgumentException("Unknown storage " + value);
+                };
+                case "--jfr" -> jfr = value;
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("Missing value for " + args[args.length - 1]);
+        }
+        return new SoakConfig(duration, players, size, window, seed, persistent, jfr);
+    }
+
+    /** {@code 500ms}, {@code 30s}, {@code 10m} or {@code 2h}. */
+    static Duration duration(String text) {
+        if (text.length() < 2) {
+            throw new IllegalArgumentException("Bad duration " + text);
+        }
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long n = Long.parseLong(text.substring(0, text.length() - 1));
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(n);
+            case 'm' -> Duration.ofMinutes(n);
+            case 'h' -> Duration.ofHours(n);
+            default -> throw new IllegalArgumentException("Bad duration " + text);
+        };
+    }
+}
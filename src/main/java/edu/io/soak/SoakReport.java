@@ -0,0 +1,97 @@
+package edu.io.soak;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Result of one soak run. Written as tab-separated lines so a parent
+ * process can read a child JVM's report back:
+ * <pre>
+ * collectors  &lt;names&gt;
+ * window      startMillis moves p50 p99 p999 max allocated live pauses pauseMillis maxPause
+ * total       windowMillis moves p50 p99 p999 max allocated pauses pauseMillis maxPause concurrentCycles
+ * </pre>
+ */
+public record SoakReport(String collectors, long windowMillis, List<SoakWindow> windows, long moves,
+                         double p50Micros, double p99Micros, double p999Micros, double maxMicros,
+                         long allocatedBytes, int pauses, double pauseMillis, double maxPauseMillis,
+                         int concurrentCycles) {
+    static final String PREFIX = "soak\t";
+
+    public double movesPerSecond() {
+        long millis = windows.size() * windowMillis;
+        return millis == 0 ? 0 : moves * 1000.0 / millis;
+    }
+
+    public double allocationMBPerSecond() {
+        long millis = windows.size() * windowMillis;
+        return millis == 0 ? 0 : allocatedBytes / 1e3 / millis;
+    }
+
+    /** Live set after the first and last collections seen; growth over the run is the difference. */
+    public long firstLiveBytes() {
+        for (SoakWindow w : windows) {
+            if (w.liveBytes() >= 0) {
+                return w.liveBytes();
+            }
+        }
+        return -1;
+    }
+
+    public long lastLiveBytes() {
+        return windows.isEmpty() ? -1 : windows.get(windows.size() - 1).liveBytes();
+    }
+
+    /** Worst per-window p99, which is where late-run spikes show. */
+    public double worstWindowP99Micros() {
+        double worst = 0;
+        for (SoakWindow w : windows) {
+            worst = Math.max(worst, w.p99Micros());
+        }
+        return worst;
+    }
+
+    public void write(PrintStream out) {
+        out.println(PREFIX + "collectors\t" + collectors);
+        for (SoakWindow w : windows) {
+            out.println(String.format(Locale.ROOT, PREFIX + "window\t%d\t%d\t%.3f\t%.3f\t%.3f\t%.3f\t%d\t%d\t%d\t%.3f\t%.3f",
+                    w.startMillis(), w.moves(), w.p50Micros(), w.p99Micros(), w.p999Micros(), w.maxMicros(),
+                    w.allocatedBytes(), w.liveBytes(), w.pauses(), w.pauseMillis(), w.maxPauseMillis()));
+        }
+        out.println(String.format(Locale.ROOT, PREFIX + "total\t%d\t%d\t%.3f\t%.3f\t%.3f\t%.3f\t%d\t%d\t%.3f\t%.3f\t%d",
+                windowMillis, moves, p50Micros, p99Micros, p999Micros, maxMicros, allocatedBytes, pauses,
+                pauseMillis, maxPauseMillis, concurrentCycles));
+        out.flush();
+    }
+
+    /** Reads the report lines out of a child's output, skipping anything else it printed. */
+    public static SoakReport read(BufferedReader in) throws IOException {
+        String collectors = null;
+        List<SoakWindow> windows = new ArrayList<>();
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            if (!line.startsWith(PREFIX)) {
+                continue;
+            }
+            String[] f = line.split("\t");
+            switch (f[1]) {
+                case "collectors" -> collectors = f.length > 2 ? f[2] : "";
+                case "window" -> windows.add(new SoakWindow(Long.parseLong(f[2]), Long.parseLong(f[3]),
+                        Double.parseDouble(f[4]), Double.parseDouble(f[5]), Double.parseDouble(f[6]),
+                        Double.parseDouble(f[7]), Long.parseLong(f[8]), Long.parseLong(f[9]),
+                        Integer.parseInt(f[10]), Double.parseDouble(f[11]), Double.parseDouble(f[12])));
+                case "total" -> {
+                    return new SoakReport(collectors, Long.parseLong(f[2]), windows, Long.parseLong(f[3]),
+                            Double.parseDouble(f[4]), Double.parseDouble(f[5]), Double.parseDouble(f[6]),
+                            Double.parseDouble(f[7]), Long.parseLong(f[8]), Integer.parseInt(f[9]),
+                            Double.parseDouble(f[10]), Double.parseDouble(f[11]), Integer.parseInt(f[12]));
+                }
+                default -> throw new IOException("Unknown soak line: " + line);
+            }
+        }
+        throw new IOException("Soak report ended without a total");
+    }
+}
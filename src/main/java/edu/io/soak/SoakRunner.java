@@ -0,0 +1,199 @@
+package edu.io.soak;
+
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.player.Player;
+import edu.io.token.EmptyToken;
+import edu.io.token.GoldToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.WaterToken;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Long-running multi-player workload for watching latency and GC behavior
+ * over time: {@code SoakRunner --duration 2h --players 500 ...}. Every step
+ * moves a random player through {@link PlayerToken#move}, so each move goes
+ * through {@link Player#interactWithToken}; dead players are replaced and
+ * mined-out gold and water are reseeded, so the load stays steady for hours.
+ * <p>
+ * The loop runs on the calling thread, so that thread's allocation counter
+ * is the workload's allocation. With {@code --jfr} a JFR recording with the
+ * default settings is dumped at the end for pause-level detail.
+ */
+public class SoakRunner {
+    private static final int RESEED_EVERY = 8;
+
+    private final SoakConfig config;
+    private final Board board;
+    private final Player[] players;
+    private final SplittableRandom rng;
+
+    public SoakRunner(SoakConfig config) {
+        this.config = Objects.requireNonNull(config, "Config cannot be null");
+        this.board = config.persistent() ? Board.persistent(config.size()) : new Board(config.size());
+        this.rng = new SplittableRandom(config.seed());
+        for (int i = 0; i < config.size() * config.size() / 10; i++) {
+            reseed();
+        }
+        this.players = new Player[config.players()];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = spawn();
+        }
+    }
+
+    public static void main(String[] args) {
+        new SoakRunner(SoakConfig.parse(args)).run().write(System.out);
+    }
+
+    public SoakReport run() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long windowNanos = config.window().toNanos();
+        long end = System.nanoTime() + config.duration().toNanos();
+        LatencyHistogram window = new LatencyHistogram();
+        LatencyHistogram total = new LatencyHistogram();
+        List<SoakWindow> windows = new ArrayList<>();
+        PlayerToken.Move[] moves = PlayerToken.Move.values();
+        long allocatedTotal = 0;
+        int pauses = 0;
+        int cycles = 0;
+        double pauseMillis = 0;
+        double maxPause = 0;
+
+        Recording recording = startRecording();
+        try (GcMonitor gc = new GcMonitor()) {
+            long start = System.nanoTime();
+            long windowStart = start;
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            long step = 0;
+            while (windowStart < end) {
+                long windowEnd = Math.min(windowStart + windowNanos, end);
+                long now = System.nanoTime();
+                while (now < windowEnd) {
+                    Player player = players[rng.nextInt(players.length)];
+                    PlayerToken.Move move = moves[1 + rng.nextInt(4)];
+                    // time the move alone; respawns and reseeding below are harness work
+                    long before = System.nanoTime();
+                    try {
+                        player.token().move(move);
+                    } catch (IllegalArgumentException e) {
+                        // off the board; still a measured move attempt
+                    }
+                    long after = System.nanoTime();
+                    window.record(after - before);
+                    total.record(after - before);
+                    now = after;
+                    if (!player.vitals.isAlive()) {
+                        replace(player);
+                    }
+                    if (++step % RESEED_EVERY == 0) {
+                        reseed();
+                    }
+                }
+                long allocatedNow = threads.getCurrentThreadAllocatedBytes();
+                int windowPauses = 0;
+                double windowPauseMillis = 0;
+                double windowMaxPause = 0;
+                for (GcMonitor.Event e : gc.drain()) {
+                    if (e.pause()) {
+                        windowPauses++;
+                        windowPauseMillis += e.millis();
+                        windowMaxPause = Math.max(windowMaxPause, e.millis());
+                    } else {
+                        cycles++;
+                    }
+                }
+                windows.add(new SoakWindow((windowStart - start) / 1_000_000, window.count(),
+                        window.percentileMicros(50), window.percentileMicros(99), window.percentileMicros(99.9),
+                        window.maxMicros(), allocatedNow - allocated, GcMonitor.liveBytes(), windowPauses,
+                        windowPauseMillis, windowMaxPause));
+                allocatedTotal += allocatedNow - allocated;
+                pauses += windowPauses;
+                pauseMillis += windowPauseMillis;
+                maxPause = Math.max(maxPause, windowMaxPause);
+                allocated = allocatedNow;
+                window.reset();
+                windowStart = windowEnd;
+            }
+        } finally {
+            stopRecording(recording);
+        }
+        return new SoakReport(GcMonitor.collectors(), config.window().toMillis(), windows, total.count(),
+                total.percentileMicros(50), total.percentileMicros(99), total.percentileMicros(99.9),
+                total.maxMicros(), allocatedTotal, pauses, pauseMillis, maxPause, cycles);
+    }
+
+    private Player spawn() {
+        Player player = new Player();
+        long square = freeSquare();
+        player.assignToken(new PlayerToken(player, board, PackedCoords.col(square), PackedCoords.row(square)));
+        return player;
+    }
+
+    private void replace(Player dead) {
+        long pos = dead.token().packedPos();
+        board.removeToken(PackedCoords.col(pos), PackedCoords.row(pos), dead.token());
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == dead) {
+                players[i] = spawn();
+                return;
+            }
+        }
+    }
+
+    private void reseed() {
+        int col = rng.nextInt(board.size());
+        int row = rng.nextInt(board.size());
+        if (board.peekToken(col, row) instanceof EmptyToken) {
+            board.placeToken(col, row, rng.nextBoolean() ? new GoldToken(3.0, 1.0) : new WaterToken(30));
+        }
+    }
+
+    private long freeSquare() {
+        while (true) {
+            int col = rng.nextInt(board.size());
+            int row = rng.nextInt(board.size());
+            if (board.peekToken(col, row) instanceof EmptyToken) {
+                return PackedCoords.pack(col, row);
+            }
+        }
+    }
+
+    private Recording startRecording() {
+        if (config.jfr() == null) {
+            return null;
+        }
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setToDisk(true);
+            recording.start();
+            return recording;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot start JFR recording", e);
+        }
+    }
+
+    private void stopRecording(Recording recording) {
+        if (recording == null) {
+            return;
+        }
+        try {
+            recording.stop();
+            recording.dump(Path.of(config.jfr()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            recording.close();
+        }
+    }
+}
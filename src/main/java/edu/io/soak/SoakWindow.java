@@ -0,0 +1,14 @@
+package edu.io.soak;
+
+/**
+ * One reporting interval of a soak run. Latencies are per move in
+ * microseconds; {@code liveBytes} is heap in use right after the last
+ * collection, -1 before the first one.
+ */
+public record SoakWindow(long startMillis, long moves, double p50Micros, double p99Micros, double p999Micros,
+                         double maxMicros, long allocatedBytes, long liveBytes, int pauses, double pauseMillis,
+                         double maxPauseMillis) {
+    public double allocationMBPerSecond(long windowMillis) {
+        return allocatedBytes / 1e6 / (windowMillis / 1000.0);
+    }
+}
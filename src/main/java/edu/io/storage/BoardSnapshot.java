@@ -0,0 +1,34 @@
+package edu.io.storage;
+
+import edu.io.token.Token;
+
+/**
+ * Immutable view of a {@link PersistentBoardStorage} at the time it was
+ * taken. Safe to share between threads.
+ */
+public final class BoardSnapshot {
+    final PersistentBoardStorage.Node root;
+    private final int size;
+    private final int shift;
+
+    BoardSnapshot(PersistentBoardStorage.Node root, int size, int shift) {
+        this.root = root;
+        this.size = size;
+        this.shift = shift;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int shift() {
+        return shift;
+    }
+
+    public Token peekToken(int col, int row) {
+        if (col >= 0 && col < size && row >= 0 && row < size) {
+            return PersistentBoardStorage.get(root, shift, row * size + col);
+        }
+        return null;
+    }
+}
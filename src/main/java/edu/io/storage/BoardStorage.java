@@ -0,0 +1,95 @@
+package edu.io.storage;
+
+import edu.io.token.Token;
+
+/**
+ * Cell storage behind {@link edu.io.Board}. Coordinates are already bounds
+ * checked by the board, regions included.
+ * <p>
+ * The region methods default to per-cell loops; backends override them with
+ * bulk copies and scans over their own layout. Reads ({@code get},
+ * {@code typeAt}, counts) never write, so any number of threads may read
+ * while nobody writes.
+ */
+public interface BoardStorage {
+    public int size();
+    public Token get(int col, int row);
+    public void set(int col, int row, Token token);
+    public void fill(Token token);
+    public default void sync() {}
+
+    /** Whether different threads may write disjoint cells at once without locking. */
+    public default boolean supportsDisjointWrites() {
+        return false;
+    }
+
+    public default void fill(int col, int row, int width, int height, Token token) {
+        for (int r = row; r < row + height; r++) {
+            for (int c = col; c < col + width; c++) {
+                set(c, r, token);
+            }
+        }
+    }
+
+    /** Copies a region of {@code source}; overlapping copies within one storage are safe. */
+    public default void copy(BoardStorage source, int srcCol, int srcRow, int col, int row, int width, int height) {
+        // walk away from the overlap, like System.arraycopy
+        boolean up = source == this && (srcRow < row || srcRow == row && srcCol < col);
+        for (int i = 0; i < height; i++) {
+            int r = up ? height - 1 - i : i;
+            for (int j = 0; j < width; j++) {
+                int c = up ? width - 1 - j : j;
+                set(col + c, row + r, source.get(srcCol + c, srcRow + r));
+            }
+        }
+    }
+
+    /** The cell's token, safe to change in place; backends that share tokens between versions copy it first. */
+    public default Token getForUpdate(int col, int row) {
+        return get(col, row);
+    }
+
+    /**
+     * Sets the cell to {@code token} if it still {@linkplain #holds holds}
+     * {@code expected}. Atomic on storage that supports disjoint writes; the
+     * board serializes callers on the rest.
+     */
+    public default boolean replace(int col, int row, Token expected, Token token) {
+        if (!holds(col, row, expected)) {
+            return false;
+        }
+        set(col, row, token);
+        return true;
+    }
+
+    /** Whether the cell still holds {@code expected}, for compare-and-replace. */
+    public default boolean holds(int col, int row, Token expected) {
+        return get(col, row) == expected;
+    }
+
+    /** The {@link CellCodec} type of a cell; backends that store types answer without touching the token. */
+    public default int typeAt(int col, int row) {
+        return CellCodec.typeOf(get(col, row));
+    }
+
+    /** Adds the number of cells of each {@link CellCodec} type in the region to {@code counts}. */
+    public default void countByType(int col, int row, int width, int height, int[] counts) {
+        for (int r = row; r < row + height; r++) {
+            for (int c = col; c < col + width; c++) {
+                counts[CellCodec.typeOf(get(c, r))]++;
+            }
+        }
+    }
+
+    public default int count(int col, int row, int width, int height, int type) {
+        int n = 0;
+        for (int r = row; r < row + height; r++) {
+            for (int c = col; c < col + width; c++) {
+                if (CellCodec.typeOf(get(c, r)) == type) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+}
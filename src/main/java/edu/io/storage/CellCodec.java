@@ -0,0 +1,92 @@
+package edu.io.storage;
+
+import edu.io.token.*;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size binary cell: {@code int type, int aux, double value, double extra}.
+ * Player tokens cannot be encoded and are written as {@link #PLAYER} markers.
+ */
+public final class CellCodec {
+    public static final int CELL_BYTES = 24;
+
+    public static final int EMPTY = 0;
+    public static final int GOLD = 1;
+    public static final int PYRITE = 2;
+    public static final int PICKAXE = 3;
+    public static final int ANVIL = 4;
+    public static final int WATER = 5;
+    public static final int PLAYER = 6;
+
+    private static final EmptyToken SHARED_EMPTY = new EmptyToken();
+    private static final AnvilToken SHARED_ANVIL = new AnvilToken();
+    private static final PyriteToken SHARED_PYRITE = new PyriteToken();
+
+    private CellCodec() {}
+
+    public static int typeOf(Token token) {
+        if (token instanceof EmptyToken) return EMPTY;
+        if (token instanceof PyriteToken) return PYRITE;
+        if (token instanceof GoldToken) return GOLD;
+        if (token instanceof PickaxeToken) return PICKAXE;
+        if (token instanceof AnvilToken) return ANVIL;
+        if (token instanceof WaterToken) return WATER;
+        return PLAYER;
+    }
+
+    public static boolean isStateless(int type) {
+        return type == EMPTY || type == ANVIL || type == PYRITE;
+    }
+
+    /** Shared instance for stateless types, a fresh copy for tokens with state; players cannot be copied. */
+    public static Token copy(Token token) {
+        if (token instanceof EmptyToken) return SHARED_EMPTY;
+        if (token instanceof AnvilToken) return SHARED_ANVIL;
+        if (token instanceof PyriteToken) return SHARED_PYRITE;
+        if (token instanceof GoldToken gold) return new GoldToken(gold.amount(), gold.perHit());
+        if (token instanceof WaterToken water) return new WaterToken(water.amount());
+        if (token instanceof PickaxeToken pickaxe) {
+            return new PickaxeToken(pickaxe.gainFactor(), pickaxe.durability(), pickaxe.maxDurability());
+        }
+        throw new IllegalArgumentException("Cannot copy " + token.getClass().getSimpleName());
+    }
+
+    public static void encode(Token token, ByteBuffer buf, int at) {
+        int type = typeOf(token);
+        int aux = 0;
+        double value = 0;
+        double extra = 0;
+        if (token instanceof PyriteToken) {
+            // no state
+        } else if (token instanceof GoldToken gold) {
+            value = gold.amount();
+            extra = gold.perHit();
+        } else if (token instanceof PickaxeToken pickaxe) {
+            if (pickaxe.maxDurability() > 0xFFFF) {
+                throw new IllegalArgumentException("Durability too large for an off-heap cell");
+            }
+            aux = pickaxe.durability() << 16 | pickaxe.maxDurability();
+            value = pickaxe.gainFactor();
+        } else if (token instanceof WaterToken water) {
+            aux = water.amount();
+        }
+        buf.putInt(at, type);
+        buf.putInt(at + 4, aux);
+        buf.putDouble(at + 8, value);
+        buf.putDouble(at + 16, extra);
+    }
+
+    public static Token decode(ByteBuffer buf, int at) {
+        int aux = buf.getInt(at + 4);
+        double value = buf.getDouble(at + 8);
+        switch (buf.getInt(at)) {
+            case GOLD: return new GoldToken(value, buf.getDouble(at + 16));
+            case PYRITE: return SHARED_PYRITE;
+            case PICKAXE: return new PickaxeToken(value, aux >>> 16, aux & 0xFFFF);
+            case ANVIL: return SHARED_ANVIL;
+            case WATER: return new WaterToken(aux);
+            default: return SHARED_EMPTY;
+        }
+    }
+}
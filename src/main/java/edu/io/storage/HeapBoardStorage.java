@@ -0,0 +1,124 @@
+package edu.io.storage;
+
+import edu.io.token.Token;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Token references in row arrays, plus one {@link CellCodec} type byte per
+ * cell so region counts scan primitive rows instead of chasing references.
+ * Single-type counts compare eight cells per {@code long} read.
+ */
+public class HeapBoardStorage implements BoardStorage {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle TOKENS = MethodHandles.arrayElementVarHandle(Token[].class);
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    private static final long ONES = 0x0101010101010101L;
+
+    private final Token[][] grid;
+    private final byte[][] types;
+
+    public HeapBoardStorage(int size) {
+        this.grid = new Token[size][size];
+        this.types = new byte[size][size];
+    }
+
+    @Override
+    public int size() {
+        return grid.length;
+    }
+
+    @Override
+    public Token get(int col, int row) {
+        return grid[row][col];
+    }
+
+    @Override
+    public void set(int col, int row, Token token) {
+        grid[row][col] = token;
+        types[row][col] = (byte) CellCodec.typeOf(token);
+    }
+
+    @Override
+    public boolean replace(int col, int row, Token expected, Token token) {
+        if (!TOKENS.compareAndSet(grid[row], col, expected, token)) {
+            return false;
+        }
+        types[row][col] = (byte) CellCodec.typeOf(token);
+        return true;
+    }
+
+    @Override
+    public boolean supportsDisjointWrites() {
+        // one array element per cell, and the JLS forbids word tearing
+        return true;
+    }
+
+    @Override
+    public int typeAt(int col, int row) {
+        return types[row][col];
+    }
+
+    @Override
+    public void fill(Token token) {
+        fill(0, 0, grid.length, grid.length, token);
+    }
+
+    @Override
+    public void fill(int col, int row, int width, int height, Token token) {
+        byte type = (byte) CellCodec.typeOf(token);
+        for (int r = row; r < row + height; r++) {
+            Arrays.fill(grid[r], col, col + width, token);
+            Arrays.fill(types[r], col, col + width, type);
+        }
+    }
+
+    @Override
+    public void copy(BoardStorage source, int srcCol, int srcRow, int col, int row, int width, int height) {
+        if (!(source instanceof HeapBoardStorage heap)) {
+            BoardStorage.super.copy(source, srcCol, srcRow, col, row, width, height);
+            return;
+        }
+        // System.arraycopy handles overlap within a row; rows go bottom-up when moving down
+        boolean up = heap == this && srcRow < row;
+        for (int i = 0; i < height; i++) {
+            int r = up ? height - 1 - i : i;
+            System.arraycopy(heap.grid[srcRow + r], srcCol, grid[row + r], col, width);
+            System.arraycopy(heap.types[srcRow + r], srcCol, types[row + r], col, width);
+        }
+    }
+
+    @Override
+    public void countByType(int col, int row, int width, int height, int[] counts) {
+        for (int r = row; r < row + height; r++) {
+            byte[] line = types[r];
+            for (int c = col; c < col + width; c++) {
+                counts[line[c]]++;
+            }
+        }
+    }
+
+    @Override
+    public int count(int col, int row, int width, int height, int type) {
+        long pattern = (type & 0xFF) * ONES;
+        int n = 0;
+        for (int r = row; r < row + height; r++) {
+            byte[] line = types[r];
+            int c = col;
+            for (int end = col + width - Long.BYTES; c <= end; c += Long.BYTES) {
+                // a byte of x is zero exactly where the cell matches; set its high bit
+                long x = (long) LONGS.get(line, c) ^ pattern;
+                n += Long.bitCount(~(((x & LOW7) + LOW7) | x | LOW7));
+            }
+            for (; c < col + width; c++) {
+                if (line[c] == type) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,249 @@
+package edu.io.storage;
+
+import edu.io.token.Token;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Board cells encoded by {@link CellCodec} outside the Java heap, either in
+ * direct buffers or in a memory-mapped file. A mapped board is usable as soon
+ * as it is opened and is saved by {@link #sync()} without a write pass.
+ * <p>
+ * Cells have no identity: every read decodes a fresh token, so nothing but
+ * the players is held on the heap and reads never write. A token changed in
+ * place is stored again with {@link edu.io.Board#touch}. Player tokens cannot
+ * be encoded; the cell keeps a {@link CellCodec#PLAYER} marker and the token
+ * sits in a side table.
+ */
+public class OffHeapBoardStorage implements BoardStorage, AutoCloseable {
+    // "GRB2": 24-byte cells
+    private static final int MAGIC = 0x47524232;
+    private static final int HEADER_BYTES = CellCodec.CELL_BYTES;
+    // segments hold whole cells: the header takes slot 0 and cell i sits in slot i + 1
+    private static final int SEGMENT_SHIFT = 25;
+    private static final long SEGMENT_SLOTS = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_BYTES = SEGMENT_SLOTS * CellCodec.CELL_BYTES;
+
+    private final int size;
+    private final ByteBuffer[] segments;
+    private final FileChannel file;
+    private final Map<Long, Token> players = new ConcurrentHashMap<>();
+
+    private OffHeapBoardStorage(int size, ByteBuffer[] segments, FileChannel file) {
+        this.size = size;
+        this.segments = segments;
+        this.file = file;
+    }
+
+    public static OffHeapBoardStorage allocate(int size) {
+        long bytes = totalBytes(size);
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(bytes)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect((int) Math.min(SEGMENT_BYTES, bytes - i * SEGMENT_BYTES));
+        }
+        OffHeapBoardStorage storage = new OffHeapBoardStorage(size, segments, null);
+        storage.writeHeader();
+        return storage;
+    }
+
+    public static OffHeapBoardStorage create(Path path, int size) {
+        try {
+            FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            OffHeapBoardStorage storage = new OffHeapBoardStorage(size, map(file, totalBytes(size)), file);
+            storage.writeHeader();
+            return storage;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static OffHeapBoardStorage open(Path path) {
+        try {
+            if (!Files.exists(path)) {
+                throw new IllegalArgumentException("No board file at " + path);
+            }
+            FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            file.read(header, 0);
+            if (header.getInt(0) != MAGIC) {
+                file.close();
+                throw new IllegalArgumentException("Not a board file: " + path);
+            }
+            int size = header.getInt(4);
+            return new OffHeapBoardStorage(size, map(file, totalBytes(size)), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Token get(int col, int row) {
+        long index = (long) row * size + col;
+        ByteBuffer segment = segment(index);
+        int at = at(index);
+        if (segment.getInt(at) == CellCodec.PLAYER) {
+            Token player = players.get(index);
+            if (player != null) {
+                return player;
+            }
+        }
+        return CellCodec.decode(segment, at);
+    }
+
+    @Override
+    public void set(int col, int row, Token token) {
+        long index = (long) row * size + col;
+        encode(index, token);
+        if (CellCodec.typeOf(token) == CellCodec.PLAYER) {
+            players.put(index, token);
+        } else {
+            players.remove(index);
+        }
+    }
+
+    /** Cells have no identity, so a cell holds any token of the expected type; players compare by instance. */
+    @Override
+    public boolean holds(int col, int row, Token expected) {
+        long index = (long) row * size + col;
+        int type = CellCodec.typeOf(expected);
+        return typeAt(index) == type && (type != CellCodec.PLAYER || players.get(index) == expected);
+    }
+
+    @Override
+    public void fill(Token token) {
+        players.clear();
+        ByteBuffer cell = ByteBuffer.allocate(CellCodec.CELL_BYTES);
+        CellCodec.encode(token, cell, 0);
+        long cells = (long) size * size;
+        for (long i = 0; i < cells; i++) {
+            segment(i).put(at(i), cell, 0, CellCodec.CELL_BYTES);
+        }
+    }
+
+    @Override
+    public void fill(int col, int row, int width, int height, Token token) {
+        boolean player = CellCodec.typeOf(token) == CellCodec.PLAYER;
+        ByteBuffer cell = ByteBuffer.allocate(CellCodec.CELL_BYTES);
+        CellCodec.encode(token, cell, 0);
+        for (int r = row; r < row + height; r++) {
+            for (int c = col; c < col + width; c++) {
+                long index = (long) r * size + c;
+                segment(index).put(at(index), cell, 0, CellCodec.CELL_BYTES);
+                if (player) {
+                    players.put(index, token);
+                } else {
+                    players.remove(index);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int typeAt(int col, int row) {
+        return typeAt((long) row * size + col);
+    }
+
+    @Override
+    public void countByType(int col, int row, int width, int height, int[] counts) {
+        for (int r = row; r < row + height; r++) {
+            for (int c = col; c < col + width; c++) {
+                counts[typeAt((long) r * size + c)]++;
+            }
+        }
+    }
+
+    @Override
+    public int count(int col, int row, int width, int height, int type) {
+        int n = 0;
+        for (int r = row; r < row + height; r++) {
+            for (int c = col; c < col + width; c++) {
+                if (typeAt((long) r * size + c) == type) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public void sync() {
+        for (ByteBuffer segment : segments) {
+            if (segment instanceof MappedByteBuffer mapped) {
+                mapped.force();
+            }
+        }
+    }
+
+    /** Tokens held on the heap: only the players. */
+    public int liveTokens() {
+        return players.size();
+    }
+
+    @Override
+    public void close() {
+        sync();
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void encode(long index, Token token) {
+        CellCodec.encode(token, segment(index), at(index));
+    }
+
+    private int typeAt(long index) {
+        return segment(index).getInt(at(index));
+    }
+
+    private ByteBuffer segment(long index) {
+        return segments[(int) ((index + 1) >>> SEGMENT_SHIFT)];
+    }
+
+    private static int at(long index) {
+        return (int) ((index + 1) & (SEGMENT_SLOTS - 1)) * CellCodec.CELL_BYTES;
+    }
+
+    private void writeHeader() {
+        segments[0].putInt(0, MAGIC);
+        segments[0].putInt(4, size);
+    }
+
+    private static long totalBytes(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0.");
+        }
+        return HEADER_BYTES + (long) size * size * CellCodec.CELL_BYTES;
+    }
+
+    private static int segmentCount(long bytes) {
+        return (int) ((bytes + SEGMENT_BYTES - 1) / SEGMENT_BYTES);
+    }
+
+    private static ByteBuffer[] map(FileChannel file, long bytes) throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(bytes)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = i * SEGMENT_BYTES;
+            segments[i] = file.map(FileChannel.MapMode.READ_WRITE, start, Math.min(SEGMENT_BYTES, bytes - start));
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,164 @@
+package edu.io.storage;
+
+import edu.io.token.Token;
+
+import java.util.Arrays;
+
+/**
+ * Cells kept in a 32-way tree over the row-major cell index. Nodes reached by
+ * a {@link BoardSnapshot} are never written again: a write after
+ * {@link #snapshot()} copies the path from the root to its leaf, and later
+ * writes to that path happen in place. Snapshots are O(1), cost O(changed
+ * paths) in memory, and can be read from any thread without locking.
+ * <p>
+ * Like every other write, {@link #snapshot()} belongs to the writer thread.
+ * Other threads read {@link #published()}, which the writer updates with
+ * {@link #publish()} at consistent points such as the end of a move.
+ * <p>
+ * Gold, water and pickaxes change in place when used, so a token reached by
+ * a snapshot must not be changed through the live tree. Leaves track which
+ * slots were written in their own version; {@link #getForUpdate} copies a
+ * stateful token that is still shared with a snapshot, or with the
+ * {@link WorldTemplate} the storage was instantiated from, before handing it
+ * out. Plain reads never write.
+ */
+public class PersistentBoardStorage implements BoardStorage {
+    static final int BITS = 5;
+    static final int WIDTH = 1 << BITS;
+    static final int MASK = WIDTH - 1;
+
+    static final class Node {
+        final Object edit;
+        final Object[] slots;
+        // leaf slots written in this node's edit rather than shared with a snapshot or template
+        int owned;
+
+        Node(Object edit, Object[] slots) {
+            this.edit = edit;
+            this.slots = slots;
+        }
+    }
+
+    private final int size;
+    private final int shift;
+    private volatile Node root;
+    private Object edit = new Object();
+    private volatile BoardSnapshot published;
+
+    public PersistentBoardStorage(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0.");
+        }
+        this.size = size;
+        long cells = (long) size * size;
+        int s = 0;
+        while ((cells - 1) >>> (s + BITS) > 0) {
+            s += BITS;
+        }
+        this.shift = s;
+    }
+
+    PersistentBoardStorage(WorldTemplate template) {
+        this.size = template.size();
+        this.shift = template.shift;
+        this.root = template.root;
+        this.published = new BoardSnapshot(root, size, shift);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Token get(int col, int row) {
+        return get(root, shift, row * size + col);
+    }
+
+    @Override
+    public Token getForUpdate(int col, int row) {
+        int index = row * size + col;
+        Node leaf = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            leaf = (Node) leaf.slots[(index >>> level) & MASK];
+        }
+        Token token = (Token) leaf.slots[index & MASK];
+        int type = CellCodec.typeOf(token);
+        if (CellCodec.isStateless(type) || type == CellCodec.PLAYER
+                || leaf.edit == edit && (leaf.owned & (1 << (index & MASK))) != 0) {
+            return token;
+        }
+        Token copy = CellCodec.copy(token);
+        set(col, row, copy);
+        return copy;
+    }
+
+    @Override
+    public void set(int col, int row, Token token) {
+        int index = row * size + col;
+        Node node = editable(root);
+        root = node;
+        for (int level = shift; level > 0; level -= BITS) {
+            int slot = (index >>> level) & MASK;
+            Node child = editable((Node) node.slots[slot]);
+            node.slots[slot] = child;
+            node = child;
+        }
+        node.slots[index & MASK] = token;
+        node.owned |= 1 << (index & MASK);
+    }
+
+    @Override
+    public void fill(Token token) {
+        // one leaf and one node per level, shared by every slot; the first
+        // write anywhere copies its path because none of them are editable
+        Object[] leaf = new Object[WIDTH];
+        Arrays.fill(leaf, token);
+        Node node = new Node(null, leaf);
+        for (int level = BITS; level <= shift; level += BITS) {
+            Object[] slots = new Object[WIDTH];
+            Arrays.fill(slots, node);
+            node = new Node(null, slots);
+        }
+        root = node;
+        published = new BoardSnapshot(node, size, shift);
+    }
+
+    public BoardSnapshot snapshot() {
+        BoardSnapshot snapshot = new BoardSnapshot(root, size, shift);
+        edit = new Object();
+        return snapshot;
+    }
+
+    public BoardSnapshot publish() {
+        BoardSnapshot snapshot = snapshot();
+        published = snapshot;
+        return snapshot;
+    }
+
+    public BoardSnapshot published() {
+        return published;
+    }
+
+    public void restore(BoardSnapshot snapshot) {
+        if (snapshot.size() != size) {
+            throw new IllegalArgumentException("Snapshot size does not match the board");
+        }
+        root = snapshot.root;
+        edit = new Object();
+    }
+
+    static Token get(Node node, int shift, int index) {
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.slots[(index >>> level) & MASK];
+        }
+        return (Token) node.slots[index & MASK];
+    }
+
+    private Node editable(Node node) {
+        if (node.edit == edit) {
+            return node;
+        }
+        return new Node(edit, node.slots.clone());
+    }
+}
@@ -0,0 +1,48 @@
+package edu.io.storage;
+
+import edu.io.token.Token;
+
+import java.util.Arrays;
+
+/**
+ * Heap storage for the rows {@code [rowFrom, rowTo)} of a square board.
+ * Coordinates stay those of the whole board so tokens keep their real
+ * positions; only the held rows are allocated, and touching any other row
+ * throws {@link ArrayIndexOutOfBoundsException}.
+ */
+public class StripBoardStorage implements BoardStorage {
+    private final int size;
+    private final int rowFrom;
+    private final Token[][] rows;
+
+    public StripBoardStorage(int size, int rowFrom, int rowTo) {
+        if (rowFrom < 0 || rowTo > size || rowFrom >= rowTo) {
+            throw new IllegalArgumentException("Invalid row range");
+        }
+        this.size = size;
+        this.rowFrom = rowFrom;
+        this.rows = new Token[rowTo - rowFrom][size];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Token get(int col, int row) {
+        return rows[row - rowFrom][col];
+    }
+
+    @Override
+    public void set(int col, int row, Token token) {
+        rows[row - rowFrom][col] = token;
+    }
+
+    @Override
+    public void fill(Token token) {
+        for (Token[] line : rows) {
+            Arrays.fill(line, token);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package edu.io.storage;
+
+import edu.io.Board;
+import edu.io.PersistentBoard;
+import edu.io.token.EmptyToken;
+import edu.io.token.Token;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable, compacted copy of a board's terrain to start matches from.
+ * It is the same tree {@link PersistentBoardStorage} uses, with every token
+ * copied off the source board and runs of identical stateless cells folded
+ * into shared nodes, so a mostly empty world costs a few nodes per level.
+ * <p>
+ * {@link #instantiate()} hands the tree to a new storage without copying
+ * anything: O(1) whatever the board size. The new board copies a path on
+ * its first write to it, and a gold, water or pickaxe token when it is first
+ * taken for update, so matches never see each other's changes.
+ */
+public final class WorldTemplate {
+    final PersistentBoardStorage.Node root;
+    final int shift;
+    private final int size;
+
+    private WorldTemplate(PersistentBoardStorage.Node root, int size, int shift) {
+        this.root = root;
+        this.size = size;
+        this.shift = shift;
+    }
+
+    /** Captures the terrain of {@code board}; player tokens, idle ones included, become empty cells. */
+    public static WorldTemplate of(Board board) {
+        Objects.requireNonNull(board, "Board cannot be null");
+        PersistentBoardStorage build = new PersistentBoardStorage(board.size());
+        build.fill(CellCodec.copy(new EmptyToken()));
+        for (int row = 0; row < board.size(); row++) {
+            for (int col = 0; col < board.size(); col++) {
+                if (board.typeAt(col, row) != CellCodec.PLAYER) {
+                    build.set(col, row, CellCodec.copy(board.peekToken(col, row)));
+                }
+            }
+        }
+        BoardSnapshot built = build.snapshot();
+        int shift = built.shift();
+        Map<Object, PersistentBoardStorage.Node> canonical = new IdentityHashMap<>();
+        return new WorldTemplate(freeze(built.root, shift, canonical), board.size(), shift);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Distinct tree nodes, a measure of how compact the template is. */
+    public int nodes() {
+        Set<PersistentBoardStorage.Node> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        count(root, shift, seen);
+        return seen.size();
+    }
+
+    public PersistentBoard instantiate() {
+        return new PersistentBoard(new PersistentBoardStorage(this));
+    }
+
+    /**
+     * Rebuilds the tree with no edit owner, so no storage ever writes into
+     * it, and shares one node for each uniform leaf or subtree. Copy returns
+     * one instance per stateless type, so uniform runs compare by identity.
+     */
+    private static PersistentBoardStorage.Node freeze(PersistentBoardStorage.Node node, int level,
+                                                      Map<Object, PersistentBoardStorage.Node> canonical) {
+        Object[] slots = new Object[PersistentBoardStorage.WIDTH];
+        boolean uniform = true;
+        for (int i = 0; i < slots.length; i++) {
+            Object slot = node.slots[i];
+            slots[i] = level == 0 ? slot : freeze((PersistentBoardStorage.Node) slot, level - PersistentBoardStorage.BITS, canonical);
+            uniform &= slots[i] == slots[0];
+        }
+        boolean shareable = uniform && (level > 0 || CellCodec.isStateless(CellCodec.typeOf((Token) slots[0])));
+        if (shareable && canonical.containsKey(slots[0])) {
+            return canonical.get(slots[0]);
+        }
+        PersistentBoardStorage.Node frozen = new PersistentBoardStorage.Node(null, slots);
+        if (shareable) {
+            canonical.put(slots[0], frozen);
+        }
+        return frozen;
+    }
+
+    private static void count(PersistentBoardStorage.Node node, int level, Set<PersistentBoardStorage.Node> seen) {
+        if (!seen.add(node) || level == 0) {
+            return;
+        }
+        for (Object child : node.slots) {
+            count((PersistentBoardStorage.Node) child, level - PersistentBoardStorage.BITS, seen);
+        }
+    }
+}
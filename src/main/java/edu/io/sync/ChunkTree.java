@@ -0,0 +1,164 @@
+package edu.io.sync;
+
+import edu.io.Board;
+import edu.io.CellListener;
+import edu.io.sim.StateHash;
+import edu.io.token.EmptyToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Hash tree over square chunks of a board, kept current by listening to its
+ * cells. A chunk's hash is the XOR of its cell hashes, so a changed cell is
+ * swapped in with two XORs and its ancestors are rehashed on the way up:
+ * O(log chunks) per {@code placeToken}.
+ * <p>
+ * The tree is a complete binary tree in an array: node 1 is the root, the
+ * children of {@code n} are {@code 2n} and {@code 2n + 1}, and chunk
+ * {@code i} is leaf {@code leaves + i}. Player tokens hash as empty cells;
+ * players are synchronized on their own, not as terrain.
+ */
+public class ChunkTree implements CellListener, AutoCloseable {
+    private static final Token EMPTY = new EmptyToken();
+
+    private final Board board;
+    private final int size;
+    private final int chunk;
+    private final int perSide;
+    private final int chunks;
+    private final int leaves;
+    private final long[] cellHashes;
+    private final long[] nodes;
+
+    public ChunkTree(Board board, int chunk) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        if (chunk <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.size = board.size();
+        this.chunk = chunk;
+        this.perSide = (size + chunk - 1) / chunk;
+        this.chunks = perSide * perSide;
+        this.leaves = Integer.highestOneBit(Math.max(chunks - 1, 1)) << 1;
+        this.cellHashes = new long[size * size];
+        this.nodes = new long[2 * leaves];
+        onCleared();
+        board.addCellListener(this);
+    }
+
+    public int chunkSize() {
+        return chunk;
+    }
+
+    public int chunksPerSide() {
+        return perSide;
+    }
+
+    public int chunks() {
+        return chunks;
+    }
+
+    int leaves() {
+        return leaves;
+    }
+
+    public long root() {
+        return nodes[1];
+    }
+
+    long node(int index) {
+        return nodes[index];
+    }
+
+    public long chunkHash(int chunkIndex) {
+        Objects.checkIndex(chunkIndex, chunks);
+        return nodes[leaves + chunkIndex];
+    }
+
+    public int chunkOf(int col, int row) {
+        return (row / chunk) * perSide + col / chunk;
+    }
+
+    @Override
+    public void onCellChanged(int col, int row, Token token) {
+        int index = row * size + col;
+        long h = hash(index, token);
+        int node = leaves + chunkOf(col, row);
+        nodes[node] ^= cellHashes[index] ^ h;
+        cellHashes[index] = h;
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            nodes[node] = combine(nodes[2 * node], nodes[2 * node + 1]);
+        }
+    }
+
+    @Override
+    public void onRegionChanged(int col, int row, int width, int height) {
+        for (int r = row; r < row + height; r++) {
+            for (int c = col; c < col + width; c++) {
+                int index = r * size + c;
+                long h = hash(index, board.peekToken(c, r));
+                nodes[leaves + chunkOf(c, r)] ^= cellHashes[index] ^ h;
+                cellHashes[index] = h;
+            }
+        }
+        // leaves of the covered chunks in ascending order; parents of a sorted
+        // level are sorted too, so each level dedupes against its last entry
+        int firstCol = col / chunk;
+        int lastCol = (col + width - 1) / chunk;
+        int firstRow = row / chunk;
+        int lastRow = (row + height - 1) / chunk;
+        int[] level = new int[(lastCol - firstCol + 1) * (lastRow - firstRow + 1)];
+        int n = 0;
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstCol; c <= lastCol; c++) {
+                level[n++] = leaves + r * perSide + c;
+            }
+        }
+        while (level[0] > 1) {
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                int parent = level[i] >>> 1;
+                if (m == 0 || level[m - 1] != parent) {
+                    level[m++] = parent;
+                    nodes[parent] = combine(nodes[2 * parent], nodes[2 * parent + 1]);
+                }
+            }
+            n = m;
+        }
+    }
+
+    @Override
+    public void onCleared() {
+        Arrays.fill(nodes, 0L);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int index = row * size + col;
+                cellHashes[index] = hash(index, board.peekToken(col, row));
+                nodes[leaves + chunkOf(col, row)] ^= cellHashes[index];
+            }
+        }
+        rebuildInner();
+    }
+
+    @Override
+    public void close() {
+        board.removeCellListener(this);
+    }
+
+    private void rebuildInner() {
+        for (int node = leaves - 1; node > 0; node--) {
+            nodes[node] = combine(nodes[2 * node], nodes[2 * node + 1]);
+        }
+    }
+
+    private static long combine(long left, long right) {
+        return StateHash.mix(left * 31 + right);
+    }
+
+    private static long hash(int index, Token token) {
+        return StateHash.cell(index, token instanceof PlayerToken ? EMPTY : token);
+    }
+}
@@ -0,0 +1,141 @@
+package edu.io.sync;
+
+import edu.io.Board;
+import edu.io.storage.CellCodec;
+import edu.io.token.EmptyToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Brings a replica board in line with a source by comparing their
+ * {@link ChunkTree}s top-down and shipping only the chunks that differ.
+ * <p>
+ * The replica asks for node hashes one tree level per round through a
+ * {@link NodeSource}, descending only below nodes that differ, so a resync
+ * costs O(changed chunks * log chunks) hashes plus the changed chunks' cells,
+ * whatever the board size. The chunk payload is {@code int count, (int chunk,
+ * cell*)*} with cells in {@link CellCodec} form, row-major within the chunk.
+ */
+public final class Resync {
+    /** Answers hash requests for the source tree, e.g. across a connection. */
+    @FunctionalInterface
+    public interface NodeSource {
+        long[] hashes(int[] nodes);
+    }
+
+    public record Diff(int[] chunks, int nodesCompared, int rounds) {}
+
+    private Resync() {}
+
+    public static NodeSource of(ChunkTree tree) {
+        Objects.requireNonNull(tree, "Tree cannot be null");
+        return nodes -> {
+            long[] out = new long[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                out[i] = tree.node(nodes[i]);
+            }
+            return out;
+        };
+    }
+
+    public static Diff diff(ChunkTree local, ChunkTree remote) {
+        if (local.chunkSize() != remote.chunkSize() || local.chunks() != remote.chunks()) {
+            throw new IllegalArgumentException("Trees cover different chunk layouts");
+        }
+        return diff(local, of(remote));
+    }
+
+    /** Chunks of {@code local} whose hashes differ from the source's. */
+    public static Diff diff(ChunkTree local, NodeSource source) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        int leaves = local.leaves();
+        int[] level = {1};
+        int[] found = new int[16];
+        int count = 0;
+        int compared = 0;
+        int rounds = 0;
+        while (level.length > 0) {
+            long[] theirs = source.hashes(level);
+            rounds++;
+            compared += level.length;
+            int[] next = new int[level.length * 2];
+            int n = 0;
+            for (int i = 0; i < level.length; i++) {
+                int node = level[i];
+                if (theirs[i] == local.node(node)) {
+                    continue;
+                }
+                if (node >= leaves) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                    }
+                    found[count++] = node - leaves;
+                } else {
+                    next[n++] = 2 * node;
+                    next[n++] = 2 * node + 1;
+                }
+            }
+            level = Arrays.copyOf(next, n);
+        }
+        return new Diff(Arrays.copyOf(found, count), compared, rounds);
+    }
+
+    /** Encodes the cells of the given chunks of {@code board}; players go out as empty cells. */
+    public static ByteBuffer encode(Board board, ChunkTree tree, int[] chunks) {
+        int chunk = tree.chunkSize();
+        int bytes = Integer.BYTES;
+        for (int c : chunks) {
+            bytes += Integer.BYTES + cells(board, tree, c) * CellCodec.CELL_BYTES;
+        }
+        ByteBuffer out = ByteBuffer.allocate(bytes);
+        out.putInt(chunks.length);
+        Token empty = new EmptyToken();
+        for (int c : chunks) {
+            out.putInt(c);
+            int col0 = (c % tree.chunksPerSide()) * chunk;
+            int row0 = (c / tree.chunksPerSide()) * chunk;
+            for (int row = row0; row < Math.min(row0 + chunk, board.size()); row++) {
+                for (int col = col0; col < Math.min(col0 + chunk, board.size()); col++) {
+                    Token token = board.peekToken(col, row);
+                    CellCodec.encode(token instanceof PlayerToken ? empty : token, out, out.position());
+                    out.position(out.position() + CellCodec.CELL_BYTES);
+                }
+            }
+        }
+        return out.flip();
+    }
+
+    /** Writes encoded chunks into {@code board}; an empty cell never erases a player standing on the replica. */
+    public static void apply(Board board, ChunkTree tree, ByteBuffer in) {
+        int chunk = tree.chunkSize();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            int c = in.getInt();
+            Objects.checkIndex(c, tree.chunks());
+            int col0 = (c % tree.chunksPerSide()) * chunk;
+            int row0 = (c / tree.chunksPerSide()) * chunk;
+            for (int row = row0; row < Math.min(row0 + chunk, board.size()); row++) {
+                for (int col = col0; col < Math.min(col0 + chunk, board.size()); col++) {
+                    Token token = CellCodec.decode(in, in.position());
+                    in.position(in.position() + CellCodec.CELL_BYTES);
+                    Token current = board.peekToken(col, row);
+                    if (token instanceof EmptyToken && current instanceof PlayerToken) {
+                        continue;
+                    }
+                    board.placeToken(col, row, token);
+                }
+            }
+        }
+    }
+
+    private static int cells(Board board, ChunkTree tree, int c) {
+        int chunk = tree.chunkSize();
+        int col0 = (c % tree.chunksPerSide()) * chunk;
+        int row0 = (c / tree.chunksPerSide()) * chunk;
+        return (Math.min(col0 + chunk, board.size()) - col0) * (Math.min(row0 + chunk, board.size()) - row0);
+    }
+}
@@ -1,23 +1,80 @@
 package edu.io.token;
 
-public class GoldToken extends Token {
-    private double amount;
+import edu.io.interfaces.Consumable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class GoldToken extends Token implements Consumable {
+    private static final int SPIN_LIMIT = 16;
+
+    private final AtomicLong amountBits = new AtomicLong();
+    private double perHit;
 
     public GoldToken() {
         super(Label.GOLD_TOKEN_LABEL);
-        amount = 1.0;
+        amountBits.set(Double.doubleToRawLongBits(1.0));
+        perHit = Double.POSITIVE_INFINITY;
     }
 
     public GoldToken(double amount) {
-        super(Label.GOLD_TOKEN_LABEL);
+        this();
         if (amount >= 0.0) {
-            this.amount = amount;
+            amountBits.set(Double.doubleToRawLongBits(amount));
         }  else {
             throw new IllegalArgumentException("Gold amount must be greater than 0.");
         }
     }
 
+    public GoldToken(double amount, double perHit) {
+        this(amount);
+        if (perHit > 0.0) {
+            this.perHit = perHit;
+        } else {
+            throw new IllegalArgumentException("Gold per hit must be greater than 0.");
+        }
+    }
+
     public double amount() {
-        return amount;
+        return Double.longBitsToDouble(amountBits.get());
+    }
+
+    public double perHit() {
+        return perHit;
+    }
+
+    public double mine() {
+        for (int i = 0; i < SPIN_LIMIT; i++) {
+            double taken = tryMine();
+            if (taken >= 0.0) {
+                return taken;
+            }
+            Thread.onSpinWait();
+        }
+        // heavy contention on this vein: queue up instead of spinning
+        synchronized (this) {
+            double taken;
+            do {
+                taken = tryMine();
+            } while (taken < 0.0);
+            return taken;
+        }
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return amount() <= 0.0;
+    }
+
+    private double tryMine() {
+        long bits = amountBits.get();
+        double current = Double.longBitsToDouble(bits);
+        double taken = Math.min(current, perHit);
+        if (taken <= 0.0) {
+            return 0.0;
+        }
+        if (amountBits.compareAndSet(bits, Double.doubleToRawLongBits(current - taken))) {
+            return taken;
+        }
+        return -1.0;
     }
 }
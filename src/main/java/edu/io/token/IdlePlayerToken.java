@@ -0,0 +1,11 @@
+package edu.io.token;
+
+/**
+ * Marks the square of a player whose session has been spilled to disk. One
+ * instance can be shared by every idle square.
+ */
+public class IdlePlayerToken extends Token {
+    public IdlePlayerToken() {
+        super(Label.PLAYER_TOKEN_LABEL);
+    }
+}
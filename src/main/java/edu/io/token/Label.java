@@ -7,4 +7,6 @@ public class Label {
     public static final String PICKAXE_TOKEN_LABEL = "⛏\uFE0F";
     public static final String ANVIL_TOKEN_LABEL = "工";
     public static final String WATER_TOKEN_LABEL = "💧";
+    public static final String FOG_LABEL = "░";
+    public static final String HIDDEN_LABEL = "　";
 }
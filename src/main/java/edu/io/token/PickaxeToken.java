@@ -3,17 +3,19 @@ package edu.io.token;
 import edu.io.interfaces.Repairable;
 import edu.io.interfaces.Tool;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class PickaxeToken extends Token implements Tool, Repairable {
     private double gainFactor;
     private Token pickaxeToken = new EmptyToken();
-    private int durability;
+    private final AtomicInteger durability = new AtomicInteger();
     private int maxDurability;
     private Token withToken;
 
     public PickaxeToken() {
         super(Label.PICKAXE_TOKEN_LABEL);
         gainFactor = 1.5;
-        durability = 3;
+        durability.set(3);
         maxDurability = 3;
     }
 
@@ -29,29 +31,59 @@ public class PickaxeToken extends Token implements Tool, Repairable {
     public PickaxeToken(double gainFactor, int durability) {
         this(gainFactor);
         if (durability > 0) {
-            this.durability = durability;
+            this.durability.set(durability);
             this.maxDurability = durability;
         }  else {
             throw new IllegalArgumentException("Durability must be greater than 0.");
         }
     }
 
+    public PickaxeToken(double gainFactor, int durability, int maxDurability) {
+        this(gainFactor, maxDurability);
+        if (durability >= 0 && durability <= maxDurability) {
+            this.durability.set(durability);
+        } else {
+            throw new IllegalArgumentException("Durability must be between 0 and max durability.");
+        }
+    }
+
     public double gainFactor() {
         return gainFactor;
     }
 
     public int durability() {
-        return durability;
+        return durability.get();
+    }
+
+    public int maxDurability() {
+        return maxDurability;
+    }
+
+    public void setDurability(int durability) {
+        if (durability >= 0 && durability <= maxDurability) {
+            this.durability.set(durability);
+        } else {
+            throw new IllegalArgumentException("Durability must be between 0 and max durability.");
+        }
     }
 
     public boolean isBroken() {
-        return durability <= 0;
+        return durability.get() <= 0;
     }
 
     public void use() {
-        if (durability > 0) {
-            this.durability--;
-        }
+        tryUse();
+    }
+
+    public boolean tryUse() {
+        int d;
+        do {
+            d = durability.get();
+            if (d <= 0) {
+                return false;
+            }
+        } while (!durability.compareAndSet(d, d - 1));
+        return true;
     }
 
     public PickaxeToken useWith(Token token) {
@@ -60,9 +92,8 @@ public class PickaxeToken extends Token implements Tool, Repairable {
     }
 
     public PickaxeToken ifWorking(Runnable action) {
-        if (!isBroken() && withToken instanceof GoldToken) {
+        if (withToken instanceof GoldToken && tryUse()) {
             action.run();
-            use();
         }
         return this;
     }
@@ -79,6 +110,6 @@ public class PickaxeToken extends Token implements Tool, Repairable {
     }
 
     public void repair() {
-        this.durability = maxDurability;
+        this.durability.set(maxDurability);
     }
 }
@@ -2,6 +2,10 @@ package edu.io.token;
 
 import edu.io.Board;
 import edu.io.Board.Coords;
+import edu.io.PackedCoords;
+import edu.io.interfaces.Consumable;
+import edu.io.log.EventType;
+import edu.io.log.GameEventLog;
 import edu.io.player.Player;
 
 import java.util.Objects;
@@ -11,6 +15,7 @@ public class PlayerToken extends Token {
     private Board board;
     private int row;
     private int col;
+    private GameEventLog log;
 
     public enum Move {
         NONE,
@@ -20,13 +25,33 @@ public class PlayerToken extends Token {
         RIGHT
     }
 
+    public record PathResult(int steps, PathStatus status, double goldGained, int hydrationLost) {}
+
+    public enum PathStatus {
+        COMPLETED,
+        OUT_OF_BOUNDS,
+        DIED
+    }
+
     public PlayerToken(Player player, Board board) {
         super(Label.PLAYER_TOKEN_LABEL);
         this.player = Objects.requireNonNull(player, "Player cannot be null");
         this.board = Objects.requireNonNull(board, "Board cannot be null");
-        Coords squareCoords = board.getAvailableSquare();
-        row = squareCoords.row();
-        col = squareCoords.col();
+        long square = board.getAvailableSquarePacked();
+        row = PackedCoords.row(square);
+        col = PackedCoords.col(square);
+        board.placeToken(col, row, this);
+    }
+
+    public PlayerToken(Player player, Board board, int col, int row) {
+        super(Label.PLAYER_TOKEN_LABEL);
+        this.player = Objects.requireNonNull(player, "Player cannot be null");
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        if (!board.contains(col, row)) {
+            throw new IllegalArgumentException("Position is outside the board");
+        }
+        this.row = row;
+        this.col = col;
         board.placeToken(col, row, this);
     }
 
@@ -41,22 +66,121 @@ public class PlayerToken extends Token {
             case LEFT: tempCol -= 1; break;
             case RIGHT: tempCol += 1; break;
             case NONE: return;
-            default: System.out.println("Invalid move direction");
         }
 
         if (tempRow < 0 || tempRow >= board.size ||  tempCol < 0 || tempCol >= board.size ) {
             throw new IllegalArgumentException("Cannot move outside the board");
         }
 
-        player.interactWithToken(board.peekToken(tempRow, tempCol));
+        step(tempCol, tempRow, new EmptyToken());
+    }
+
+    public PathResult executePath(Move[] path) {
+        return executePath(path, 0, path.length);
+    }
+
+    public PathResult executePath(Move[] path, int from, int length) {
+        Objects.requireNonNull(path, "Path cannot be null");
+        Objects.checkFromIndexSize(from, length, path.length);
+
+        // validate the whole path up front; per-step bounds checks are only
+        // needed once a blocked step puts the player off the validated route
+        int end = from + length;
+        for (int i = from; i < end; i++) {
+            Objects.requireNonNull(path[i], "Move cannot be null");
+        }
+        int validEnd = end;
+        int c = col;
+        int r = row;
+        for (int i = from; i < end; i++) {
+            Move dir = path[i];
+            c += dx(dir);
+            r += dy(dir);
+            if (!board.contains(c, r)) {
+                validEnd = i;
+                break;
+            }
+        }
+
+        double gold = player.gold.amount();
+        int hydration = player.vitals.hydration();
+        Token empty = new EmptyToken();
+        PathStatus status = PathStatus.COMPLETED;
+        boolean checked = false;
+        int i = from;
+        for (; i < end; i++) {
+            if (!player.vitals.isAlive()) {
+                status = PathStatus.DIED;
+                break;
+            }
+            Move dir = path[i];
+            int nextCol = col + dx(dir);
+            int nextRow = row + dy(dir);
+            if (checked ? !board.contains(nextCol, nextRow) : i == validEnd) {
+                status = PathStatus.OUT_OF_BOUNDS;
+                if (log != null) log.record(EventType.OUT_OF_BOUNDS, packedPos(), 0);
+                break;
+            }
+            if (dir != Move.NONE && !step(nextCol, nextRow, empty)) {
+                checked = true;
+            }
+        }
+        if (status == PathStatus.COMPLETED && !player.vitals.isAlive()) {
+            status = PathStatus.DIED;
+        }
+        return new PathResult(i - from, status, player.gold.amount() - gold,
+                hydration - player.vitals.hydration());
+    }
+
+    private boolean step(int tempCol, int tempRow, Token empty) {
+        Token target = board.tokenForUpdate(tempCol, tempRow);
+        player.interactWithToken(target);
+        if (target instanceof Consumable) {
+            // a full player walks onto water it has no use for; what is left is spilled
+            if (player.canTake(target)) {
+                board.touch(tempCol, tempRow, target);
+                return false;
+            }
+            board.removeToken(tempCol, tempRow, target);
+        }
 
-        board.placeToken(col, row, new EmptyToken());
+        board.placeToken(col, row, empty);
         row = tempRow;
         col = tempCol;
         board.placeToken(col, row, this);
+        if (log != null) log.record(EventType.MOVE, packedPos(), 0);
+        return true;
+    }
+
+    private static int dx(Move dir) {
+        return dir == Move.LEFT ? -1 : dir == Move.RIGHT ? 1 : 0;
+    }
+
+    private static int dy(Move dir) {
+        return dir == Move.UP ? -1 : dir == Move.DOWN ? 1 : 0;
+    }
+
+    public void relocate(int col, int row) {
+        if (!board.contains(col, row)) {
+            throw new IllegalArgumentException("Position is outside the board");
+        }
+        this.col = col;
+        this.row = row;
+    }
+
+    public Player player() {
+        return player;
+    }
+
+    public void setEventLog(GameEventLog log) {
+        this.log = log;
     }
 
     public Coords pos(){
         return new Coords(row, col);
     }
+
+    public long packedPos() {
+        return PackedCoords.pack(col, row);
+    }
 }
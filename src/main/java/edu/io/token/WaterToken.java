@@ -1,23 +1,64 @@
 package edu.io.token;
 
-public class WaterToken extends Token {
-    private int amount;
+import edu.io.interfaces.Consumable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WaterToken extends Token implements Consumable {
+    private static final int SPIN_LIMIT = 16;
+
+    private final AtomicInteger amount = new AtomicInteger();
 
     public WaterToken() {
         super(Label.WATER_TOKEN_LABEL);
-        amount = 10;
+        amount.set(10);
     }
 
     public WaterToken(int amount) {
         this();
         if (amount >= 0 && amount <= 100) {
-            this.amount = amount;
+            this.amount.set(amount);
         } else {
             throw new IllegalArgumentException("Amount must be between 0 and 100");
         }
     }
 
     public int amount() {
-        return amount;
+        return amount.get();
+    }
+
+    public int drink(int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        for (int i = 0; i < SPIN_LIMIT; i++) {
+            int taken = tryDrink(max);
+            if (taken >= 0) {
+                return taken;
+            }
+            Thread.onSpinWait();
+        }
+        // heavy contention on this token: queue up instead of spinning
+        synchronized (this) {
+            int taken;
+            do {
+                taken = tryDrink(max);
+            } while (taken < 0);
+            return taken;
+        }
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return amount.get() == 0;
+    }
+
+    private int tryDrink(int max) {
+        int current = amount.get();
+        int taken = Math.min(current, max);
+        if (taken == 0 || amount.compareAndSet(current, current - taken)) {
+            return taken;
+        }
+        return -1;
     }
 }
@@ -0,0 +1,216 @@
+package edu.io.vision;
+
+import edu.io.Board;
+import edu.io.CellListener;
+import edu.io.PackedCoords;
+import edu.io.player.Player;
+import edu.io.token.Label;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Fog of war. Each tracked player sees the square of {@code radius} cells
+ * around its token and remembers every cell it has seen. Both sets are
+ * row-major bitsets over the board.
+ * <p>
+ * Views follow their tokens through the board's cell events. A one-step
+ * move clears the trailing edge of the square and sets the leading edge:
+ * one row range or {@code 2 * radius + 1} bits, not the whole view. Any
+ * other jump, a clean or a restore recomputes the affected views.
+ */
+public class Visibility implements CellListener, AutoCloseable {
+    private final Board board;
+    private final int size;
+    private final Map<Player, View> views = new IdentityHashMap<>();
+
+    public Visibility(Board board) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        this.size = board.size();
+        board.addCellListener(this);
+    }
+
+    public synchronized View track(Player player, int radius) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        if (player.token() == null) {
+            throw new IllegalArgumentException("Player is not on the board");
+        }
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius cannot be negative");
+        }
+        View view = new View(player, radius);
+        views.put(player, view);
+        return view;
+    }
+
+    public synchronized void untrack(Player player) {
+        views.remove(player);
+    }
+
+    public synchronized View view(Player player) {
+        return views.get(player);
+    }
+
+    @Override
+    public synchronized void onCellChanged(int col, int row, Token token) {
+        if (token instanceof PlayerToken playerToken) {
+            View view = views.get(playerToken.player());
+            if (view != null) {
+                view.moveTo(col, row);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onRegionChanged(int col, int row, int width, int height) {
+        for (View view : views.values()) {
+            long pos = view.player.token().packedPos();
+            int c = PackedCoords.col(pos);
+            int r = PackedCoords.row(pos);
+            if (c >= col && c < col + width && r >= row && r < row + height) {
+                view.recenter(c, r);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onCleared() {
+        for (View view : views.values()) {
+            long pos = view.player.token().packedPos();
+            view.recenter(PackedCoords.col(pos), PackedCoords.row(pos));
+        }
+    }
+
+    @Override
+    public void close() {
+        board.removeCellListener(this);
+    }
+
+    /** One player's visible and explored cells. */
+    public final class View {
+        private final Player player;
+        private final int radius;
+        private final BitSet visible = new BitSet();
+        private final BitSet explored = new BitSet();
+        private int col;
+        private int row;
+
+        private View(Player player, int radius) {
+            this.player = player;
+            this.radius = radius;
+            long pos = player.token().packedPos();
+            recenter(PackedCoords.col(pos), PackedCoords.row(pos));
+        }
+
+        public int radius() {
+            return radius;
+        }
+
+        public boolean isVisible(int col, int row) {
+            synchronized (Visibility.this) {
+                return board.contains(col, row) && visible.get(row * size + col);
+            }
+        }
+
+        public boolean isExplored(int col, int row) {
+            synchronized (Visibility.this) {
+                return board.contains(col, row) && explored.get(row * size + col);
+            }
+        }
+
+        public int visibleCells() {
+            synchronized (Visibility.this) {
+                return visible.cardinality();
+            }
+        }
+
+        public int exploredCells() {
+            synchronized (Visibility.this) {
+                return explored.cardinality();
+            }
+        }
+
+        /** The visible token, or {@code null} when the cell is hidden or off the board. */
+        public Token peekToken(int col, int row) {
+            return isVisible(col, row) ? board.peekToken(col, row) : null;
+        }
+
+        /** Like {@link Board#render}, with hidden cells drawn as fog or left blank. */
+        public void render(StringBuilder sb) {
+            synchronized (Visibility.this) {
+                for (int r = 0; r < size; r++) {
+                    for (int c = 0; c < size; c++) {
+                        int i = r * size + c;
+                        String label = visible.get(i) ? board.peekToken(c, r).label()
+                                : explored.get(i) ? Label.FOG_LABEL : Label.HIDDEN_LABEL;
+                        sb.append(label).append(' ');
+                    }
+                    sb.append(System.lineSeparator());
+                }
+            }
+        }
+
+        void moveTo(int newCol, int newRow) {
+            int dCol = newCol - col;
+            int dRow = newRow - row;
+            if (dCol == 0 && dRow == 0) {
+                return;
+            }
+            if (Math.abs(dCol) + Math.abs(dRow) != 1) {
+                recenter(newCol, newRow);
+                return;
+            }
+            if (dRow != 0) {
+                // rows move as whole ranges
+                rowSpan(row - dRow * radius, col, false);
+                rowSpan(newRow + dRow * radius, newCol, true);
+            } else {
+                column(col - dCol * radius, row, false);
+                column(newCol + dCol * radius, newRow, true);
+            }
+            col = newCol;
+            row = newRow;
+        }
+
+        void recenter(int newCol, int newRow) {
+            visible.clear();
+            col = newCol;
+            row = newRow;
+            for (int r = row - radius; r <= row + radius; r++) {
+                rowSpan(r, col, true);
+            }
+        }
+
+        private void rowSpan(int r, int center, boolean on) {
+            if (r < 0 || r >= size) {
+                return;
+            }
+            int from = r * size + Math.max(center - radius, 0);
+            int to = r * size + Math.min(center + radius, size - 1) + 1;
+            if (on) {
+                visible.set(from, to);
+                explored.set(from, to);
+            } else {
+                visible.clear(from, to);
+            }
+        }
+
+        private void column(int c, int center, boolean on) {
+            if (c < 0 || c >= size) {
+                return;
+            }
+            for (int r = Math.max(center - radius, 0); r <= Math.min(center + radius, size - 1); r++) {
+                if (on) {
+                    visible.set(r * size + c);
+                    explored.set(r * size + c);
+                } else {
+                    visible.clear(r * size + c);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package edu.io.world;
+
+import edu.io.Board;
+import edu.io.map.MapReader;
+import edu.io.storage.WorldTemplate;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named {@link WorldTemplate}s, built once from generated or imported boards
+ * and instantiated for every match. Safe to use from any thread.
+ */
+public class WorldRegistry {
+    private final ConcurrentHashMap<String, WorldTemplate> templates = new ConcurrentHashMap<>();
+
+    public WorldTemplate register(String name, Board board) {
+        return register(name, WorldTemplate.of(board));
+    }
+
+    public WorldTemplate register(String name, WorldTemplate template) {
+        Objects.requireNonNull(name, "Name cannot be null");
+        Objects.requireNonNull(template, "Template cannot be null");
+        templates.put(name, template);
+        return template;
+    }
+
+    /** Imports a map file with {@link MapReader} and registers its terrain. */
+    public WorldTemplate load(String name, Path path) {
+        return register(name, MapReader.read(path));
+    }
+
+    public WorldTemplate template(String name) {
+        WorldTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("No world template named " + name);
+        }
+        return template;
+    }
+
+    public Board instantiate(String name) {
+        return template(name).instantiate();
+    }
+
+    public boolean remove(String name) {
+        return templates.remove(name) != null;
+    }
+
+    public Set<String> names() {
+        return Set.copyOf(templates.keySet());
+    }
+}
@@ -0,0 +1,146 @@
+import edu.io.Board;
+import edu.io.CellListener;
+import edu.io.storage.CellCodec;
+import edu.io.token.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+class BoardRegionTest {
+    static final List<IntFunction<Board>> BACKENDS = List.of(Board::new, Board::offHeap, Board::persistent);
+
+    static Token random(SplittableRandom rng) {
+        return switch (rng.nextInt(5)) {
+            case 0 -> new GoldToken();
+            case 1 -> new WaterToken();
+            case 2 -> new AnvilToken();
+            case 3 -> new PyriteToken();
+            default -> new EmptyToken();
+        };
+    }
+
+    static Board scatter(IntFunction<Board> backend, int size, long seed) {
+        Board board = backend.apply(size);
+        SplittableRandom rng = new SplittableRandom(seed);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                board.placeToken(col, row, random(rng));
+            }
+        }
+        return board;
+    }
+
+    static int[] naiveCount(Board board, int col, int row, int width, int height) {
+        int[] counts = new int[CellCodec.PLAYER + 1];
+        for (int r = row; r < row + height; r++) {
+            for (int c = col; c < col + width; c++) {
+                Token t = board.peekToken(c, r);
+                if (t != null) {
+                    counts[CellCodec.typeOf(t)]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Test
+    void fill_is_clipped_to_the_board() {
+        for (IntFunction<Board> backend : BACKENDS) {
+            Board board = backend.apply(10);
+            Token anvil = new AnvilToken();
+            board.fill(new Board.Rect(7, -2, 5, 4), anvil);
+            for (int row = 0; row < 10; row++) {
+                for (int col = 0; col < 10; col++) {
+                    boolean inside = col >= 7 && row < 2;
+                    Assertions.assertEquals(inside, board.peekToken(col, row) instanceof AnvilToken);
+                }
+            }
+            board.fill(new Board.Rect(20, 20, 3, 3), anvil);
+            Assertions.assertEquals(6, board.count(Board.Rect.of(board), CellCodec.ANVIL));
+        }
+    }
+
+    @Test
+    void counts_match_a_per_cell_scan() {
+        for (IntFunction<Board> backend : BACKENDS) {
+            Board board = scatter(backend, 37, 1);
+            int[][] rects = {{0, 0, 37, 37}, {3, 5, 17, 9}, {30, 30, 20, 20}, {-4, 2, 9, 1}, {11, 0, 1, 37}};
+            for (int[] q : rects) {
+                Board.Rect rect = new Board.Rect(q[0], q[1], q[2], q[3]);
+                int[] expected = naiveCount(board, q[0], q[1], q[2], q[3]);
+                Assertions.assertArrayEquals(expected, board.countByType(rect));
+                for (int type = CellCodec.EMPTY; type <= CellCodec.PLAYER; type++) {
+                    Assertions.assertEquals(expected[type], board.count(rect, type));
+                }
+            }
+        }
+    }
+
+    @Test
+    void overlapping_copy_behaves_like_a_copy_through_a_buffer() {
+        int[][] moves = {{2, 3, 5, 6}, {5, 6, 2, 3}, {0, 4, 3, 4}, {3, 4, 0, 4}, {4, 0, 4, 3}};
+        for (IntFunction<Board> backend : BACKENDS) {
+            for (int[] m : moves) {
+                Board board = scatter(backend, 20, 2);
+                Board before = scatter(Board::new, 20, 2);
+                board.copyRegion(board, new Board.Rect(m[0], m[1], 10, 9), m[2], m[3]);
+                for (int row = 0; row < 20; row++) {
+                    for (int col = 0; col < 20; col++) {
+                        int srcCol = col - m[2] + m[0];
+                        int srcRow = row - m[3] + m[1];
+                        boolean copied = col >= m[2] && col < m[2] + 10 && row >= m[3] && row < m[3] + 9;
+                        Token expected = before.peekToken(copied ? srcCol : col, copied ? srcRow : row);
+                        Assertions.assertEquals(CellCodec.typeOf(expected), CellCodec.typeOf(board.peekToken(col, row)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void copy_between_backends_is_clipped_and_shares_tokens() {
+        Board source = scatter(Board::new, 8, 3);
+        Board target = new Board(5);
+        target.copyRegion(source, new Board.Rect(-1, 2, 8, 8), 0, 0);
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 5; col++) {
+                Token expected = col == 0 ? new EmptyToken() : source.peekToken(col - 1, row + 2);
+                Assertions.assertEquals(CellCodec.typeOf(expected), CellCodec.typeOf(target.peekToken(col, row)));
+            }
+        }
+        Assertions.assertSame(source.peekToken(0, 2), target.peekToken(1, 0));
+
+        Board offHeap = Board.offHeap(8);
+        offHeap.copyRegion(source, Board.Rect.of(source), 0, 0);
+        Assertions.assertArrayEquals(source.countByType(Board.Rect.of(source)), offHeap.countByType(Board.Rect.of(offHeap)));
+    }
+
+    @Test
+    void region_writes_notify_listeners_once() {
+        Board board = new Board(10);
+        int[] seen = new int[5];
+        board.addCellListener(new CellListener() {
+            @Override
+            public void onCellChanged(int col, int row, Token token) {
+                seen[0]++;
+            }
+
+            @Override
+            public void onRegionChanged(int col, int row, int width, int height) {
+                seen[1]++;
+                seen[2] = col;
+                seen[3] = width;
+                seen[4] = height;
+            }
+        });
+        long version = board.version();
+        board.fill(new Board.Rect(8, 8, 4, 4), new WaterToken());
+        Assertions.assertArrayEquals(new int[] {0, 1, 8, 2, 2}, seen);
+        Assertions.assertTrue(board.version() > version);
+        board.copyRegion(board, new Board.Rect(0, 0, 3, 3), 20, 20);
+        Assertions.assertEquals(1, seen[1]);
+    }
+}
@@ -0,0 +1,159 @@
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.bot.BotPool;
+import edu.io.bot.GreedyGoldPolicy;
+import edu.io.bot.Observation;
+import edu.io.bot.SurviveByWaterPolicy;
+import edu.io.player.Player;
+import edu.io.storage.CellCodec;
+import edu.io.token.GoldToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.WaterToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+class BotPoolTest {
+    @Test
+    void greedy_bot_walks_to_visible_gold() {
+        Board board = new Board(10);
+        board.placeToken(6, 2, new GoldToken(1.0));
+        try (BotPool bots = new BotPool(board, 2, 5, TimeUnit.SECONDS.toNanos(1), 1)) {
+            Player player = new Player();
+            player.assignToken(new PlayerToken(player, board, 2, 5));
+            bots.add(player, new GreedyGoldPolicy());
+            for (int t = 0; t < 7; t++) {
+                bots.tick();
+            }
+            Assertions.assertEquals(1.0, player.gold.amount());
+            Assertions.assertEquals(7, bots.stats().decisions());
+        }
+    }
+
+    @Test
+    void gold_one_step_up_and_left_is_found() {
+        Board board = new Board(10);
+        board.placeToken(4, 4, new GoldToken(1.0));
+        long[] found = new long[1];
+        try (BotPool bots = new BotPool(board, 2, 3, TimeUnit.SECONDS.toNanos(1), 1)) {
+            Player player = new Player();
+            player.assignToken(new PlayerToken(player, board, 5, 5));
+            bots.add(player, view -> {
+                found[0] = view.nearest(CellCodec.GOLD);
+                return Observation.toward(found[0]);
+            });
+            bots.tick();
+        }
+        Assertions.assertEquals(PackedCoords.pack(-1, -1), found[0]);
+        Assertions.assertNotEquals(Observation.NOT_FOUND, found[0]);
+    }
+
+    @Test
+    void bots_observe_every_board_backend() {
+        for (Board board : new Board[] {Board.offHeap(12), Board.persistent(12)}) {
+            board.placeToken(6, 2, new GoldToken(1.0));
+            try (BotPool bots = new BotPool(board, 2, 5, TimeUnit.SECONDS.toNanos(1), 1)) {
+                Player player = new Player();
+                player.assignToken(new PlayerToken(player, board, 2, 5));
+                bots.add(player, new GreedyGoldPolicy());
+                for (int t = 0; t < 7; t++) {
+                    bots.tick();
+                }
+                Assertions.assertEquals(1.0, player.gold.amount());
+                Assertions.assertEquals(0, bots.stats().failed());
+            }
+        }
+    }
+
+    @Test
+    void thirsty_bot_prefers_water_over_gold() {
+        Board board = new Board(10);
+        board.placeToken(3, 3, new GoldToken(1.0));
+        board.placeToken(7, 3, new WaterToken(20));
+        try (BotPool bots = new BotPool(board, 2, 4, TimeUnit.SECONDS.toNanos(1), 1)) {
+            Player player = new Player();
+            player.assignToken(new PlayerToken(player, board, 5, 3));
+            player.vitals.dehydrate(60);
+            bots.add(player, new SurviveByWaterPolicy());
+            bots.tick();
+            bots.tick();
+            Assertions.assertTrue(player.vitals.hydration() > 40);
+            Assertions.assertEquals(0.0, player.gold.amount());
+        }
+    }
+
+    @Test
+    void over_budget_and_failing_decisions_are_dropped() {
+        Board board = new Board(10);
+        try (BotPool bots = new BotPool(board, 2, 2, TimeUnit.MILLISECONDS.toNanos(1), 1)) {
+            Player slow = new Player();
+            slow.assignToken(new PlayerToken(slow, board, 1, 1));
+            Player broken = new Player();
+            broken.assignToken(new PlayerToken(broken, board, 5, 5));
+            bots.add(slow, view -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return PlayerToken.Move.RIGHT;
+            });
+            bots.add(broken, view -> {
+                throw new IllegalStateException("bug");
+            });
+            bots.tick();
+            Assertions.assertEquals(1, bots.stats().overBudget());
+            Assertions.assertEquals(1, bots.stats().failed());
+            Assertions.assertEquals(board.peekToken(1, 1), slow.token());
+            Assertions.assertEquals(board.peekToken(5, 5), broken.token());
+        }
+    }
+
+    @Test
+    void thousands_of_bots_share_the_pool() {
+        int size = 256;
+        int count = 4000;
+        int ticks = 20;
+        Board board = new Board(size);
+        SplittableRandom rng = new SplittableRandom(5);
+        for (int i = 0; i < size * size / 10; i++) {
+            board.placeToken(rng.nextInt(size), rng.nextInt(size), i % 2 == 0 ? new GoldToken(2.0, 1.0) : new WaterToken(40));
+        }
+        try (BotPool bots = new BotPool(board, Runtime.getRuntime().availableProcessors(), 4,
+                TimeUnit.MILLISECONDS.toNanos(50), 7)) {
+            for (int i = 0; i < count; i++) {
+                int col;
+                int row;
+                do {
+                    col = rng.nextInt(size);
+                    row = rng.nextInt(size);
+                } while (board.peekToken(col, row) instanceof PlayerToken);
+                Player player = new Player();
+                player.assignToken(new PlayerToken(player, board, col, row));
+                bots.add(player, i % 2 == 0 ? new GreedyGoldPolicy() : new SurviveByWaterPolicy());
+            }
+            for (int t = 0; t < ticks; t++) {
+                bots.tick();
+            }
+            Assertions.assertEquals(count, bots.bots());
+            Assertions.assertEquals((long) count * ticks, bots.stats().decisions());
+            double gold = 0;
+            for (int id = 0; id < count; id++) {
+                gold += bots.player(id).gold.amount();
+            }
+            Assertions.assertTrue(gold > 0);
+            Assertions.assertTrue(bots.stats().percentileMicros(99) <= bots.stats().percentileMicros(99.9));
+            // every bot still stands where it thinks it does, and no token was overwritten
+            for (int id = 0; id < count; id++) {
+                PlayerToken token = bots.player(id).token();
+                Assertions.assertSame(token, board.peekToken(token.pos().col(), token.pos().row()));
+            }
+            Assertions.assertEquals(count, board.cells().filter(c -> c.token() instanceof PlayerToken).count());
+            Assertions.assertEquals(0, bots.stats().failed());
+            Assertions.assertEquals(0, bots.stats().invalidMoves());
+            Assertions.assertTrue(bots.stats().decisionsPerSecond() > 0);
+        }
+    }
+}
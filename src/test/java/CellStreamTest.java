@@ -0,0 +1,104 @@
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.storage.CellCodec;
+import edu.io.storage.WorldTemplate;
+import edu.io.token.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+class CellStreamTest {
+    static final List<IntFunction<Board>> BACKENDS = List.of(Board::new, Board::offHeap, Board::persistent);
+
+    @Test
+    void cells_visit_every_cell_in_row_major_order() {
+        for (IntFunction<Board> backend : BACKENDS) {
+            Board board = BoardRegionTest.scatter(backend, 13, 3);
+            List<Board.Cell> cells = board.cells().collect(Collectors.toList());
+            Assertions.assertEquals(13 * 13, cells.size());
+            for (int i = 0; i < cells.size(); i++) {
+                Board.Cell cell = cells.get(i);
+                Assertions.assertEquals(PackedCoords.pack(i % 13, i / 13), cell.pos());
+                // off-heap cells decode a fresh token per read
+                Assertions.assertEquals(board.peekToken(cell.pos()).getClass(), cell.token().getClass());
+            }
+        }
+    }
+
+    @Test
+    void parallel_stream_matches_sequential() {
+        List<IntFunction<Board>> backends = new ArrayList<>(BACKENDS);
+        backends.add(size -> WorldTemplate.of(BoardRegionTest.scatter(Board::new, size, 5)).instantiate());
+        for (IntFunction<Board> backend : backends) {
+            Board board = BoardRegionTest.scatter(backend, 97, 5);
+            List<Long> sequential = board.cells().map(Board.Cell::pos).collect(Collectors.toList());
+            List<Long> parallel = board.cells().parallel().map(Board.Cell::pos).collect(Collectors.toList());
+            Assertions.assertEquals(sequential, parallel);
+            Assertions.assertEquals(board.count(Board.Rect.of(board), CellCodec.GOLD),
+                    board.positions(CellCodec.GOLD).parallel().count());
+        }
+    }
+
+    @Test
+    void type_filter_matches_region_counts() {
+        for (IntFunction<Board> backend : BACKENDS) {
+            Board board = BoardRegionTest.scatter(backend, 31, 7);
+            int[] counts = board.countByType(Board.Rect.of(board));
+            for (int type = CellCodec.EMPTY; type <= CellCodec.PLAYER; type++) {
+                int t = type;
+                Assertions.assertEquals(counts[type], board.cells(type).count());
+                Assertions.assertTrue(board.cells(type).allMatch(c -> CellCodec.typeOf(c.token()) == t));
+                Assertions.assertArrayEquals(board.cells(type).mapToLong(Board.Cell::pos).toArray(),
+                        board.positions(type).toArray());
+            }
+        }
+    }
+
+    @Test
+    void splits_are_whole_row_blocks_and_sized() {
+        Board board = new Board(10);
+        Spliterator<Board.Cell> all = board.cells().spliterator();
+        Assertions.assertTrue(all.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        Assertions.assertEquals(100, all.getExactSizeIfKnown());
+        Spliterator<Board.Cell> prefix = all.trySplit();
+        Assertions.assertNotNull(prefix);
+        Assertions.assertEquals(50, prefix.getExactSizeIfKnown());
+        Assertions.assertEquals(50, all.getExactSizeIfKnown());
+        prefix.tryAdvance(c -> Assertions.assertEquals(PackedCoords.pack(0, 0), c.pos()));
+        all.tryAdvance(c -> Assertions.assertEquals(PackedCoords.pack(0, 5), c.pos()));
+
+        Spliterator<Board.Cell> gold = board.cells(CellCodec.GOLD).spliterator();
+        Assertions.assertFalse(gold.hasCharacteristics(Spliterator.SIZED));
+    }
+
+    @Test
+    void split_keeps_the_partly_read_row() {
+        Board board = new Board(4);
+        Spliterator<Board.Cell> cells = board.cells().spliterator();
+        for (int i = 0; i < 6; i++) {
+            cells.tryAdvance(c -> {});
+        }
+        Spliterator<Board.Cell> prefix = cells.trySplit();
+        Assertions.assertNotNull(prefix);
+        long[] seen = new long[16];
+        int[] n = {0};
+        prefix.forEachRemaining(c -> seen[n[0]++] = c.pos());
+        cells.forEachRemaining(c -> seen[n[0]++] = c.pos());
+        Assertions.assertEquals(10, n[0]);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(PackedCoords.pack((i + 6) % 4, (i + 6) / 4), seen[i]);
+        }
+    }
+
+    @Test
+    void unknown_type_is_rejected() {
+        Board board = new Board(4);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> board.cells(42));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> board.positions(-2));
+    }
+}
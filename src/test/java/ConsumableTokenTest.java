@@ -0,0 +1,207 @@
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.token.EmptyToken;
+import edu.io.token.GoldToken;
+import edu.io.token.PickaxeToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.WaterToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ConsumableTokenTest {
+    static final int THREADS = 8;
+
+    @Test
+    void water_is_drunk_partially() {
+        WaterToken water = new WaterToken(30);
+        Assertions.assertEquals(20, water.drink(20));
+        Assertions.assertEquals(10, water.drink(20));
+        Assertions.assertEquals(0, water.drink(20));
+        Assertions.assertTrue(water.isExhausted());
+    }
+
+    @Test
+    void gold_vein_takes_several_hits() {
+        GoldToken vein = new GoldToken(5.0, 2.0);
+        Assertions.assertEquals(2.0, vein.mine());
+        Assertions.assertEquals(2.0, vein.mine());
+        Assertions.assertEquals(1.0, vein.mine());
+        Assertions.assertTrue(vein.isExhausted());
+    }
+
+    @Test
+    void player_stays_until_vein_is_exhausted() {
+        Board board = new Board();
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+        GoldToken vein = new GoldToken(3.0, 1.0);
+        board.placeToken(1, 0, vein);
+        player.token().move(PlayerToken.Move.RIGHT);
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(0, player.token().pos().col());
+        Assertions.assertEquals(vein, board.peekToken(1, 0));
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(1, player.token().pos().col());
+        Assertions.assertEquals(3.0, player.gold.amount());
+    }
+
+    @Test
+    void full_player_walks_onto_water() {
+        Board board = new Board();
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+        board.placeToken(1, 0, new WaterToken(10));
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(1, player.token().pos().col());
+        Assertions.assertEquals(100, player.vitals.hydration());
+    }
+
+    @Test
+    void player_enters_once_drinking_leaves_nothing_to_take() {
+        Board board = new Board();
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+        player.vitals.dehydrate(50);
+        WaterToken water = new WaterToken(30);
+        board.placeToken(1, 0, water);
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(1, player.token().pos().col());
+        Assertions.assertEquals(80, player.vitals.hydration());
+        Assertions.assertTrue(water.isExhausted());
+
+        board.placeToken(2, 0, new WaterToken(100));
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(2, player.token().pos().col());
+        Assertions.assertEquals(100, player.vitals.hydration());
+    }
+
+    @Test
+    void concurrent_drinking_never_double_counts() throws Exception {
+        Board board = new Board();
+        WaterToken water = new WaterToken(100);
+        board.placeToken(3, 3, water);
+        AtomicLong drunk = new AtomicLong();
+        AtomicInteger removals = new AtomicInteger();
+        runConcurrently(() -> {
+            while (!water.isExhausted()) {
+                drunk.addAndGet(water.drink(1));
+            }
+            if (board.removeToken(3, 3, water)) {
+                removals.incrementAndGet();
+            }
+        });
+        Assertions.assertEquals(100, drunk.get());
+        Assertions.assertEquals(1, removals.get());
+        Assertions.assertInstanceOf(EmptyToken.class, board.peekToken(3, 3));
+    }
+
+    @Test
+    void concurrent_mining_never_double_counts() throws Exception {
+        Board board = new Board();
+        GoldToken vein = new GoldToken(5000.0, 0.5);
+        board.placeToken(4, 4, vein);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            players.add(new Player());
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger removals = new AtomicInteger();
+        runConcurrently(() -> {
+            Player player = players.get(next.getAndIncrement());
+            while (!vein.isExhausted()) {
+                player.gold.gain(vein.mine());
+            }
+            if (board.removeToken(4, 4, vein)) {
+                removals.incrementAndGet();
+            }
+        });
+        double total = players.stream().mapToDouble(p -> p.gold.amount()).sum();
+        Assertions.assertEquals(5000.0, total);
+        Assertions.assertEquals(1, removals.get());
+    }
+
+    @Test
+    void concurrent_moves_onto_a_vein_remove_it_once() throws Exception {
+        int[][] sides = {{4, 3, 2}, {4, 5, 1}, {3, 4, 4}, {5, 4, 3}};
+        for (int round = 0; round < 200; round++) {
+            Board board = new Board();
+            board.placeToken(4, 4, new GoldToken(20.0, 0.5));
+            AtomicInteger removals = new AtomicInteger();
+            board.addCellListener((col, row, token) -> {
+                if (col == 4 && row == 4 && token instanceof EmptyToken) {
+                    removals.incrementAndGet();
+                }
+            });
+            List<Player> players = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            for (int[] side : sides) {
+                Player player = new Player();
+                player.assignToken(new PlayerToken(player, board, side[0], side[1]));
+                players.add(player);
+                PlayerToken.Move toward = PlayerToken.Move.values()[side[2]];
+                Thread t = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    // stop once this player stands on the vein cell, so only removals write Empty there
+                    while (board.peekToken(4, 4) instanceof GoldToken) {
+                        player.token().move(toward);
+                    }
+                });
+                t.start();
+                threads.add(t);
+            }
+            start.countDown();
+            for (Thread t : threads) {
+                t.join();
+            }
+            double total = players.stream().mapToDouble(p -> p.gold.amount()).sum();
+            Assertions.assertEquals(20.0, total);
+            Assertions.assertEquals(1, removals.get());
+        }
+    }
+
+    @Test
+    void concurrent_pickaxe_use_respects_durability() throws Exception {
+        PickaxeToken pickaxe = new PickaxeToken(1.5, 10_000);
+        AtomicInteger uses = new AtomicInteger();
+        runConcurrently(() -> {
+            while (pickaxe.tryUse()) {
+                uses.incrementAndGet();
+            }
+        });
+        Assertions.assertEquals(10_000, uses.get());
+        Assertions.assertEquals(0, pickaxe.durability());
+    }
+
+    // -- utils
+    void runConcurrently(Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                task.run();
+            });
+            t.start();
+            threads.add(t);
+        }
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.token.GoldToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.PlayerToken.Move;
+import edu.io.token.PlayerToken.PathResult;
+import edu.io.token.PlayerToken.PathStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExecutePathTest {
+    Board board;
+    Player player;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+    }
+
+    @Test
+    void completes_legal_path() {
+        board.placeToken(2, 0, new GoldToken(3.0));
+        PathResult result = player.token().executePath(new Move[] {Move.RIGHT, Move.RIGHT, Move.DOWN, Move.NONE});
+        Assertions.assertEquals(PathStatus.COMPLETED, result.status());
+        Assertions.assertEquals(4, result.steps());
+        Assertions.assertEquals(3.0, result.goldGained());
+        Assertions.assertEquals(2, player.token().pos().col());
+        Assertions.assertEquals(1, player.token().pos().row());
+        Assertions.assertEquals(player.token(), board.peekToken(2, 1));
+    }
+
+    @Test
+    void stops_before_leaving_the_board() {
+        PathResult result = player.token().executePath(new Move[] {Move.DOWN, Move.LEFT, Move.DOWN});
+        Assertions.assertEquals(PathStatus.OUT_OF_BOUNDS, result.status());
+        Assertions.assertEquals(1, result.steps());
+        Assertions.assertEquals(1, player.token().pos().row());
+        Assertions.assertEquals(0, player.token().pos().col());
+    }
+
+    @Test
+    void stops_when_player_dies() {
+        player.vitals.dehydrate(98);
+        PathResult result = player.token().executePath(new Move[] {Move.RIGHT, Move.RIGHT, Move.RIGHT, Move.RIGHT});
+        Assertions.assertEquals(PathStatus.DIED, result.status());
+        Assertions.assertEquals(2, result.steps());
+        Assertions.assertEquals(2, result.hydrationLost());
+    }
+
+    @Test
+    void blocked_step_switches_to_checked_bounds() {
+        board.placeToken(1, 0, new GoldToken(2.0, 1.0));
+        // the first RIGHT is blocked by the vein, so the final LEFTs would leave the board
+        PathResult result = player.token().executePath(new Move[] {Move.RIGHT, Move.LEFT, Move.LEFT});
+        Assertions.assertEquals(PathStatus.OUT_OF_BOUNDS, result.status());
+        Assertions.assertEquals(1, result.steps());
+        Assertions.assertEquals(0, player.token().pos().col());
+    }
+
+    @Test
+    void rejects_null_past_the_first_out_of_bounds_step() {
+        Assertions.assertThrows(
+                NullPointerException.class,
+                () -> player.token().executePath(new Move[] {Move.RIGHT, Move.UP, null}));
+        Assertions.assertEquals(0, player.token().pos().col());
+        Assertions.assertEquals(100, player.vitals.hydration());
+    }
+
+    @Test
+    void matches_repeated_single_moves() {
+        Move[] path = {Move.RIGHT, Move.DOWN, Move.DOWN, Move.RIGHT, Move.UP, Move.LEFT};
+        Board other = new Board();
+        Player single = new Player();
+        single.assignToken(new PlayerToken(single, other, 0, 0));
+        for (Move m : path) {
+            single.token().move(m);
+        }
+        player.token().executePath(path);
+        Assertions.assertEquals(single.token().pos(), player.token().pos());
+        Assertions.assertEquals(single.vitals.hydration(), player.vitals.hydration());
+    }
+}
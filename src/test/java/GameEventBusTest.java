@@ -0,0 +1,113 @@
+import edu.io.event.GameEventBus;
+import edu.io.event.GoldListener;
+import edu.io.event.Subscription;
+import edu.io.interfaces.Tool;
+import edu.io.player.Player;
+import edu.io.player.Vitals;
+import edu.io.token.GoldToken;
+import edu.io.token.PickaxeToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class GameEventBusTest {
+    Player player;
+
+    @BeforeEach
+    void setUp() {
+        player = new Player();
+    }
+
+    @Test
+    void every_death_subscriber_is_notified() {
+        int[] calls = new int[2];
+        player.events.onDeath(() -> calls[0]++);
+        player.events.onDeath(() -> calls[1]++);
+        player.vitals.dehydrate(player.vitals.hydration());
+        Assertions.assertArrayEquals(new int[] {1, 1}, calls);
+    }
+
+    @Test
+    void setOnDeathHandler_is_an_adapter_over_the_bus() {
+        GameEventBus bus = new GameEventBus();
+        Vitals vitals = new Vitals(bus);
+        int[] calls = new int[2];
+        bus.onDeath(() -> calls[0]++);
+        vitals.setOnDeathHandler(() -> calls[1]++);
+        vitals.dehydrate(100);
+        Assertions.assertArrayEquals(new int[] {1, 1}, calls);
+    }
+
+    @Test
+    void hydration_changes_are_published() {
+        List<int[]> changes = new ArrayList<>();
+        player.events.onHydrationChanged((o, n) -> changes.add(new int[] {o, n}));
+        player.vitals.dehydrate(10);
+        player.vitals.hydrate(5);
+        player.vitals.hydrate(100);
+        Assertions.assertEquals(3, changes.size());
+        Assertions.assertArrayEquals(new int[] {100, 90}, changes.get(0));
+        Assertions.assertArrayEquals(new int[] {95, 100}, changes.get(2));
+    }
+
+    @Test
+    void gold_gains_are_published() {
+        double[] last = new double[2];
+        player.events.onGoldChanged((a, t) -> { last[0] = a; last[1] = t; });
+        player.interactWithToken(new GoldToken(2.0));
+        player.interactWithToken(new GoldToken(3.0));
+        Assertions.assertEquals(3.0, last[0]);
+        Assertions.assertEquals(5.0, last[1]);
+    }
+
+    @Test
+    void tool_break_is_published() {
+        List<Tool> broken = new ArrayList<>();
+        player.events.onToolBroken(broken::add);
+        PickaxeToken pickaxe = new PickaxeToken(1.5, 1);
+        player.interactWithToken(pickaxe);
+        player.interactWithToken(new GoldToken());
+        player.interactWithToken(new GoldToken());
+        Assertions.assertEquals(List.of(pickaxe), broken);
+    }
+
+    @Test
+    void async_listener_runs_on_executor() {
+        List<Runnable> queued = new ArrayList<>();
+        double[] seen = new double[1];
+        Subscription subscription = player.events.onGoldChangedAsync((a, t) -> seen[0] = t, queued::add);
+        player.gold.gain(4.0);
+        Assertions.assertEquals(0.0, seen[0]);
+        queued.forEach(Runnable::run);
+        Assertions.assertEquals(4.0, seen[0]);
+
+        queued.clear();
+        Assertions.assertTrue(subscription.cancel());
+        Assertions.assertFalse(subscription.cancel());
+        player.gold.gain(1.0);
+        Assertions.assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void gold_losses_are_published() {
+        double[] last = new double[2];
+        player.events.onGoldChanged((c, t) -> { last[0] = c; last[1] = t; });
+        player.gold.gain(5.0);
+        player.gold.lose(2.0);
+        Assertions.assertEquals(-2.0, last[0]);
+        Assertions.assertEquals(3.0, last[1]);
+    }
+
+    @Test
+    void unsubscribe_removes_listener() {
+        int[] calls = new int[1];
+        GoldListener l = (a, t) -> calls[0]++;
+        player.events.onGoldChanged(l);
+        Assertions.assertTrue(player.events.unsubscribe(l));
+        player.gold.gain(1.0);
+        Assertions.assertEquals(0, calls[0]);
+    }
+}
@@ -0,0 +1,103 @@
+import edu.io.PackedCoords;
+import edu.io.log.Backpressure;
+import edu.io.log.EventType;
+import edu.io.log.GameEventLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+class GameEventLogTest {
+
+    @Test
+    void drains_recorded_events_as_text() {
+        StringWriter out = new StringWriter();
+        try (GameEventLog log = new GameEventLog(out, 16, Backpressure.DROP, 1).start()) {
+            log.record(EventType.OUT_OF_BOUNDS, PackedCoords.pack(3, 4), 0);
+            log.record(EventType.INVALID_INPUT);
+            log.flush();
+        }
+        String text = out.toString();
+        Assertions.assertTrue(text.contains("OUT_OF_BOUNDS col=3 row=4 Cannot move outside the board"));
+        Assertions.assertTrue(text.contains("INVALID_INPUT Invalid direction."));
+        Assertions.assertEquals(2, text.lines().count());
+    }
+
+    @Test
+    void drop_policy_drops_when_full() {
+        StringWriter out = new StringWriter();
+        GameEventLog log = new GameEventLog(out, 4, Backpressure.DROP, 1);
+        for (int i = 0; i < 10; i++) {
+            log.record(EventType.MOVE);
+        }
+        Assertions.assertEquals(6, log.dropped());
+        log.close();
+        Assertions.assertEquals(4, out.toString().lines().count());
+    }
+
+    @Test
+    void block_policy_loses_nothing() {
+        StringWriter out = new StringWriter();
+        GameEventLog log = new GameEventLog(out, 4, Backpressure.BLOCK, 1).start();
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertTrue(log.record(EventType.MOVE, PackedCoords.NONE, i + 1));
+        }
+        log.close();
+        Assertions.assertEquals(0, log.dropped());
+        Assertions.assertEquals(1000, out.toString().lines().count());
+    }
+
+    @Test
+    void sample_policy_keeps_every_nth_event_under_pressure() {
+        StringWriter out = new StringWriter();
+        GameEventLog log = new GameEventLog(out, 8, Backpressure.SAMPLE, 2);
+        for (int i = 0; i < 8; i++) {
+            log.record(EventType.MOVE);
+        }
+        Assertions.assertEquals(6, log.pending());
+        Assertions.assertEquals(2, log.dropped());
+    }
+
+    @Test
+    void write_failure_stops_the_log_instead_of_blocking_forever() {
+        Writer broken = new Writer() {
+            @Override
+            public void write(char[] buf, int off, int len) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        GameEventLog log = new GameEventLog(broken, 4, Backpressure.BLOCK, 1).start();
+        for (int i = 0; i < 100; i++) {
+            log.record(EventType.MOVE);
+        }
+        Assertions.assertTrue(log.dropped() > 0);
+        Assertions.assertFalse(log.record(EventType.MOVE));
+        Assertions.assertEquals("disk full", log.failure().getMessage());
+        Assertions.assertThrows(UncheckedIOException.class, log::flush);
+        log.close();
+    }
+
+    @Test
+    void discarding_log_accepts_events() {
+        try (GameEventLog log = GameEventLog.discarding().start()) {
+            Assertions.assertTrue(log.record(EventType.MOVE));
+            log.flush();
+        }
+    }
+
+    @Test
+    void throws_on_bad_capacity() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new GameEventLog(new StringWriter(), 3, Backpressure.DROP, 1));
+    }
+}
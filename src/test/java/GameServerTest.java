@@ -0,0 +1,201 @@
+import edu.io.Board;
+import edu.io.api.GameServer;
+import edu.io.api.JsonWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class GameServerTest {
+    static GameServer start(Board board) {
+        return new GameServer(board, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)).start();
+    }
+
+    static HttpResponse<String> send(HttpClient client, GameServer server, String method, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void json_writer_separates_and_escapes() {
+        JsonWriter json = new JsonWriter(4);
+        json.beginObject()
+                .name("a").value(1)
+                .name("b").beginArray().value("x\"y").value(true).value(2.5).endArray()
+                .name("c").value("\u00e9")
+                .endObject();
+        Assertions.assertEquals("{\"a\":1,\"b\":[\"x\\\"y\",true,2.5],\"c\":\"\\u00e9\"}",
+                new String(json.toByteArray(), StandardCharsets.US_ASCII));
+        Assertions.assertEquals("[-42]", new String(json.reset().beginArray().value(-42).endArray().toByteArray(),
+                StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void join_move_and_read_state() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        try (GameServer server = start(new Board(8))) {
+            HttpResponse<String> joined = send(client, server, "POST", "/players");
+            Assertions.assertEquals(201, joined.statusCode());
+            Assertions.assertTrue(joined.body().startsWith("{\"id\":0,\"col\":0,\"row\":0,"));
+
+            HttpResponse<String> moved = send(client, server, "POST", "/players/0/move?dir=RIGHT");
+            Assertions.assertEquals(200, moved.statusCode());
+            Assertions.assertTrue(moved.body().contains("\"col\":1"));
+
+            HttpResponse<String> state = send(client, server, "GET", "/players/0");
+            Assertions.assertEquals(moved.body(), state.body());
+            Assertions.assertEquals("application/json", state.headers().firstValue("Content-Type").orElse(""));
+        }
+    }
+
+    @Test
+    void board_region_lists_labels_row_by_row() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        try (GameServer server = start(new Board(8))) {
+            send(client, server, "POST", "/players");
+            HttpResponse<String> region = send(client, server, "GET", "/board?col=0&row=0&width=2&height=1");
+            Assertions.assertEquals(200, region.statusCode());
+            Assertions.assertEquals("{\"col\":0,\"row\":0,\"width\":2,\"height\":1,\"cells\":[[\"\\uc637\",\"\\u30fb\"]]}",
+                    region.body());
+        }
+    }
+
+    @Test
+    void fogged_board_sends_nulls_for_hidden_cells() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        try (GameServer server = new GameServer(new Board(8), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0).start()) {
+            send(client, server, "POST", "/players");
+            Assertions.assertEquals(400, send(client, server, "GET", "/board?col=0&row=0&width=2&height=1").statusCode());
+            HttpResponse<String> region = send(client, server, "GET", "/board?col=0&row=0&width=2&height=1&player=0");
+            Assertions.assertEquals(200, region.statusCode());
+            Assertions.assertEquals("{\"col\":0,\"row\":0,\"width\":2,\"height\":1,\"cells\":[[\"\\uc637\",null]]}",
+                    region.body());
+        }
+    }
+
+    @Test
+    void default_region_is_clamped_on_large_boards() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        try (GameServer server = start(new Board(300))) {
+            HttpResponse<String> region = send(client, server, "GET", "/board?col=10&row=0");
+            Assertions.assertEquals(200, region.statusCode());
+            Assertions.assertTrue(region.body().contains("\"width\":256"));
+            Assertions.assertTrue(region.body().contains("\"height\":256"));
+        }
+    }
+
+    @Test
+    void bad_requests_get_error_codes() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        try (GameServer server = start(new Board(4))) {
+            send(client, server, "POST", "/players");
+            Assertions.assertEquals(404, send(client, server, "GET", "/players/7").statusCode());
+            Assertions.assertEquals(404, send(client, server, "GET", "/nowhere").statusCode());
+            Assertions.assertEquals(405, send(client, server, "GET", "/players/0/move?dir=UP").statusCode());
+            Assertions.assertEquals(400, send(client, server, "POST", "/players/0/move?dir=SIDEWAYS").statusCode());
+            Assertions.assertEquals(400, send(client, server, "POST", "/players/0/move?dir=UP").statusCode());
+            Assertions.assertEquals(400, send(client, server, "GET", "/board?col=9").statusCode());
+            Assertions.assertEquals(400, send(client, server, "GET", "/players/x").statusCode());
+        }
+    }
+
+    // keep-alive raw socket client, so the measurement is not dominated by HttpClient overhead
+    static int hammer(GameServer server, String method, String path, int requests, Set<Integer> expected)
+            throws Exception {
+        byte[] request = (method + " " + path + " HTTP/1.1\r\nHost: localhost\r\nContent-Length: 0\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        int ok = 0;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            for (int n = 0; n < requests; n++) {
+                out.write(request);
+                out.flush();
+                String status = line(in);
+                int length = 0;
+                for (String header = line(in); !header.isEmpty(); header = line(in)) {
+                    if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                        length = Integer.parseInt(header.substring(15).trim());
+                    }
+                }
+                in.readFully(new byte[length]);
+                if (expected.contains(Integer.parseInt(status.substring(9, 12)))) {
+                    ok++;
+                }
+            }
+        }
+        return ok;
+    }
+
+    static String line(DataInputStream in) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int c = in.read(); c != '\n'; c = in.read()) {
+            if (c < 0) {
+                throw new EOFException();
+            }
+            if (c != '\r') {
+                sb.append((char) c);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void load_test_on_loopback() throws Exception {
+        int clients = 32;
+        int perClient = 1000;
+        HttpClient client = HttpClient.newHttpClient();
+        try (GameServer server = start(new Board(64))) {
+            for (int i = 0; i < clients; i++) {
+                send(client, server, "POST", "/players");
+            }
+            AtomicInteger ok = new AtomicInteger();
+            List<Thread> threads = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < clients; i++) {
+                // a quarter each: region reads, moves, and two quarters of player reads; moves turn into
+                // 400 at the edge and 409 once the player has died of thirst, both still served
+                String method = i % 4 == 1 ? "POST" : "GET";
+                String path = i % 4 == 0 ? "/board?col=0&row=0&width=16&height=16"
+                        : i % 4 == 1 ? "/players/" + i + "/move?dir=" + (i % 8 == 1 ? "LEFT" : "RIGHT")
+                        : "/players/" + i;
+                Set<Integer> expected = i % 4 == 1 ? Set.of(200, 400, 409) : Set.of(200);
+                Thread t = new Thread(() -> {
+                    try {
+                        ok.addAndGet(hammer(server, method, path, perClient, expected));
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                t.start();
+                threads.add(t);
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            Assertions.assertEquals(clients * perClient, ok.get());
+            // generous floor: a single loaded core does several thousand
+            Assertions.assertTrue(ok.get() / seconds > 1000, "req/s " + ok.get() / seconds);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.path.HierarchicalPathfinder;
+import edu.io.path.Path;
+import edu.io.player.Player;
+import edu.io.token.AnvilToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+class HierarchicalPathfinderTest {
+    static final Predicate<Token> NO_ANVIL = token -> !(token instanceof AnvilToken);
+
+    static void wall(Board board, int col, int fromRow, int toRow, int gapRow) {
+        for (int row = fromRow; row <= toRow; row++) {
+            if (row != gapRow) {
+                board.placeToken(col, row, new AnvilToken());
+            }
+        }
+    }
+
+    static long walk(Board board, long from, PlayerToken.Move[] moves) {
+        int col = PackedCoords.col(from);
+        int row = PackedCoords.row(from);
+        for (PlayerToken.Move move : moves) {
+            col += move == PlayerToken.Move.LEFT ? -1 : move == PlayerToken.Move.RIGHT ? 1 : 0;
+            row += move == PlayerToken.Move.UP ? -1 : move == PlayerToken.Move.DOWN ? 1 : 0;
+            Assertions.assertTrue(board.contains(col, row));
+            Assertions.assertFalse(board.peekToken(col, row) instanceof AnvilToken);
+        }
+        return PackedCoords.pack(col, row);
+    }
+
+    static int shortest(Board board, long from, long to) {
+        int[] dist = new int[board.size() * board.size()];
+        Arrays.fill(dist, -1);
+        ArrayDeque<Long> queue = new ArrayDeque<>();
+        long[] next = new long[4];
+        dist[PackedCoords.row(from) * board.size() + PackedCoords.col(from)] = 0;
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            long pos = queue.poll();
+            int d = dist[PackedCoords.row(pos) * board.size() + PackedCoords.col(pos)];
+            for (int i = board.neighbors(pos, next) - 1; i >= 0; i--) {
+                int cell = PackedCoords.row(next[i]) * board.size() + PackedCoords.col(next[i]);
+                if (dist[cell] < 0 && !(board.peekToken(next[i]) instanceof AnvilToken)) {
+                    dist[cell] = d + 1;
+                    queue.add(next[i]);
+                }
+            }
+        }
+        return dist[PackedCoords.row(to) * board.size() + PackedCoords.col(to)];
+    }
+
+    @Test
+    void path_across_open_board_reaches_goal() {
+        Board board = new Board(40);
+        try (HierarchicalPathfinder finder = new HierarchicalPathfinder(board, 8, NO_ANVIL)) {
+            long from = PackedCoords.pack(1, 2);
+            long to = PackedCoords.pack(37, 35);
+            PlayerToken.Move[] moves = finder.findPath(from, to).remaining();
+            Assertions.assertEquals(to, walk(board, from, moves));
+            Assertions.assertTrue(moves.length <= shortest(board, from, to) * 5 / 4);
+        }
+    }
+
+    @Test
+    void path_goes_through_gaps_in_walls() {
+        Board board = new Board(32);
+        wall(board, 10, 0, 31, 28);
+        wall(board, 20, 0, 31, 3);
+        try (HierarchicalPathfinder finder = new HierarchicalPathfinder(board, 8, NO_ANVIL)) {
+            long from = PackedCoords.pack(0, 0);
+            long to = PackedCoords.pack(31, 31);
+            Path path = finder.findPath(from, to);
+            PlayerToken.Move[] moves = path.remaining();
+            Assertions.assertEquals(to, walk(board, from, moves));
+            Assertions.assertTrue(moves.length <= shortest(board, from, to) * 5 / 4);
+        }
+    }
+
+    @Test
+    void unreachable_goal_returns_null() {
+        Board board = new Board(24);
+        wall(board, 12, 0, 23, -1);
+        try (HierarchicalPathfinder finder = new HierarchicalPathfinder(board, 6, NO_ANVIL)) {
+            Assertions.assertNull(finder.findPath(PackedCoords.pack(0, 0), PackedCoords.pack(23, 23)));
+            Assertions.assertNotNull(finder.findPath(PackedCoords.pack(0, 0), PackedCoords.pack(11, 23)));
+        }
+    }
+
+    @Test
+    void cell_changes_rebuild_only_touched_chunks() {
+        Board board = new Board(32);
+        try (HierarchicalPathfinder finder = new HierarchicalPathfinder(board, 8, NO_ANVIL)) {
+            long from = PackedCoords.pack(0, 12);
+            long to = PackedCoords.pack(31, 12);
+            Assertions.assertNotNull(finder.findPath(from, to));
+            long before = finder.rebuiltChunks();
+            Assertions.assertEquals(16, before);
+
+            wall(board, 13, 9, 14, -1);
+            Path detour = finder.findPath(from, to);
+            Assertions.assertEquals(1, finder.rebuiltChunks() - before);
+            Assertions.assertEquals(to, walk(board, from, detour.remaining()));
+
+            wall(board, 16, 0, 31, 30);
+            Path around = finder.findPath(from, to);
+            PlayerToken.Move[] moves = around.remaining();
+            Assertions.assertEquals(to, walk(board, from, moves));
+            Assertions.assertTrue(moves.length >= 31 + 2 * 18);
+        }
+    }
+
+    @Test
+    void section_blocked_after_planning_returns_null() {
+        Board board = new Board(16);
+        try (HierarchicalPathfinder finder = new HierarchicalPathfinder(board, 4, NO_ANVIL)) {
+            Path path = finder.findPath(PackedCoords.pack(0, 0), PackedCoords.pack(15, 0));
+            Assertions.assertNotNull(path.nextSection());
+            wall(board, 4, 0, 15, -1);
+            wall(board, 5, 0, 15, -1);
+            Assertions.assertNull(path.remaining());
+        }
+    }
+
+    @Test
+    void repeated_queries_reuse_refined_sections() {
+        Board board = new Board(48);
+        try (HierarchicalPathfinder finder = new HierarchicalPathfinder(board, 8, NO_ANVIL)) {
+            long from = PackedCoords.pack(2, 3);
+            long to = PackedCoords.pack(45, 44);
+            PlayerToken.Move[] first = finder.findPath(from, to).remaining();
+            Assertions.assertEquals(0, finder.cacheHits());
+            PlayerToken.Move[] second = finder.findPath(from, to).remaining();
+            Assertions.assertTrue(finder.cacheHits() > 0);
+            Assertions.assertArrayEquals(first, second);
+        }
+    }
+
+    @Test
+    void player_can_follow_path() {
+        Board board = new Board(30);
+        wall(board, 15, 0, 29, 22);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 1, 1));
+        try (HierarchicalPathfinder finder = new HierarchicalPathfinder(board, 6, NO_ANVIL)) {
+            Path path = finder.findPath(player.token().packedPos(), PackedCoords.pack(28, 2));
+            while (path.hasNext()) {
+                player.token().executePath(path.nextSection());
+            }
+            Assertions.assertEquals(PackedCoords.pack(28, 2), player.token().packedPos());
+        }
+    }
+}
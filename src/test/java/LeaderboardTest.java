@@ -0,0 +1,139 @@
+import edu.io.player.Player;
+import edu.io.rank.Leaderboard;
+import edu.io.rank.Standing;
+import edu.io.token.GoldToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+class LeaderboardTest {
+    Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new Leaderboard();
+    }
+
+    @Test
+    void top_k_is_ordered_by_gold() {
+        leaderboard.update(1, 5.0);
+        leaderboard.update(2, 9.0);
+        leaderboard.update(3, 1.0);
+        leaderboard.update(3, 7.0);
+        Assertions.assertEquals(
+                List.of(new Standing(2, 9.0), new Standing(3, 7.0)),
+                leaderboard.top(2));
+        Assertions.assertEquals(3, leaderboard.top(10).size());
+    }
+
+    @Test
+    void rank_of_player() {
+        leaderboard.update(1, 5.0);
+        leaderboard.update(2, 9.0);
+        leaderboard.update(3, 7.0);
+        Assertions.assertEquals(1, leaderboard.rank(2));
+        Assertions.assertEquals(3, leaderboard.rank(1));
+        Assertions.assertEquals(-1, leaderboard.rank(42));
+    }
+
+    @Test
+    void tracks_gold_events() {
+        Player player = new Player();
+        leaderboard.track(7, player);
+        player.interactWithToken(new GoldToken(4.0));
+        Assertions.assertEquals(4.0, leaderboard.gold(7));
+    }
+
+    @Test
+    void removed_player_stays_removed_after_gold_changes() {
+        Player player = new Player();
+        leaderboard.track(7, player);
+        player.gold.gain(3.0);
+        leaderboard.remove(7);
+        player.gold.gain(2.0);
+        Assertions.assertEquals(-1, leaderboard.rank(7));
+        Assertions.assertEquals(0, leaderboard.size());
+    }
+
+    @Test
+    void tracking_an_id_again_drops_the_old_player() {
+        Player before = new Player();
+        Player after = new Player();
+        leaderboard.track(7, before);
+        leaderboard.track(7, after);
+        before.gold.gain(9.0);
+        after.gold.gain(2.0);
+        Assertions.assertEquals(2.0, leaderboard.gold(7));
+    }
+
+    @Test
+    void gold_losses_move_a_player_down() {
+        Player rich = new Player();
+        Player poor = new Player();
+        leaderboard.track(1, rich);
+        leaderboard.track(2, poor);
+        rich.gold.gain(10.0);
+        poor.gold.gain(6.0);
+        Assertions.assertEquals(1, leaderboard.rank(1));
+        rich.gold.lose(5.0);
+        Assertions.assertEquals(5.0, leaderboard.gold(1));
+        Assertions.assertEquals(2, leaderboard.rank(1));
+        Assertions.assertEquals(1, leaderboard.rank(2));
+    }
+
+    @Test
+    void rank_matches_a_sorted_list_after_random_updates() {
+        SplittableRandom rng = new SplittableRandom(3);
+        for (int i = 0; i < 5000; i++) {
+            long id = rng.nextInt(300);
+            if (rng.nextInt(10) == 0) {
+                leaderboard.remove(id);
+            } else {
+                leaderboard.update(id, rng.nextInt(50));
+            }
+        }
+        List<Standing> all = leaderboard.top(Integer.MAX_VALUE);
+        for (int i = 0; i < all.size(); i++) {
+            Assertions.assertEquals(i + 1, leaderboard.rank(all.get(i).playerId()));
+        }
+        Assertions.assertEquals(all.size(), leaderboard.size());
+    }
+
+    @Test
+    void stays_consistent_under_concurrent_mining() throws InterruptedException {
+        int threads = 8;
+        GoldToken vein = new GoldToken(4000.0, 0.5);
+        List<Player> players = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Player player = new Player();
+            players.add(player);
+            leaderboard.track(i, player);
+            workers.add(new Thread(() -> {
+                while (!vein.isExhausted()) {
+                    player.gold.gain(vein.mine());
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread t : workers) {
+            t.join();
+        }
+
+        Assertions.assertEquals(threads, leaderboard.size());
+        List<Standing> expected = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            expected.add(new Standing(i, players.get(i).gold.amount()));
+        }
+        expected.sort(Comparator.comparingDouble(Standing::gold).reversed()
+                .thenComparingLong(Standing::playerId));
+        Assertions.assertEquals(expected, leaderboard.top(threads));
+        double total = leaderboard.top(threads).stream().mapToDouble(Standing::gold).sum();
+        Assertions.assertEquals(4000.0, total);
+    }
+}
@@ -0,0 +1,73 @@
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.sim.LockstepSimulation;
+import edu.io.sim.MovePolicy;
+import edu.io.token.GoldToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.WaterToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LockstepSimulationTest {
+    static final MovePolicy RANDOM = (id, player, board, rng) ->
+            PlayerToken.Move.values()[rng.nextInt(PlayerToken.Move.values().length)];
+
+    @Test
+    void same_seed_gives_same_hashes() {
+        long[] a = run(42, 200, -1);
+        long[] b = run(42, 200, -1);
+        Assertions.assertEquals(200, a.length);
+        Assertions.assertEquals(-1, LockstepSimulation.firstDivergence(a, b));
+    }
+
+    @Test
+    void different_seed_diverges() {
+        long[] a = run(1, 50, -1);
+        long[] b = run(2, 50, -1);
+        Assertions.assertNotEquals(-1, LockstepSimulation.firstDivergence(a, b));
+    }
+
+    @Test
+    void reports_first_divergent_tick() {
+        long[] a = run(7, 100, -1);
+        long[] b = run(7, 100, 60);
+        Assertions.assertEquals(60, LockstepSimulation.firstDivergence(a, b));
+    }
+
+    @Test
+    void hash_covers_in_place_token_state() {
+        Board board = new Board();
+        LockstepSimulation sim = new LockstepSimulation(board, 0);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+        int id = sim.join(player);
+        WaterToken water = new WaterToken(50);
+        board.placeToken(1, 0, water);
+        long before = sim.boardHash();
+        player.vitals.dehydrate(10);
+        sim.submit(id, PlayerToken.Move.RIGHT);
+        sim.tick();
+        Assertions.assertEquals(40, water.amount());
+        Assertions.assertNotEquals(before, sim.boardHash());
+    }
+
+    // -- utils
+    long[] run(long seed, int ticks, int perturbAt) {
+        Board board = new Board(16);
+        for (int i = 0; i < 16; i++) {
+            board.placeToken(i, (i * 7) % 16, new GoldToken(2.0, 0.5));
+            board.placeToken((i * 5) % 16, i, new WaterToken(30));
+        }
+        LockstepSimulation sim = new LockstepSimulation(board, seed);
+        for (int i = 0; i < 6; i++) {
+            sim.join(new Player());
+        }
+        for (int t = 0; t < ticks; t++) {
+            if (t == perturbAt) {
+                sim.player(0).gold.gain(1.0);
+            }
+            sim.tick(RANDOM);
+        }
+        return sim.hashes();
+    }
+}
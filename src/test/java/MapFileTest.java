@@ -0,0 +1,91 @@
+import edu.io.Board;
+import edu.io.map.MapParseException;
+import edu.io.map.MapReader;
+import edu.io.map.MapWriter;
+import edu.io.token.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+class MapFileTest {
+
+    @Test
+    void reads_ascii_codes_with_parameters() throws IOException {
+        Board board = read("""
+                # demo map
+                size 3
+                .  G:2.5  W:20
+                P:1.75/4  A  Y
+
+                .  .  G:9/1.5
+                """);
+        Assertions.assertEquals(3, board.size());
+        Assertions.assertInstanceOf(EmptyToken.class, board.peekToken(0, 0));
+        Assertions.assertEquals(2.5, ((GoldToken) board.peekToken(1, 0)).amount());
+        Assertions.assertEquals(20, ((WaterToken) board.peekToken(2, 0)).amount());
+        PickaxeToken pickaxe = (PickaxeToken) board.peekToken(0, 1);
+        Assertions.assertEquals(1.75, pickaxe.gainFactor());
+        Assertions.assertEquals(4, pickaxe.durability());
+        Assertions.assertInstanceOf(AnvilToken.class, board.peekToken(1, 1));
+        Assertions.assertInstanceOf(PyriteToken.class, board.peekToken(2, 1));
+        Assertions.assertEquals(1.5, ((GoldToken) board.peekToken(2, 2)).perHit());
+    }
+
+    @Test
+    void reads_label_glyphs() throws IOException {
+        Board board = read("size 2\n"
+                + Label.GOLD_TOKEN_LABEL + " " + Label.WATER_TOKEN_LABEL + ":5\n"
+                + Label.ANVIL_TOKEN_LABEL + " " + Label.PICKAXE_TOKEN_LABEL + "\n");
+        Assertions.assertInstanceOf(GoldToken.class, board.peekToken(0, 0));
+        Assertions.assertEquals(5, ((WaterToken) board.peekToken(1, 0)).amount());
+        Assertions.assertInstanceOf(AnvilToken.class, board.peekToken(0, 1));
+        Assertions.assertInstanceOf(PickaxeToken.class, board.peekToken(1, 1));
+    }
+
+    @Test
+    void reports_line_and_column_of_errors() {
+        MapParseException e = Assertions.assertThrows(
+                MapParseException.class,
+                () -> read("size 2\n. .\n. X\n"));
+        Assertions.assertEquals(3, e.line());
+        Assertions.assertEquals(3, e.column());
+
+        e = Assertions.assertThrows(
+                MapParseException.class,
+                () -> read("size 2\n. W:500\n. .\n"));
+        Assertions.assertEquals(2, e.line());
+        Assertions.assertEquals(5, e.column());
+
+        e = Assertions.assertThrows(
+                MapParseException.class,
+                () -> read("size 2\n. .\n"));
+        Assertions.assertEquals(3, e.line());
+    }
+
+    @Test
+    void export_then_import_roundtrip() throws IOException {
+        Board board = new Board(4);
+        board.placeToken(0, 0, new GoldToken(3.0, 1.0));
+        board.placeToken(1, 2, new PickaxeToken(2.0, 1, 5));
+        board.placeToken(3, 3, new WaterToken(7));
+        board.placeToken(2, 1, new AnvilToken());
+        board.placeToken(0, 3, new PyriteToken());
+
+        StringWriter out = new StringWriter();
+        MapWriter.write(board, out);
+        Board copy = read(out.toString());
+
+        StringWriter again = new StringWriter();
+        MapWriter.write(copy, again);
+        Assertions.assertEquals(out.toString(), again.toString());
+    }
+
+    // -- utils
+    Board read(String text) throws IOException {
+        return MapReader.read(new BufferedReader(new StringReader(text)), Board::new);
+    }
+}
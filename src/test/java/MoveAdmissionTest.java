@@ -0,0 +1,175 @@
+import edu.io.Board;
+import edu.io.admission.MoveAdmission;
+import edu.io.admission.MoveAdmission.Verdict;
+import edu.io.admission.TokenBucket;
+import edu.io.player.Player;
+import edu.io.token.PlayerToken;
+import edu.io.token.PlayerToken.Move;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+class MoveAdmissionTest {
+    static final long TICK = 100_000_000L;
+
+    static Player join(Board board) {
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board));
+        return player;
+    }
+
+    @Test
+    void bucket_allows_burst_then_refills_at_rate() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(bucket.tryTake(0));
+        }
+        Assertions.assertFalse(bucket.tryTake(0));
+        Assertions.assertFalse(bucket.tryTake(TICK - 1));
+        Assertions.assertTrue(bucket.tryTake(TICK));
+        Assertions.assertFalse(bucket.tryTake(TICK));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+    }
+
+    @Test
+    void queued_moves_apply_in_order_on_drain() {
+        Board board = new Board(10);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 5, 5));
+        MoveAdmission admission = new MoveAdmission(100, 8, 8, 64);
+        Assertions.assertEquals(Verdict.ADMITTED, admission.submit(player, Move.UP));
+        Assertions.assertEquals(Verdict.ADMITTED, admission.submit(player, Move.LEFT));
+        Assertions.assertEquals(Verdict.COALESCED, admission.submit(player, Move.NONE));
+        Assertions.assertEquals(2, admission.depth());
+        Assertions.assertEquals(5, player.token().pos().col());
+
+        Assertions.assertEquals(2, admission.drain(10));
+        Assertions.assertEquals(4, player.token().pos().row());
+        Assertions.assertEquals(4, player.token().pos().col());
+        Assertions.assertEquals(0, admission.depth());
+        Assertions.assertEquals(1, admission.stats().coalesced());
+    }
+
+    @Test
+    void full_queue_and_empty_bucket_are_refused() {
+        Board board = new Board(10);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 5, 5));
+        AtomicLong now = new AtomicLong();
+        MoveAdmission admission = new MoveAdmission(10, 2, 3, 64, now::get);
+        Assertions.assertEquals(Verdict.ADMITTED, admission.submit(player, Move.UP));
+        Assertions.assertEquals(Verdict.ADMITTED, admission.submit(player, Move.DOWN));
+        Assertions.assertEquals(Verdict.RATE_LIMITED, admission.submit(player, Move.UP));
+        now.addAndGet(TICK);
+        Assertions.assertEquals(Verdict.ADMITTED, admission.submit(player, Move.UP));
+        now.addAndGet(TICK);
+        Assertions.assertEquals(Verdict.QUEUE_FULL, admission.submit(player, Move.UP));
+        Assertions.assertEquals(1, admission.stats().rateLimited());
+        Assertions.assertEquals(1, admission.stats().queueFull());
+
+        admission.forget(player);
+        Assertions.assertEquals(0, admission.depth());
+        Assertions.assertEquals(0, admission.drain(10));
+    }
+
+    @Test
+    void out_of_bounds_moves_are_counted_not_thrown() {
+        Board board = new Board(4);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+        MoveAdmission admission = new MoveAdmission(100, 4, 4, 64);
+        admission.submit(player, Move.LEFT);
+        Assertions.assertEquals(1, admission.drain(1));
+        Assertions.assertEquals(1, admission.stats().invalidMoves());
+    }
+
+    @Test
+    void flood_does_not_delay_well_behaved_players() {
+        for (boolean shedding : new boolean[] {true, false}) {
+            Board board = new Board(32);
+            List<Player> flooders = new ArrayList<>();
+            List<Player> steady = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                flooders.add(join(board));
+            }
+            for (int i = 0; i < 16; i++) {
+                steady.add(join(board));
+            }
+            AtomicLong now = new AtomicLong();
+            MoveAdmission admission = shedding
+                    ? new MoveAdmission(20, 4, 8, 256, now::get)
+                    : new MoveAdmission(1e6, 1 << 20, 1 << 20, Integer.MAX_VALUE, now::get);
+            int maxDepth = 0;
+            for (int tick = 0; tick < 30; tick++) {
+                Move dir = tick % 2 == 0 ? Move.LEFT : Move.RIGHT;
+                for (Player flooder : flooders) {
+                    flooder.vitals.hydrate(100);
+                    for (int i = 0; i < 10; i++) {
+                        admission.submit(flooder, dir);
+                    }
+                }
+                for (Player player : steady) {
+                    player.vitals.hydrate(100);
+                    Assertions.assertEquals(Verdict.ADMITTED, admission.submit(player, dir));
+                }
+                maxDepth = Math.max(maxDepth, admission.depth());
+                admission.drain(300);
+                // every steady move was applied in the tick it was sent
+                for (Player player : steady) {
+                    Assertions.assertEquals(0, admission.pending(player));
+                }
+                now.addAndGet(TICK);
+            }
+            if (shedding) {
+                Assertions.assertTrue(admission.stats().shed() > 0);
+                Assertions.assertTrue(admission.stats().rateLimited() > 0);
+                Assertions.assertTrue(maxDepth <= 256 + 216, "depth " + maxDepth);
+            } else {
+                Assertions.assertEquals(0, admission.stats().dropped());
+                Assertions.assertTrue(maxDepth > 10_000, "depth " + maxDepth);
+            }
+        }
+    }
+
+    @Test
+    void concurrent_submits_respect_each_bucket() throws Exception {
+        Board board = new Board(16);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            players.add(join(board));
+        }
+        MoveAdmission admission = new MoveAdmission(1, 5, 100, 1000, () -> 0L);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 200; i++) {
+                    admission.submit(players.get(i % players.size()), Move.UP);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Player player : players) {
+            Assertions.assertEquals(5, admission.pending(player));
+        }
+        Assertions.assertEquals(40, admission.stats().admitted());
+        Assertions.assertEquals(800, admission.stats().admitted() + admission.stats().dropped());
+        Assertions.assertEquals(40, admission.depth());
+        Assertions.assertEquals(40, admission.drain(1000));
+        Assertions.assertEquals(40, admission.stats().applied());
+    }
+}
@@ -0,0 +1,142 @@
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.storage.CellCodec;
+import edu.io.storage.OffHeapBoardStorage;
+import edu.io.token.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class OffHeapBoardTest {
+    Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("board");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(dir.resolve("world.bin"));
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    void new_off_heap_board_is_clean() {
+        Board board = Board.offHeap(32);
+        Assertions.assertInstanceOf(EmptyToken.class, board.peekToken(0, 0));
+        Assertions.assertInstanceOf(EmptyToken.class, board.peekToken(31, 31));
+        Assertions.assertNull(board.peekToken(32, 0));
+    }
+
+    @Test
+    void reads_decode_and_touch_writes_back() {
+        Board board = Board.offHeap(8);
+        board.placeToken(2, 3, new WaterToken(40));
+        WaterToken water = (WaterToken) board.peekToken(2, 3);
+        water.drink(15);
+        Assertions.assertEquals(40, ((WaterToken) board.peekToken(2, 3)).amount());
+        board.touch(2, 3, water);
+        Assertions.assertEquals(25, ((WaterToken) board.peekToken(2, 3)).amount());
+    }
+
+    @Test
+    void scans_keep_only_players_on_the_heap() {
+        OffHeapBoardStorage storage = OffHeapBoardStorage.allocate(64);
+        Board board = new Board(storage);
+        board.clean();
+        board.fill(new Board.Rect(0, 0, 64, 32), new GoldToken(2.0, 0.5));
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 40));
+        Assertions.assertEquals(64 * 32, board.cells(CellCodec.GOLD).count());
+        board.render(new StringBuilder());
+        Assertions.assertEquals(1, storage.liveTokens());
+        Assertions.assertEquals(0.5, ((GoldToken) board.peekToken(3, 3)).perHit());
+    }
+
+    @Test
+    void blocked_miner_drains_the_encoded_vein() {
+        Board board = Board.offHeap(8);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+        board.placeToken(1, 0, new GoldToken(3.0, 1.0));
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(2.0, ((GoldToken) board.peekToken(1, 0)).amount());
+        player.token().move(PlayerToken.Move.RIGHT);
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(1, player.token().pos().col());
+        Assertions.assertEquals(3.0, player.gold.amount());
+    }
+
+    @Test
+    void per_hit_keeps_double_precision() {
+        Board board = Board.offHeap(4);
+        board.placeToken(0, 0, new GoldToken(1.0, 0.1));
+        Assertions.assertEquals(0.1, ((GoldToken) board.peekToken(0, 0)).perHit());
+    }
+
+    @Test
+    void player_can_move_on_off_heap_board() {
+        Board board = Board.offHeap(8);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board));
+        board.placeToken(1, 0, new GoldToken(2.0));
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(2.0, player.gold.amount());
+        Assertions.assertSame(player.token(), board.peekToken(1, 0));
+    }
+
+    @Test
+    void mapped_board_survives_reopen() {
+        Path file = dir.resolve("world.bin");
+        Board board = Board.createMapped(file, 16);
+        board.placeToken(1, 2, new GoldToken(3.5, 0.5));
+        board.placeToken(4, 5, new PickaxeToken(1.25, 2, 7));
+        board.placeToken(6, 7, new AnvilToken());
+        board.placeToken(8, 9, new WaterToken(12));
+        board.sync();
+
+        Board reopened = Board.openMapped(file);
+        Assertions.assertEquals(16, reopened.size());
+        GoldToken gold = (GoldToken) reopened.peekToken(1, 2);
+        Assertions.assertEquals(3.5, gold.amount());
+        Assertions.assertEquals(0.5, gold.perHit());
+        PickaxeToken pickaxe = (PickaxeToken) reopened.peekToken(4, 5);
+        Assertions.assertEquals(1.25, pickaxe.gainFactor());
+        Assertions.assertEquals(2, pickaxe.durability());
+        Assertions.assertEquals(7, pickaxe.maxDurability());
+        Assertions.assertInstanceOf(AnvilToken.class, reopened.peekToken(6, 7));
+        Assertions.assertEquals(12, ((WaterToken) reopened.peekToken(8, 9)).amount());
+    }
+
+    @Test
+    void cells_on_both_sides_of_a_segment_boundary_and_the_last_cell_round_trip() {
+        // 6700^2 cells span two segments; the file is sparse, so only touched pages are written
+        int size = 6700;
+        try (OffHeapBoardStorage storage = OffHeapBoardStorage.create(dir.resolve("world.bin"), size)) {
+            long[] cells = {(1L << 25) - 2, (1L << 25) - 1, 1L << 25, 44_739_241L, (long) size * size - 1};
+            for (long cell : cells) {
+                storage.set((int) (cell % size), (int) (cell / size), new GoldToken(cell, 0.5));
+            }
+            for (long cell : cells) {
+                GoldToken gold = (GoldToken) storage.get((int) (cell % size), (int) (cell / size));
+                Assertions.assertEquals((double) cell, gold.amount());
+                Assertions.assertEquals(CellCodec.GOLD, storage.typeAt((int) (cell % size), (int) (cell / size)));
+            }
+            storage.fill(size - 3, size - 1, 3, 1, new AnvilToken());
+            Assertions.assertEquals(3, storage.count(size - 3, size - 1, 3, 1, CellCodec.ANVIL));
+        }
+    }
+
+    @Test
+    void opening_missing_file_throws() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> Board.openMapped(dir.resolve("missing.bin")));
+    }
+}
@@ -0,0 +1,58 @@
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.player.Player;
+import edu.io.token.GoldToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.Token;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PackedCoordsTest {
+    Board board;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+    }
+
+    @Test
+    void pack_and_unpack_roundtrip() {
+        long p = PackedCoords.pack(3, 7);
+        Assertions.assertEquals(3, PackedCoords.col(p));
+        Assertions.assertEquals(7, PackedCoords.row(p));
+        long n = PackedCoords.pack(-1, -2);
+        Assertions.assertEquals(-1, PackedCoords.col(n));
+        Assertions.assertEquals(-2, PackedCoords.row(n));
+    }
+
+    @Test
+    void coords_view_matches_packed() {
+        Board.Coords c = new Board.Coords(4, 2);
+        long p = PackedCoords.of(c);
+        Assertions.assertEquals(c, PackedCoords.toCoords(p));
+    }
+
+    @Test
+    void packed_overloads_match_col_row_api() {
+        Token t = new GoldToken();
+        board.placeToken(PackedCoords.pack(1, 2), t);
+        Assertions.assertEquals(t, board.peekToken(1, 2));
+        Assertions.assertNull(board.peekToken(PackedCoords.pack(-1, 0)));
+    }
+
+    @Test
+    void neighbors_stay_inside_the_board() {
+        long[] out = new long[4];
+        Assertions.assertEquals(2, board.neighbors(PackedCoords.pack(0, 0), out));
+        Assertions.assertEquals(4, board.neighbors(PackedCoords.pack(5, 5), out));
+        Assertions.assertEquals(3, board.neighbors(PackedCoords.pack(9, 5), out));
+    }
+
+    @Test
+    void player_token_packed_pos_matches_pos() {
+        PlayerToken token = new PlayerToken(new Player(), board);
+        Assertions.assertEquals(PackedCoords.of(token.pos()), token.packedPos());
+        Assertions.assertEquals(token, board.peekToken(token.packedPos()));
+    }
+}
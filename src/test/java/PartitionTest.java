@@ -0,0 +1,98 @@
+import edu.io.Board;
+import edu.io.partition.Coordinator;
+import edu.io.partition.Partition;
+import edu.io.partition.PartitionMain;
+import edu.io.partition.PartitionNode;
+import edu.io.partition.WorldSpec;
+import edu.io.storage.StripBoardStorage;
+import edu.io.token.EmptyToken;
+import edu.io.token.GoldToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class PartitionTest {
+    static final WorldSpec SPEC = new WorldSpec(24, 60, 42);
+    static final int TICKS = 40;
+    static final long TIMEOUT = 30_000;
+
+    @Test
+    void spawn_points_are_distinct() {
+        java.util.Set<Long> seen = new java.util.HashSet<>();
+        for (int id = 0; id < SPEC.players(); id++) {
+            Assertions.assertTrue(seen.add(SPEC.spawn(id)));
+        }
+    }
+
+    @Test
+    void partition_rejects_empty_strip() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Partition(SPEC, 5, 5));
+    }
+
+    @Test
+    void strip_storage_keeps_board_coordinates_and_holds_only_its_rows() {
+        Board board = new Board(new StripBoardStorage(24, 6, 12));
+        board.clean();
+        board.placeToken(23, 11, new GoldToken());
+        Assertions.assertInstanceOf(GoldToken.class, board.peekToken(23, 11));
+        Assertions.assertInstanceOf(EmptyToken.class, board.peekToken(0, 6));
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> board.peekToken(0, 5));
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> board.peekToken(0, 12));
+    }
+
+    @Test
+    void strips_together_hold_every_player() {
+        int total = 0;
+        for (int i = 0; i < 4; i++) {
+            total += new Partition(SPEC, i * 6, i * 6 + 6).residents();
+        }
+        Assertions.assertEquals(SPEC.players(), total);
+    }
+
+    @Test
+    void threaded_partitions_match_single_process() throws Exception {
+        long[] expected = Partition.runLocal(SPEC, TICKS);
+        for (int count : new int[] {1, 2, 5}) {
+            try (Coordinator coordinator = new Coordinator(SPEC, count, TIMEOUT)) {
+                List<Thread> nodes = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    Thread node = new Thread(new PartitionNode(coordinator.port(), TIMEOUT));
+                    node.start();
+                    nodes.add(node);
+                }
+                Assertions.assertArrayEquals(expected, coordinator.run(TICKS));
+                for (Thread node : nodes) {
+                    node.join(TIMEOUT);
+                }
+            }
+        }
+    }
+
+    @Test
+    void separate_jvms_match_single_process() throws Exception {
+        long[] expected = Partition.runLocal(SPEC, TICKS);
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        try (Coordinator coordinator = new Coordinator(SPEC, 3, TIMEOUT)) {
+            List<Process> processes = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        PartitionMain.class.getName(), String.valueOf(coordinator.port()))
+                        .inheritIO()
+                        .start());
+            }
+            try {
+                Assertions.assertArrayEquals(expected, coordinator.run(TICKS));
+                for (Process process : processes) {
+                    Assertions.assertTrue(process.waitFor(TIMEOUT, TimeUnit.MILLISECONDS));
+                    Assertions.assertEquals(0, process.exitValue());
+                }
+            } finally {
+                processes.forEach(Process::destroyForcibly);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+import edu.io.Board;
+import edu.io.PersistentBoard;
+import edu.io.history.UndoHistory;
+import edu.io.player.Player;
+import edu.io.storage.BoardSnapshot;
+import edu.io.token.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class PersistentBoardTest {
+    PersistentBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = Board.persistent(40);
+    }
+
+    @Test
+    void new_persistent_board_is_clean() {
+        for (int row = 0; row < board.size(); row++) {
+            for (int col = 0; col < board.size(); col++) {
+                Assertions.assertInstanceOf(EmptyToken.class, board.peekToken(col, row));
+            }
+        }
+    }
+
+    @Test
+    void snapshot_does_not_see_later_writes() {
+        Token gold = new GoldToken();
+        board.placeToken(3, 4, gold);
+        BoardSnapshot snapshot = board.snapshot();
+        board.placeToken(3, 4, new AnvilToken());
+        board.placeToken(39, 39, new WaterToken());
+        Assertions.assertSame(gold, snapshot.peekToken(3, 4));
+        Assertions.assertInstanceOf(EmptyToken.class, snapshot.peekToken(39, 39));
+        Assertions.assertInstanceOf(AnvilToken.class, board.peekToken(3, 4));
+    }
+
+    @Test
+    void restore_returns_to_snapshot() {
+        BoardSnapshot snapshot = board.snapshot();
+        board.placeToken(1, 1, new GoldToken());
+        board.restore(snapshot);
+        Assertions.assertInstanceOf(EmptyToken.class, board.peekToken(1, 1));
+    }
+
+    @Test
+    void undo_restores_a_partly_mined_vein() {
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+        GoldToken vein = new GoldToken(5.0, 1.0);
+        board.placeToken(1, 0, vein);
+        UndoHistory history = new UndoHistory(board, player, 8);
+
+        history.checkpoint();
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(1.0, player.gold.amount());
+        Assertions.assertEquals(5.0, vein.amount());
+        Assertions.assertEquals(4.0, ((GoldToken) board.peekToken(1, 0)).amount());
+
+        Assertions.assertTrue(history.undo());
+        Assertions.assertEquals(5.0, ((GoldToken) board.peekToken(1, 0)).amount());
+        Assertions.assertEquals(0.0, player.gold.amount());
+    }
+
+    @Test
+    void reader_sees_consistent_published_snapshot_while_writer_runs() throws InterruptedException {
+        Token a = new AnvilToken();
+        Token b = new GoldToken();
+        AtomicBoolean torn = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                Token t = i % 2 == 0 ? a : b;
+                for (int col = 0; col < board.size(); col++) {
+                    board.placeToken(col, 0, t);
+                }
+                board.publishSnapshot();
+            }
+        });
+        board.publishSnapshot();
+        writer.start();
+        while (writer.isAlive()) {
+            BoardSnapshot snapshot = board.latestSnapshot();
+            Token first = snapshot.peekToken(0, 0);
+            for (int col = 1; col < snapshot.size(); col++) {
+                if (snapshot.peekToken(col, 0) != first) {
+                    torn.set(true);
+                }
+            }
+        }
+        writer.join();
+        Assertions.assertFalse(torn.get());
+    }
+
+    @Test
+    void undo_and_redo_a_move() {
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+        board.placeToken(1, 0, new GoldToken(2.0));
+        UndoHistory history = new UndoHistory(board, player, 8);
+
+        history.checkpoint();
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(2.0, player.gold.amount());
+
+        Assertions.assertTrue(history.undo());
+        Assertions.assertEquals(0, player.token().pos().col());
+        Assertions.assertEquals(0.0, player.gold.amount());
+        Assertions.assertEquals(100, player.vitals.hydration());
+        Assertions.assertSame(player.token(), board.peekToken(0, 0));
+        Assertions.assertInstanceOf(GoldToken.class, board.peekToken(1, 0));
+
+        Assertions.assertTrue(history.redo());
+        Assertions.assertEquals(1, player.token().pos().col());
+        Assertions.assertEquals(2.0, player.gold.amount());
+        Assertions.assertFalse(history.redo());
+    }
+}
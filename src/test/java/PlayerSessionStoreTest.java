@@ -0,0 +1,120 @@
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.rank.Leaderboard;
+import edu.io.session.PlayerSessionStore;
+import edu.io.token.IdlePlayerToken;
+import edu.io.token.PickaxeToken;
+import edu.io.token.PlayerToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+class PlayerSessionStoreTest {
+    Board board;
+    Path file;
+    PlayerSessionStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        board = new Board();
+        file = Files.createTempFile("sessions", ".bin");
+        store = new PlayerSessionStore(board, 2, file);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void least_recently_used_player_is_spilled() {
+        long a = store.join(new Player());
+        long b = store.join(new Player());
+        store.get(a);
+        long c = store.join(new Player());
+        Assertions.assertTrue(store.isActive(a));
+        Assertions.assertFalse(store.isActive(b));
+        Assertions.assertTrue(store.isActive(c));
+        Assertions.assertEquals(1, store.spilledCount());
+    }
+
+    @Test
+    void spilled_player_is_restored_with_its_state() {
+        Player player = new Player();
+        long id = store.join(player);
+        player.gold.gain(7.5);
+        player.vitals.dehydrate(30);
+        player.shed.add(new PickaxeToken(2.0, 5, 8));
+        var pos = player.token().pos();
+
+        store.join(new Player());
+        store.join(new Player());
+        Assertions.assertFalse(store.isActive(id));
+        Assertions.assertInstanceOf(IdlePlayerToken.class, board.peekToken(pos.col(), pos.row()));
+
+        Player restored = store.get(id);
+        Assertions.assertEquals(7.5, restored.gold.amount());
+        Assertions.assertEquals(70, restored.vitals.hydration());
+        PickaxeToken pickaxe = (PickaxeToken) restored.shed.getTool();
+        Assertions.assertEquals(2.0, pickaxe.gainFactor());
+        Assertions.assertEquals(5, pickaxe.durability());
+        Assertions.assertEquals(8, pickaxe.maxDurability());
+        Assertions.assertEquals(pos, restored.token().pos());
+        Assertions.assertEquals(restored.token(), board.peekToken(pos.col(), pos.row()));
+    }
+
+    @Test
+    void leaderboard_follows_a_restored_player_through_the_restore_hook() {
+        Leaderboard leaderboard = new Leaderboard();
+        store.addRestoreListener(leaderboard::track);
+        Player player = new Player();
+        long id = store.join(player);
+        leaderboard.track(id, player);
+        player.gold.gain(2.0);
+
+        store.join(new Player());
+        store.join(new Player());
+        Assertions.assertFalse(store.isActive(id));
+        Player restored = store.get(id);
+        Assertions.assertNotSame(player, restored);
+        restored.gold.gain(3.0);
+        Assertions.assertEquals(5.0, leaderboard.gold(id));
+    }
+
+    @Test
+    void move_restores_idle_player_lazily() {
+        long id = store.join(new Player());
+        store.join(new Player());
+        store.join(new Player());
+        store.move(id, PlayerToken.Move.NONE);
+        Assertions.assertTrue(store.isActive(id));
+        Assertions.assertEquals(1, store.stats().misses());
+    }
+
+    @Test
+    void stats_track_hits_and_misses() {
+        long a = store.join(new Player());
+        store.get(a);
+        store.get(a);
+        store.join(new Player());
+        store.join(new Player());
+        store.get(a);
+        Assertions.assertEquals(2, store.stats().hits());
+        Assertions.assertEquals(1, store.stats().misses());
+        Assertions.assertEquals(2.0 / 3, store.stats().hitRate(), 1e-9);
+    }
+
+    @Test
+    void throws_on_unknown_id() {
+        Assertions.assertThrows(
+                NoSuchElementException.class,
+                () -> store.get(42));
+    }
+}
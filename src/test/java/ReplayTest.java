@@ -0,0 +1,194 @@
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.replay.ReplayReader;
+import edu.io.replay.ReplayRecorder;
+import edu.io.sim.StateHash;
+import edu.io.token.GoldToken;
+import edu.io.token.PickaxeToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.WaterToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+class ReplayTest {
+    static final int TICKS = 60;
+
+    static long fingerprint(Board board, Map<Integer, Player> players) {
+        long h = 0;
+        for (int row = 0; row < board.size(); row++) {
+            for (int col = 0; col < board.size(); col++) {
+                h = StateHash.mix(h ^ StateHash.cell((long) row * board.size() + col, board.peekToken(col, row)));
+            }
+        }
+        for (int id = 0; id < players.size(); id++) {
+            h = StateHash.mix(h ^ StateHash.player(id, players.get(id)));
+        }
+        return h;
+    }
+
+    static Board world() {
+        Board board = new Board(16);
+        SplittableRandom rng = new SplittableRandom(3);
+        for (int i = 0; i < 40; i++) {
+            int col = rng.nextInt(16);
+            int row = rng.nextInt(16);
+            switch (i % 3) {
+                case 0 -> board.placeToken(col, row, new GoldToken(4, 1));
+                case 1 -> board.placeToken(col, row, new WaterToken(15));
+                default -> board.placeToken(col, row, new PickaxeToken());
+            }
+        }
+        return board;
+    }
+
+    /** Plays a random match, recording it, and returns the fingerprint after every tick. */
+    static long[] play(Board board, ReplayRecorder recorder, Map<Integer, Player> players, List<ByteBuffer> frames) {
+        SplittableRandom rng = new SplittableRandom(9);
+        for (int i = 0; i < 4; i++) {
+            Player player = new Player();
+            player.assignToken(new PlayerToken(player, board, i * 5, i * 3));
+            players.put(recorder.track(player), player);
+        }
+        long[] expected = new long[TICKS];
+        for (int t = 0; t < TICKS; t++) {
+            if (t > 0) {
+                for (Player player : players.values()) {
+                    try {
+                        player.token().move(PlayerToken.Move.values()[rng.nextInt(5)]);
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        // off the board or dead
+                    }
+                }
+            }
+            frames.add(recorder.endTick());
+            expected[t] = fingerprint(board, players);
+        }
+        return expected;
+    }
+
+    @Test
+    void seeking_restores_every_tick_in_any_order() throws Exception {
+        Path file = Files.createTempFile("replay", ".bin");
+        Board board = world();
+        Map<Integer, Player> players = new HashMap<>();
+        long[] expected;
+        try (ReplayRecorder recorder = new ReplayRecorder(board, file, 8)) {
+            expected = play(board, recorder, players, new ArrayList<>());
+        }
+        try (ReplayReader reader = new ReplayReader(file)) {
+            Assertions.assertEquals(TICKS, reader.ticks());
+            Map<Integer, Player> replayed = new HashMap<>();
+            int[] order = {59, 0, 17, 18, 23, 5, 40, 41, 39, 8, 7, 58};
+            for (int t : order) {
+                reader.seek(t);
+                for (int id = 0; id < reader.players(); id++) {
+                    replayed.put(id, reader.player(id));
+                }
+                Assertions.assertEquals(expected[t], fingerprint(reader.board(), replayed), "tick " + t);
+            }
+            for (int t = 0; t < TICKS; t++) {
+                reader.seek(t);
+                for (int id = 0; id < reader.players(); id++) {
+                    replayed.put(id, reader.player(id));
+                }
+                Assertions.assertEquals(expected[t], fingerprint(reader.board(), replayed), "tick " + t);
+            }
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> reader.seek(TICKS));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void spectators_share_frames_and_late_joiners_catch_up() throws Exception {
+        Path file = Files.createTempFile("replay", ".bin");
+        Board board = world();
+        Board early = new Board(16);
+        Map<Integer, Player> earlyPlayers = new HashMap<>();
+        List<ByteBuffer> earlyFrames = new ArrayList<>();
+        try (ReplayRecorder recorder = new ReplayRecorder(board, file, 10)) {
+            recorder.addSpectator(frame -> {
+                earlyFrames.add(frame);
+                ReplayReader.apply(frame, early, earlyPlayers);
+            });
+            Map<Integer, Player> players = new HashMap<>();
+            List<ByteBuffer> returned = new ArrayList<>();
+            long[] expected = play(board, recorder, players, returned);
+            Assertions.assertEquals(expected[TICKS - 1], fingerprint(early, earlyPlayers));
+            Assertions.assertEquals(returned, earlyFrames);
+            Assertions.assertTrue(earlyFrames.get(0).isReadOnly());
+
+            Board late = new Board(16);
+            Map<Integer, Player> latePlayers = new HashMap<>();
+            recorder.addSpectator(frame -> ReplayReader.apply(frame, late, latePlayers));
+            Assertions.assertEquals(expected[TICKS - 1], fingerprint(late, latePlayers));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void deltas_are_smaller_than_keyframes() throws Exception {
+        Path file = Files.createTempFile("replay", ".bin");
+        List<ByteBuffer> frames = new ArrayList<>();
+        Board board = world();
+        try (ReplayRecorder recorder = new ReplayRecorder(board, file, 20)) {
+            play(board, recorder, new HashMap<>(), frames);
+        } finally {
+            Files.delete(file);
+        }
+        int key = frames.get(0).remaining();
+        for (int t = 1; t < 20; t++) {
+            Assertions.assertTrue(frames.get(t).remaining() < key / 2, "tick " + t);
+        }
+    }
+
+    @Test
+    void frames_larger_than_the_read_window_replay() throws Exception {
+        Path file = Files.createTempFile("replay", ".bin");
+        Board board = new Board(200);
+        for (int row = 0; row < board.size(); row++) {
+            for (int col = 0; col < board.size(); col++) {
+                board.placeToken(col, row, new GoldToken(col + row, 1));
+            }
+        }
+        long[] expected = new long[6];
+        try (ReplayRecorder recorder = new ReplayRecorder(board, file, 2)) {
+            for (int t = 0; t < expected.length; t++) {
+                board.placeToken(t, t, new WaterToken(t + 1));
+                recorder.endTick();
+                expected[t] = fingerprint(board, Map.of());
+            }
+        }
+        try (ReplayReader reader = new ReplayReader(file)) {
+            Assertions.assertTrue(Files.size(file) > 4 * (1 << 16));
+            Assertions.assertEquals(expected.length, reader.ticks());
+            for (int t : new int[] {5, 0, 3, 4, 1, 2}) {
+                reader.seek(t);
+                Assertions.assertEquals(expected[t], fingerprint(reader.board(), Map.of()), "tick " + t);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void truncated_file_is_rejected() throws Exception {
+        Path file = Files.createTempFile("replay", ".bin");
+        try {
+            Files.write(file, new byte[] {1, 2, 3});
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new ReplayReader(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
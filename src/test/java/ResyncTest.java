@@ -0,0 +1,132 @@
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.storage.CellCodec;
+import edu.io.sync.ChunkTree;
+import edu.io.sync.Resync;
+import edu.io.token.AnvilToken;
+import edu.io.token.GoldToken;
+import edu.io.token.PlayerToken;
+import edu.io.token.WaterToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+class ResyncTest {
+    static Board world(int size) {
+        Board board = new Board(size);
+        for (int i = 0; i < size; i++) {
+            board.placeToken(i, (i * 7) % size, new GoldToken(2.0, 0.5));
+            board.placeToken((i * 5) % size, i, new WaterToken(30));
+        }
+        return board;
+    }
+
+    @Test
+    void equal_boards_have_equal_roots_and_no_diff() {
+        Board a = world(50);
+        Board b = world(50);
+        ChunkTree ta = new ChunkTree(a, 8);
+        ChunkTree tb = new ChunkTree(b, 8);
+        Assertions.assertEquals(49, ta.chunks());
+        Assertions.assertEquals(ta.root(), tb.root());
+        Resync.Diff diff = Resync.diff(tb, ta);
+        Assertions.assertEquals(0, diff.chunks().length);
+        Assertions.assertEquals(1, diff.nodesCompared());
+    }
+
+    @Test
+    void diff_finds_exactly_the_changed_chunks() {
+        Board source = world(64);
+        Board replica = world(64);
+        ChunkTree ts = new ChunkTree(source, 8);
+        ChunkTree tr = new ChunkTree(replica, 8);
+        source.placeToken(3, 3, new AnvilToken());
+        source.placeToken(60, 2, new AnvilToken());
+        source.placeToken(61, 3, new AnvilToken());
+        source.placeToken(20, 63, new AnvilToken());
+        int[] chunks = Resync.diff(tr, ts).chunks();
+        Arrays.sort(chunks);
+        Assertions.assertArrayEquals(new int[] {ts.chunkOf(3, 3), ts.chunkOf(60, 2), ts.chunkOf(20, 63)}, chunks);
+
+        Resync.apply(replica, tr, Resync.encode(source, ts, chunks));
+        Assertions.assertEquals(ts.root(), tr.root());
+        Assertions.assertInstanceOf(AnvilToken.class, replica.peekToken(61, 3));
+    }
+
+    @Test
+    void in_place_changes_are_seen() {
+        Board source = world(32);
+        Board replica = world(32);
+        ChunkTree ts = new ChunkTree(source, 4);
+        ChunkTree tr = new ChunkTree(replica, 4);
+        GoldToken vein = new GoldToken(3.0, 1.5);
+        source.placeToken(1, 7, vein);
+        replica.placeToken(1, 7, new GoldToken(3.0, 1.5));
+        Assertions.assertEquals(ts.root(), tr.root());
+        Player miner = new Player();
+        miner.assignToken(new PlayerToken(miner, source, 0, 7));
+        miner.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(0, miner.token().pos().col());
+        Resync.Diff diff = Resync.diff(tr, ts);
+        Assertions.assertArrayEquals(new int[] {ts.chunkOf(1, 7)}, diff.chunks());
+        Resync.apply(replica, tr, Resync.encode(source, ts, diff.chunks()));
+        Assertions.assertEquals(1.5, ((GoldToken) replica.peekToken(1, 7)).amount());
+        Assertions.assertEquals(ts.root(), tr.root());
+    }
+
+    @Test
+    void players_are_not_terrain() {
+        Board source = world(16);
+        Board replica = world(16);
+        ChunkTree ts = new ChunkTree(source, 4);
+        ChunkTree tr = new ChunkTree(replica, 4);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, replica, 1, 1));
+        Assertions.assertEquals(ts.root(), tr.root());
+
+        source.placeToken(2, 1, new AnvilToken());
+        ByteBuffer chunks = Resync.encode(source, ts, Resync.diff(tr, ts).chunks());
+        Resync.apply(replica, tr, chunks);
+        Assertions.assertSame(player.token(), replica.peekToken(1, 1));
+        Assertions.assertEquals(ts.root(), tr.root());
+    }
+
+    @Test
+    void bulk_writes_and_clean_keep_the_tree_current() {
+        Board source = world(40);
+        Board replica = world(40);
+        ChunkTree ts = new ChunkTree(source, 16);
+        ChunkTree tr = new ChunkTree(replica, 16);
+        source.fill(new Board.Rect(10, 10, 5, 30), new AnvilToken());
+        try (ChunkTree fresh = new ChunkTree(source, 16)) {
+            Assertions.assertEquals(fresh.root(), ts.root());
+        }
+        Resync.apply(replica, tr, Resync.encode(source, ts, Resync.diff(tr, ts).chunks()));
+        Assertions.assertEquals(ts.root(), tr.root());
+        source.clean();
+        replica.clean();
+        Assertions.assertEquals(ts.root(), tr.root());
+    }
+
+    @Test
+    void resync_cost_follows_changes_not_board_size() {
+        int[] compared = new int[2];
+        int[] sizes = {128, 1024};
+        for (int i = 0; i < sizes.length; i++) {
+            Board source = new Board(sizes[i]);
+            Board replica = new Board(sizes[i]);
+            ChunkTree ts = new ChunkTree(source, 16);
+            ChunkTree tr = new ChunkTree(replica, 16);
+            source.placeToken(5, 5, new AnvilToken());
+            source.placeToken(sizes[i] - 1, sizes[i] - 1, new AnvilToken());
+            Resync.Diff diff = Resync.diff(tr, ts);
+            Assertions.assertEquals(2, diff.chunks().length);
+            Assertions.assertEquals(2 * 16 * 16 * CellCodec.CELL_BYTES + 12, Resync.encode(source, ts, diff.chunks()).remaining());
+            compared[i] = diff.nodesCompared();
+        }
+        // 64x more chunks: only three more levels to walk per changed chunk
+        Assertions.assertTrue(compared[1] <= compared[0] + 2 * 2 * 6, Arrays.toString(compared));
+    }
+}
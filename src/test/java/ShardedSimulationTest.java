@@ -0,0 +1,113 @@
+import edu.io.Board;
+import edu.io.player.Player;
+import edu.io.shard.ShardedSimulation;
+import edu.io.sim.MovePolicy;
+import edu.io.token.PlayerToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ShardedSimulationTest {
+    static final MovePolicy RANDOM = (id, player, board, rng) ->
+            PlayerToken.Move.values()[rng.nextInt(PlayerToken.Move.values().length)];
+
+    @Test
+    void region_of_splits_board_into_rectangles() {
+        try (ShardedSimulation sim = new ShardedSimulation(new Board(8), 2, 2, 0)) {
+            Assertions.assertEquals(4, sim.regions());
+            Assertions.assertEquals(0, sim.regionOf(3, 3));
+            Assertions.assertEquals(1, sim.regionOf(4, 0));
+            Assertions.assertEquals(2, sim.regionOf(0, 4));
+            Assertions.assertEquals(3, sim.regionOf(7, 7));
+        }
+    }
+
+    @Test
+    void rejects_storage_without_disjoint_writes() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new ShardedSimulation(Board.persistent(8), 2, 2, 0));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new ShardedSimulation(Board.offHeap(8), 2, 2, 0));
+    }
+
+    @Test
+    void players_do_not_walk_onto_each_other() {
+        Board board = new Board(8);
+        Player left = new Player();
+        left.assignToken(new PlayerToken(left, board, 2, 0));
+        Player right = new Player();
+        right.assignToken(new PlayerToken(right, board, 3, 0));
+        Player across = new Player();
+        across.assignToken(new PlayerToken(across, board, 5, 0));
+        MovePolicy policy = (id, player, b, rng) -> id == 1 ? PlayerToken.Move.NONE : id == 0
+                ? PlayerToken.Move.RIGHT : PlayerToken.Move.LEFT;
+        try (ShardedSimulation sim = new ShardedSimulation(board, 2, 1, 0)) {
+            sim.join(left);
+            sim.join(right);
+            sim.join(across);
+            sim.tick(policy);
+            sim.tick(policy);
+        }
+        Assertions.assertSame(left.token(), board.peekToken(2, 0));
+        Assertions.assertSame(right.token(), board.peekToken(3, 0));
+        Assertions.assertSame(across.token(), board.peekToken(4, 0));
+    }
+
+    @Test
+    void players_are_handed_off_across_borders() {
+        Board board = new Board(32);
+        List<Player> players = new ArrayList<>();
+        try (ShardedSimulation sim = new ShardedSimulation(board, 2, 2, 11)) {
+            for (int i = 0; i < 16; i++) {
+                Player player = new Player();
+                player.assignToken(new PlayerToken(player, board, (i * 7) % 32, (i * 13) % 32));
+                players.add(player);
+                sim.join(player);
+            }
+            for (int t = 0; t < 80; t++) {
+                sim.tick(RANDOM);
+            }
+            Assertions.assertTrue(sim.handoffs() > 0);
+            int total = 0;
+            for (int r = 0; r < sim.regions(); r++) {
+                total += sim.residents(r);
+            }
+            Assertions.assertEquals(players.size(), total);
+            for (int id = 0; id < players.size(); id++) {
+                var pos = players.get(id).token().pos();
+                Assertions.assertEquals(sim.regionOf(pos.col(), pos.row()), sim.regionOfPlayer(id));
+            }
+        }
+    }
+
+    @Test
+    void same_seed_gives_same_positions() {
+        Assertions.assertEquals(run(5), run(5));
+    }
+
+    // -- utils
+    List<Board.Coords> run(long seed) {
+        Board board = new Board(24);
+        List<Player> players = new ArrayList<>();
+        try (ShardedSimulation sim = new ShardedSimulation(board, 3, 2, seed)) {
+            for (int i = 0; i < 12; i++) {
+                Player player = new Player();
+                player.assignToken(new PlayerToken(player, board, (i * 5) % 24, (i * 11) % 24));
+                players.add(player);
+                sim.join(player);
+            }
+            for (int t = 0; t < 60; t++) {
+                sim.tick(RANDOM);
+            }
+        }
+        List<Board.Coords> positions = new ArrayList<>();
+        for (Player p : players) {
+            positions.add(p.token().pos());
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,82 @@
+import edu.io.soak.SoakComparison;
+import edu.io.soak.SoakConfig;
+import edu.io.soak.SoakReport;
+import edu.io.soak.SoakRunner;
+import edu.io.soak.SoakWindow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+class SoakTest {
+    static final String[] SHORT = {"--duration", "1200ms", "--window", "300ms", "--players", "50", "--size", "64"};
+
+    @Test
+    void config_parses_durations_and_rejects_bad_options() {
+        SoakConfig config = SoakConfig.parse("--duration", "2h", "--window", "30s", "--storage", "persistent");
+        Assertions.assertEquals(Duration.ofHours(2), config.duration());
+        Assertions.assertEquals(Duration.ofSeconds(30), config.window());
+        Assertions.assertTrue(config.persistent());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SoakConfig.parse("--speed", "1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SoakConfig.parse("--storage", "offheap"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SoakConfig.parse("--duration", ""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SoakConfig.parse("--window", "s"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SoakConfig.parse("--players", "1000", "--size", "10"));
+    }
+
+    @Test
+    void run_reports_every_window() {
+        SoakReport report = new SoakRunner(SoakConfig.parse(SHORT)).run();
+        Assertions.assertEquals(4, report.windows().size());
+        long moves = 0;
+        for (SoakWindow w : report.windows()) {
+            Assertions.assertTrue(w.moves() > 0);
+            Assertions.assertTrue(w.p50Micros() <= w.p99Micros() && w.p99Micros() <= w.p999Micros());
+            Assertions.assertTrue(w.p999Micros() <= w.maxMicros());
+            moves += w.moves();
+        }
+        Assertions.assertEquals(moves, report.moves());
+        Assertions.assertTrue(report.allocatedBytes() > 0);
+        Assertions.assertTrue(report.worstWindowP99Micros() >= report.windows().get(0).p99Micros());
+    }
+
+    @Test
+    void report_round_trips_through_text() throws Exception {
+        SoakReport report = new SoakRunner(SoakConfig.parse("--duration", "200ms", "--window", "100ms",
+                "--players", "10", "--size", "32")).run();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        out.println("unrelated output");
+        report.write(out);
+        SoakReport read = SoakReport.read(new BufferedReader(new StringReader(bytes.toString(StandardCharsets.UTF_8))));
+        Assertions.assertEquals(report.collectors(), read.collectors());
+        Assertions.assertEquals(report.windows().size(), read.windows().size());
+        Assertions.assertEquals(report.moves(), read.moves());
+        Assertions.assertEquals(report.allocatedBytes(), read.allocatedBytes());
+        Assertions.assertEquals(report.p99Micros(), read.p99Micros(), 0.001);
+    }
+
+    @Test
+    @Tag("integration")
+    void comparison_runs_each_collector_in_its_own_jvm() {
+        List<SoakComparison.Result> results = new ArrayList<>();
+        for (String collector : List.of("G1", "Parallel", "Z")) {
+            results.add(new SoakComparison.Result(collector, SoakComparison.runChild(collector, "128m", List.of(SHORT))));
+        }
+        Assertions.assertTrue(results.get(0).report().collectors().contains("G1"));
+        Assertions.assertTrue(results.get(1).report().collectors().contains("PS"));
+        Assertions.assertTrue(results.get(2).report().collectors().contains("ZGC"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SoakComparison.print(results, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        String table = bytes.toString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(table.contains("Parallel"));
+    }
+}
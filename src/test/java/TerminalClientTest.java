@@ -0,0 +1,75 @@
+import edu.io.Board;
+import edu.io.client.TerminalClient;
+import edu.io.log.Backpressure;
+import edu.io.log.GameEventLog;
+import edu.io.player.Player;
+import edu.io.token.PlayerToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+
+class TerminalClientTest {
+    Board board;
+    Player player;
+    ByteArrayOutputStream out;
+    TerminalClient client;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        player = new Player();
+        player.assignToken(new PlayerToken(player, board));
+        out = new ByteArrayOutputStream();
+        client = new TerminalClient(board, player,
+                new GameEventLog(new StringWriter(), 16, Backpressure.DROP, 1),
+                new ByteArrayInputStream(new byte[0]), new PrintStream(out), 60);
+    }
+
+    @Test
+    void first_tick_draws_a_frame() {
+        client.tick();
+        Assertions.assertEquals(1, client.stats().frames());
+        Assertions.assertTrue(client.frame().contains(player.token().label()));
+    }
+
+    @Test
+    void unchanged_board_skips_frame() {
+        client.tick();
+        int written = out.size();
+        client.tick();
+        Assertions.assertEquals(1, client.stats().skipped());
+        Assertions.assertEquals(written, out.size());
+    }
+
+    @Test
+    void key_press_moves_player_and_is_measured() {
+        client.tick();
+        client.press('d');
+        client.tick();
+        Assertions.assertEquals(1, player.token().pos().col());
+        Assertions.assertEquals(2, client.stats().frames());
+        Assertions.assertEquals(1, client.stats().inputs());
+    }
+
+    @Test
+    void quit_key_finishes_client() {
+        client.press('q');
+        client.tick();
+        Assertions.assertTrue(client.isFinished());
+    }
+
+    @Test
+    void run_returns_when_input_ends() {
+        client = new TerminalClient(board, player,
+                new GameEventLog(new StringWriter(), 16, Backpressure.DROP, 1),
+                new ByteArrayInputStream("d\ns\n".getBytes()), new PrintStream(out), 1000);
+        client.run();
+        Assertions.assertEquals(1, player.token().pos().col());
+        Assertions.assertEquals(1, player.token().pos().row());
+    }
+}
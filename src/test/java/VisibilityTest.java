@@ -0,0 +1,115 @@
+import edu.io.Board;
+import edu.io.PackedCoords;
+import edu.io.player.Player;
+import edu.io.token.GoldToken;
+import edu.io.token.Label;
+import edu.io.token.PlayerToken;
+import edu.io.vision.Visibility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class VisibilityTest {
+    static void assertSquare(Board board, Visibility.View view, int col, int row) {
+        for (int r = 0; r < board.size(); r++) {
+            for (int c = 0; c < board.size(); c++) {
+                boolean inside = Math.abs(c - col) <= view.radius() && Math.abs(r - row) <= view.radius();
+                Assertions.assertEquals(inside, view.isVisible(c, r), c + "," + r);
+            }
+        }
+    }
+
+    @Test
+    void view_is_the_square_around_the_player_clipped_to_the_board() {
+        Board board = new Board(10);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 1, 8));
+        Visibility.View view = new Visibility(board).track(player, 2);
+        assertSquare(board, view, 1, 8);
+        Assertions.assertEquals(4 * 4, view.visibleCells());
+        Assertions.assertFalse(view.isVisible(-1, 8));
+    }
+
+    @Test
+    void incremental_moves_match_a_fresh_view_and_accumulate_explored() {
+        Board board = new Board(24);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 12, 12));
+        Visibility visibility = new Visibility(board);
+        Visibility.View view = visibility.track(player, 3);
+        SplittableRandom rng = new SplittableRandom(4);
+        boolean[] seen = new boolean[24 * 24];
+        for (int step = 0; step < 400; step++) {
+            player.vitals.hydrate(100);
+            try {
+                player.token().move(PlayerToken.Move.values()[1 + rng.nextInt(4)]);
+            } catch (IllegalArgumentException e) {
+                // edge of the board
+            }
+            long pos = player.token().packedPos();
+            int col = PackedCoords.col(pos);
+            int row = PackedCoords.row(pos);
+            assertSquare(board, view, col, row);
+            for (int r = Math.max(row - 3, 0); r <= Math.min(row + 3, 23); r++) {
+                for (int c = Math.max(col - 3, 0); c <= Math.min(col + 3, 23); c++) {
+                    seen[r * 24 + c] = true;
+                }
+            }
+        }
+        int explored = 0;
+        for (int i = 0; i < seen.length; i++) {
+            Assertions.assertEquals(seen[i], view.isExplored(i % 24, i / 24));
+            explored += seen[i] ? 1 : 0;
+        }
+        Assertions.assertEquals(explored, view.exploredCells());
+    }
+
+    @Test
+    void jumps_and_cleans_recompute_the_view() {
+        Board board = new Board(16);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 2, 2));
+        Visibility visibility = new Visibility(board);
+        Visibility.View view = visibility.track(player, 1);
+        player.token().relocate(10, 11);
+        board.placeToken(10, 11, player.token());
+        assertSquare(board, view, 10, 11);
+        Assertions.assertTrue(view.isExplored(2, 2));
+
+        board.clean();
+        assertSquare(board, view, 10, 11);
+    }
+
+    @Test
+    void hidden_cells_are_not_rendered_or_peeked() {
+        Board board = new Board(6);
+        board.placeToken(5, 5, new GoldToken());
+        board.placeToken(1, 0, new GoldToken());
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 0, 0));
+        Visibility.View view = new Visibility(board).track(player, 1);
+        player.token().move(PlayerToken.Move.DOWN);
+        Assertions.assertNull(view.peekToken(5, 5));
+        Assertions.assertNotNull(view.peekToken(1, 0));
+        StringBuilder sb = new StringBuilder();
+        view.render(sb);
+        String[] lines = sb.toString().split(System.lineSeparator());
+        Assertions.assertEquals(6, lines.length);
+        Assertions.assertTrue(lines[0].startsWith(Label.EMPTY_TOKEN_LABEL + " " + Label.GOLD_TOKEN_LABEL));
+        Assertions.assertFalse(lines[5].contains(Label.GOLD_TOKEN_LABEL));
+        Assertions.assertTrue(lines[5].startsWith(Label.HIDDEN_LABEL));
+    }
+
+    @Test
+    void untracked_players_are_ignored() {
+        Board board = new Board(8);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, board, 3, 3));
+        Visibility visibility = new Visibility(board);
+        visibility.track(player, 1);
+        visibility.untrack(player);
+        player.token().move(PlayerToken.Move.LEFT);
+        Assertions.assertNull(visibility.view(player));
+    }
+}
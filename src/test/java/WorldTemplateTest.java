@@ -0,0 +1,104 @@
+import edu.io.Board;
+import edu.io.Game;
+import edu.io.PersistentBoard;
+import edu.io.log.GameEventLog;
+import edu.io.player.Player;
+import edu.io.storage.WorldTemplate;
+import edu.io.token.*;
+import edu.io.world.WorldRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+class WorldTemplateTest {
+    static Board world(int size) {
+        Board board = new Board(size);
+        board.placeToken(1, 1, new GoldToken(3.0, 1.0));
+        board.placeToken(2, 1, new WaterToken(40));
+        board.placeToken(3, 1, new PickaxeToken(2.0, 5));
+        board.placeToken(4, 1, new AnvilToken());
+        board.placeToken(size - 1, size - 1, new PyriteToken());
+        return board;
+    }
+
+    @Test
+    void instances_start_with_the_template_terrain() {
+        Board source = world(40);
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, source, 5, 5));
+        source.placeToken(6, 5, new IdlePlayerToken());
+        WorldTemplate template = WorldTemplate.of(source);
+        Board board = template.instantiate();
+        Assertions.assertEquals(40, board.size());
+        Assertions.assertEquals(3.0, ((GoldToken) board.peekToken(1, 1)).amount());
+        Assertions.assertEquals(40, ((WaterToken) board.peekToken(2, 1)).amount());
+        Assertions.assertEquals(5, ((PickaxeToken) board.peekToken(3, 1)).durability());
+        Assertions.assertInstanceOf(AnvilToken.class, board.peekToken(4, 1));
+        Assertions.assertInstanceOf(PyriteToken.class, board.peekToken(39, 39));
+        Assertions.assertInstanceOf(EmptyToken.class, board.peekToken(5, 5));
+        Assertions.assertInstanceOf(EmptyToken.class, board.peekToken(6, 5));
+        Assertions.assertNotSame(source.peekToken(1, 1), board.peekToken(1, 1));
+    }
+
+    @Test
+    void matches_do_not_see_each_other() {
+        WorldTemplate template = WorldTemplate.of(world(20));
+        Board a = template.instantiate();
+        Board b = template.instantiate();
+        Player player = new Player();
+        player.assignToken(new PlayerToken(player, a, 0, 1));
+        player.token().move(PlayerToken.Move.RIGHT);
+        Assertions.assertEquals(1.0, player.gold.amount());
+        a.placeToken(10, 10, new AnvilToken());
+
+        Assertions.assertEquals(2.0, ((GoldToken) a.peekToken(1, 1)).amount());
+        Assertions.assertEquals(3.0, ((GoldToken) b.peekToken(1, 1)).amount());
+        Assertions.assertEquals(3.0, ((GoldToken) template.instantiate().peekToken(1, 1)).amount());
+        Assertions.assertInstanceOf(EmptyToken.class, b.peekToken(10, 10));
+        Assertions.assertInstanceOf(EmptyToken.class, b.peekToken(0, 1));
+    }
+
+    @Test
+    void copied_tokens_keep_their_identity_within_a_match() {
+        Board board = WorldTemplate.of(world(10)).instantiate();
+        Token gold = board.peekToken(1, 1);
+        Assertions.assertSame(gold, board.peekToken(1, 1));
+        Assertions.assertTrue(board.removeToken(1, 1, gold));
+    }
+
+    @Test
+    void uniform_terrain_is_folded_into_shared_nodes() {
+        WorldTemplate big = WorldTemplate.of(world(1024));
+        // 1M cells in 32-cell leaves would be over 32k nodes unshared
+        Assertions.assertTrue(big.nodes() < 64, "nodes " + big.nodes());
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            big.instantiate();
+        }
+        long micros = (System.nanoTime() - start) / 1000 / 1000;
+        Assertions.assertTrue(micros < 1000, "instantiate took " + micros + "us");
+    }
+
+    @Test
+    void snapshots_and_undo_still_work_on_instances() {
+        PersistentBoard board = WorldTemplate.of(world(16)).instantiate();
+        var before = board.snapshot();
+        board.placeToken(1, 1, new AnvilToken());
+        board.restore(before);
+        Assertions.assertInstanceOf(GoldToken.class, board.peekToken(1, 1));
+    }
+
+    @Test
+    void registry_and_game_use_templates() {
+        WorldRegistry registry = new WorldRegistry();
+        registry.register("arena", world(12));
+        Assertions.assertEquals(java.util.Set.of("arena"), registry.names());
+        Assertions.assertEquals(12, registry.instantiate("arena").size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.instantiate("missing"));
+
+        Game game = new Game(new GameEventLog(new PrintStream(new ByteArrayOutputStream())), registry.template("arena"));
+        Assertions.assertInstanceOf(WaterToken.class, game.board().peekToken(2, 1));
+    }
+}